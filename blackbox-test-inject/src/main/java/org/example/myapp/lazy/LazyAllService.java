@@ -0,0 +1,38 @@
+package org.example.myapp.lazy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.avaje.inject.PostConstruct;
+import io.avaje.inject.PreDestroy;
+import jakarta.inject.Singleton;
+
+@Singleton
+public class LazyAllService {
+
+  public static AtomicInteger CREATED = new AtomicInteger();
+  public static AtomicInteger STARTED = new AtomicInteger();
+  public static AtomicInteger STOPPED = new AtomicInteger();
+
+  public static void reset() {
+    CREATED.set(0);
+    STARTED.set(0);
+    STOPPED.set(0);
+  }
+
+  final LazySearchUser user;
+
+  public LazyAllService(LazySearchUser user) {
+    this.user = user;
+    CREATED.incrementAndGet();
+  }
+
+  @PostConstruct
+  void start() {
+    STARTED.incrementAndGet();
+  }
+
+  @PreDestroy
+  void stop() {
+    STOPPED.incrementAndGet();
+  }
+}
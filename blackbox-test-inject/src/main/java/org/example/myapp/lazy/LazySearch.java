@@ -0,0 +1,6 @@
+package org.example.myapp.lazy;
+
+public interface LazySearch {
+
+  String find(String query);
+}
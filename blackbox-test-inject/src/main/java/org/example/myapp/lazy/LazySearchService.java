@@ -0,0 +1,22 @@
+package org.example.myapp.lazy;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.avaje.inject.Lazy;
+import io.avaje.lang.Nullable;
+import jakarta.inject.Singleton;
+
+@Lazy
+@Singleton
+public class LazySearchService implements LazySearch {
+
+  public LazySearchService(@Nullable AtomicBoolean initialized) {
+    // note that nested test scopes will not be lazy
+    if (initialized != null) initialized.set(true);
+  }
+
+  @Override
+  public String find(String query) {
+    return "found " + query;
+  }
+}
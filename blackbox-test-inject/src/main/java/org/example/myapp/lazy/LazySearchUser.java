@@ -0,0 +1,13 @@
+package org.example.myapp.lazy;
+
+import jakarta.inject.Singleton;
+
+@Singleton
+public class LazySearchUser {
+
+  final LazySearch search;
+
+  public LazySearchUser(LazySearch search) {
+    this.search = search;
+  }
+}
@@ -1,4 +1,4 @@
-@InjectModule(strictWiring = true)
+@InjectModule(strictWiring = true, lazyAll = true)
 package org.example.myapp;
 
 import io.avaje.inject.InjectModule;
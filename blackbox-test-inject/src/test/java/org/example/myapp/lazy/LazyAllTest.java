@@ -0,0 +1,36 @@
+package org.example.myapp.lazy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import io.avaje.inject.BeanScope;
+
+class LazyAllTest {
+
+  @Test
+  void lazyAll() {
+    LazyAllService.reset();
+    try (var scope = BeanScope.builder().lazyAll(true).build()) {
+      assertThat(LazyAllService.CREATED).hasValue(0);
+
+      LazyAllService service = scope.get(LazyAllService.class);
+      assertThat(service.user).isSameAs(scope.get(LazySearchUser.class));
+      assertThat(scope.get(LazyAllService.class)).isSameAs(service);
+      assertThat(LazyAllService.CREATED).hasValue(1);
+      assertThat(LazyAllService.STARTED).hasValue(1);
+      assertThat(LazyAllService.STOPPED).hasValue(0);
+    }
+    assertThat(LazyAllService.STOPPED).hasValue(1);
+  }
+
+  @Test
+  void lazyAll_notUsed_expect_notCreated() {
+    LazyAllService.reset();
+    try (var scope = BeanScope.builder().lazyAll(true).build()) {
+      assertThat(scope.contains(LazyAllService.class)).isTrue();
+    }
+    assertThat(LazyAllService.CREATED).hasValue(0);
+    assertThat(LazyAllService.STOPPED).hasValue(0);
+  }
+}
@@ -34,4 +34,18 @@ class LazyTest {
       assertThat(prov).isNotNull();
     }
   }
+
+  @Test
+  void testInjectedProxy() {
+    var initialized = new AtomicBoolean();
+    try (var scope = BeanScope.builder().beans(initialized).build()) {
+      LazySearchUser user = scope.get(LazySearchUser.class);
+      assertThat(initialized).isFalse();
+      assertThat(user.search).isNotInstanceOf(LazySearchService.class);
+
+      assertThat(user.search.find("a")).isEqualTo("found a");
+      assertThat(initialized).isTrue();
+      assertThat(scope.get(LazySearchService.class).find("b")).isEqualTo("found b");
+    }
+  }
 }
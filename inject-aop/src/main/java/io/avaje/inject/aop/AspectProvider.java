@@ -13,6 +13,11 @@ public interface AspectProvider<T extends Annotation> {
 
   /**
    * Return the method interceptor to use for the given method and aspect annotation.
+   * <p>
+   * Return {@link MethodInterceptor#NOOP} (or null) when the method does not need to be
+   * intercepted, for example when the feature is disabled. This is determined once when the
+   * proxy is created and when no interceptor of the method is active the proxy calls the
+   * method directly.
    */
   MethodInterceptor interceptor(Method method, T aspectAnnotation);
 }
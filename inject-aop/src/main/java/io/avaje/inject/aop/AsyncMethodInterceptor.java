@@ -0,0 +1,74 @@
+package io.avaje.inject.aop;
+
+/**
+ * Method interceptor that is notified when the work of an async method completes.
+ * <p>
+ * For methods that return a {@code CompletionStage} (or {@code CompletableFuture}) the
+ * generated proxy uses an {@link Invocation.AsyncChain} that calls {@link #begin(Invocation)}
+ * before the method and notifies the returned {@link Completion} when the returned stage
+ * completes. The completion is invoked by the thread that completes the stage and nothing
+ * blocks waiting for it, making this suitable for latency histograms and bulkheads of
+ * non-blocking clients.
+ * <p>
+ * For other methods the interceptor is used via {@link #invoke(Invocation)} and the completion
+ * is notified when the method returns or throws.
+ *
+ * <pre>{@code
+ *
+ *   public final class TimedInterceptor implements AsyncMethodInterceptor {
+ *
+ *     @Override
+ *     public Completion begin(Invocation invocation) {
+ *       final long start = System.nanoTime();
+ *       return (result, error) -> histogram.record(System.nanoTime() - start);
+ *     }
+ *   }
+ *
+ * }</pre>
+ */
+@FunctionalInterface
+public interface AsyncMethodInterceptor extends MethodInterceptor {
+
+  /**
+   * Invoked before the method returning the completion to notify when the work completes.
+   * <p>
+   * Throwing an exception here (for example when a bulkhead is full) means the method is not
+   * invoked and the exception is thrown to the caller.
+   *
+   * @param invocation The invocation being intercepted
+   * @return The completion to notify when the work of the method completes
+   */
+  Completion begin(Invocation invocation) throws Throwable;
+
+  /**
+   * Intercept a synchronous invocation notifying the completion when the method returns.
+   */
+  @Override
+  default void invoke(Invocation invocation) throws Throwable {
+    final Completion completion = begin(invocation);
+    final Object result;
+    try {
+      result = invocation.invoke();
+    } catch (Throwable e) {
+      completion.complete(null, e);
+      throw e;
+    }
+    completion.complete(result, null);
+  }
+
+  /**
+   * Callback notified when the work of an intercepted method completes.
+   */
+  @FunctionalInterface
+  interface Completion {
+
+    /**
+     * Notified when the work completes with either the result or the error (one of which is
+     * null).
+     * <p>
+     * For async methods the error is the exception that completed the stage which can be a
+     * {@code CompletionException} wrapping the cause.
+     */
+    void complete(Object result, Throwable error);
+  }
+}
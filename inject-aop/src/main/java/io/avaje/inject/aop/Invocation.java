@@ -1,6 +1,9 @@
 package io.avaje.inject.aop;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -261,6 +264,249 @@ public interface Invocation {
     }
   }
 
+  /**
+   * Invocation of a precomposed chain of interceptors used by the generated proxies.
+   * <p>
+   * The interceptors (outer-most first) are resolved once when the proxy is created and a single
+   * Chain instance is created per call. The outer-most interceptor is invoked with the Chain
+   * instance and each call to {@link #invoke()} proceeds to the next interceptor in the chain and
+   * then to the underlying method. The arguments are only created (boxed) when an interceptor
+   * calls {@link #arguments()}.
+   * <p>
+   * Each interceptor is invoked with an invocation that is fixed to the next position in the chain
+   * such that it can proceed any number of times, after it returns or on another thread.
+   *
+   * @param <T> The result type
+   */
+  abstract class Chain<T> extends Base<T> {
+
+    private final MethodInterceptor[] interceptors;
+
+    /**
+     * Create with the instance, method and the interceptors outer-most first.
+     */
+    protected Chain(Object instance, Method method, MethodInterceptor[] interceptors) {
+      this.instance = instance;
+      this.method = method;
+      this.interceptors = interceptors;
+    }
+
+    /**
+     * Invoke the underlying method.
+     */
+    protected abstract T proceed() throws Throwable;
+
+    /**
+     * Create the arguments of the invocation.
+     */
+    protected abstract Object[] createArguments();
+
+    /**
+     * Start the invocation with the outer-most interceptor returning the result.
+     */
+    public T start() throws Throwable {
+      if (interceptors.length == 0) {
+        result = proceed();
+      } else {
+        intercept(interceptors[0], this);
+      }
+      return result;
+    }
+
+    /**
+     * Proceed to the next interceptor after the outer-most one.
+     */
+    @Override
+    public Object invoke() throws Throwable {
+      result = invokeFrom(1);
+      return result;
+    }
+
+    /**
+     * Invoke the rest of the chain from the given interceptor returning the result.
+     */
+    private T invokeFrom(int next) throws Throwable {
+      if (next < interceptors.length) {
+        final Rest rest = new Rest(next + 1);
+        intercept(interceptors[next], rest);
+        return rest.result;
+      }
+      return proceed();
+    }
+
+    /**
+     * Invoke the interceptor with the invocation of the rest of the chain.
+     */
+    protected void intercept(MethodInterceptor interceptor, Base<T> invocation) throws Throwable {
+      interceptor.invoke(invocation);
+    }
+
+    @Override
+    public Object[] arguments() {
+      if (args == null) {
+        args = createArguments();
+      }
+      return args;
+    }
+
+    @Override
+    public Base<T> wrap(MethodInterceptor methodInterceptor) {
+      return wrap(methodInterceptor, 1);
+    }
+
+    private Base<T> wrap(MethodInterceptor methodInterceptor, int next) {
+      return new Invocation.Call<>(() -> {
+        final Rest rest = new Rest(next);
+        methodInterceptor.invoke(rest);
+        return rest.finalResult();
+      }).with(instance, method, arguments());
+    }
+
+    @Override
+    public boolean hasRecoveryMethod() {
+      return false;
+    }
+
+    @Override
+    public Object invokeRecoveryMethod(Throwable t) {
+      noRecovery(null);
+      return null;
+    }
+
+    /**
+     * The rest of the chain from the given interceptor with its own result.
+     * <p>
+     * Each inner interceptor is invoked with a new Rest such that it can be proceeded
+     * independently of the Chain instance and of the other interceptors.
+     */
+    private final class Rest extends Base<T> {
+
+      private final int next;
+
+      private Rest(int next) {
+        this.next = next;
+        this.instance = Chain.this.instance;
+        this.method = Chain.this.method;
+      }
+
+      @Override
+      public Object invoke() throws Throwable {
+        result = invokeFrom(next);
+        return result;
+      }
+
+      @Override
+      public Object[] arguments() {
+        return Chain.this.arguments();
+      }
+
+      @Override
+      public Base<T> wrap(MethodInterceptor methodInterceptor) {
+        return Chain.this.wrap(methodInterceptor, next);
+      }
+
+      @Override
+      public boolean hasRecoveryMethod() {
+        return false;
+      }
+
+      @Override
+      public Object invokeRecoveryMethod(Throwable t) {
+        noRecovery(null);
+        return null;
+      }
+    }
+  }
+
+  /**
+   * Chain invocation of a method that returns a {@code CompletionStage}.
+   * <p>
+   * An {@link AsyncMethodInterceptor} in the chain has its completion notified when the stage
+   * returned by the chain completes rather than when the method returns. Other interceptors are
+   * invoked as per {@link Chain}.
+   * <p>
+   * The completions are registered on the final result of the chain (which is returned to the
+   * caller as is) such that they see a stage that an outer interceptor replaced the result with.
+   * They are notified inner-most first. When the rest of the chain is proceeded after
+   * {@link #start()} returned (for example on another thread) the completions are registered on
+   * the stage returned by the rest of the chain.
+   *
+   * @param <T> The CompletionStage result type
+   */
+  abstract class AsyncChain<T extends CompletionStage<?>> extends Chain<T> {
+
+    private List<AsyncMethodInterceptor.Completion> completions;
+    private boolean started;
+
+    /**
+     * Create with the instance, method and the interceptors outer-most first.
+     */
+    protected AsyncChain(Object instance, Method method, MethodInterceptor[] interceptors) {
+      super(instance, method, interceptors);
+    }
+
+    @Override
+    public T start() throws Throwable {
+      final T stage;
+      started = true;
+      try {
+        stage = super.start();
+      } catch (Throwable e) {
+        complete(null, e);
+        throw e;
+      } finally {
+        started = false;
+      }
+      if (completions != null) {
+        if (stage == null) {
+          complete(null, null);
+        } else {
+          stage.whenComplete(this::complete);
+        }
+      }
+      return stage;
+    }
+
+    private void complete(Object result, Throwable error) {
+      if (completions == null) {
+        return;
+      }
+      for (int i = completions.size() - 1; i >= 0; i--) {
+        completions.get(i).complete(result, error);
+      }
+    }
+
+    @Override
+    protected void intercept(MethodInterceptor interceptor, Base<T> invocation) throws Throwable {
+      if (!(interceptor instanceof AsyncMethodInterceptor)) {
+        interceptor.invoke(invocation);
+        return;
+      }
+      final AsyncMethodInterceptor.Completion completion = ((AsyncMethodInterceptor) interceptor).begin(invocation);
+      if (started) {
+        // notified with the final result of the chain
+        if (completions == null) {
+          completions = new ArrayList<>(2);
+        }
+        completions.add(completion);
+        invocation.invoke();
+        return;
+      }
+      final Object stage;
+      try {
+        stage = invocation.invoke();
+      } catch (Throwable e) {
+        completion.complete(null, e);
+        throw e;
+      }
+      if (stage == null) {
+        completion.complete(null, null);
+      } else {
+        ((CompletionStage<?>) stage).whenComplete(completion::complete);
+      }
+    }
+  }
+
   /**
    * Runnable with checked exceptions.
    */
@@ -11,6 +11,40 @@ import java.lang.reflect.Method;
 @FunctionalInterface
 public interface MethodInterceptor {
 
+  /**
+   * Interceptor returned by an {@link AspectProvider} when the method does not need to be
+   * intercepted (for example the feature is disabled).
+   * <p>
+   * The generated proxy then calls the underlying method directly when all the interceptors of
+   * the method are NOOP (or null). When invoked it just proceeds with the invocation.
+   */
+  MethodInterceptor NOOP = Invocation::invoke;
+
+  /**
+   * Return the interceptors excluding any that are null or {@link #NOOP}.
+   * <p>
+   * Used by the generated proxies to compose the interceptor chain of a method.
+   */
+  static MethodInterceptor[] chain(MethodInterceptor... interceptors) {
+    int count = 0;
+    for (final MethodInterceptor interceptor : interceptors) {
+      if (interceptor != null && interceptor != NOOP) {
+        count++;
+      }
+    }
+    if (count == interceptors.length) {
+      return interceptors;
+    }
+    final MethodInterceptor[] active = new MethodInterceptor[count];
+    int i = 0;
+    for (final MethodInterceptor interceptor : interceptors) {
+      if (interceptor != null && interceptor != NOOP) {
+        active[i++] = interceptor;
+      }
+    }
+    return active;
+  }
+
   /**
    * Intercepts the method invocation.
    * <p>
@@ -0,0 +1,175 @@
+package io.avaje.inject.aop;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InvocationAsyncChainTest {
+
+  private final List<String> trace = new ArrayList<>();
+  private final Method fetchMethod;
+  private CompletableFuture<String> future = new CompletableFuture<>();
+
+  InvocationAsyncChainTest() {
+    try {
+      fetchMethod = InvocationAsyncChainTest.class.getDeclaredMethod("fetch", String.class);
+    } catch (NoSuchMethodException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  CompletableFuture<String> fetch(String key) {
+    trace.add("fetch");
+    return future;
+  }
+
+  @Test
+  void completion_notifiedWhenStageCompletes() throws Throwable {
+    CompletableFuture<String> result = new Fetch("a", new Async("Inter1"), new Async("Inter0")).start();
+
+    assertThat(result).isSameAs(future);
+    assertThat(trace).containsExactly("b-Inter1", "b-Inter0", "fetch");
+
+    future.complete("done");
+    assertThat(trace).hasSize(5);
+    assertThat(trace.subList(3, 5)).containsExactlyInAnyOrder("a-Inter0:done", "a-Inter1:done");
+  }
+
+  @Test
+  void completion_notifiedWithError() throws Throwable {
+    new Fetch("a", new Async("Inter0")).start();
+    future.completeExceptionally(new IllegalStateException("boom"));
+    assertThat(trace).containsExactly("b-Inter0", "fetch", "e-Inter0:boom");
+  }
+
+  @Test
+  void completion_notifiedWhenMethodThrows() {
+    future = null;
+    MethodInterceptor fail = invocation -> {
+      throw new IllegalStateException("sync");
+    };
+    assertThatThrownBy(() -> new Fetch("a", new Async("Inter0"), fail).start())
+      .hasMessage("sync");
+    assertThat(trace).containsExactly("b-Inter0", "e-Inter0:sync");
+  }
+
+  @Test
+  void begin_throws_expect_methodNotInvoked() {
+    AsyncMethodInterceptor full = invocation -> {
+      throw new IllegalStateException("full");
+    };
+    assertThatThrownBy(() -> new Fetch("a", full).start()).hasMessage("full");
+    assertThat(trace).isEmpty();
+  }
+
+  @Test
+  void syncInterceptor_mixed() throws Throwable {
+    MethodInterceptor sync = invocation -> {
+      trace.add("b-sync");
+      invocation.invoke();
+      trace.add("a-sync");
+    };
+    new Fetch("a", new Async("Inter1"), sync).start();
+    future.complete("done");
+    assertThat(trace).containsExactly("b-Inter1", "b-sync", "fetch", "a-sync", "a-Inter1:done");
+  }
+
+  @Test
+  void syncInterceptor_replacesResult_expect_completionOnReplacedStage() throws Throwable {
+    CompletableFuture<String> replaced = new CompletableFuture<>();
+    MethodInterceptor replace = invocation -> {
+      invocation.invoke();
+      invocation.result(replaced);
+    };
+    CompletableFuture<String> result = new Fetch("a", replace, new Async("Inter0")).start();
+    assertThat(result).isSameAs(replaced);
+
+    future.complete("original");
+    assertThat(trace).containsExactly("b-Inter0", "fetch");
+
+    replaced.complete("replaced");
+    assertThat(trace).containsExactly("b-Inter0", "fetch", "a-Inter0:replaced");
+  }
+
+  @Test
+  void syncInterceptor_recovers_expect_completionOnRecoveredStage() throws Throwable {
+    future = null;
+    MethodInterceptor fail = invocation -> {
+      throw new IllegalStateException("sync");
+    };
+    MethodInterceptor recover = invocation -> {
+      try {
+        invocation.invoke();
+      } catch (IllegalStateException e) {
+        invocation.result(CompletableFuture.completedFuture("recovered"));
+      }
+    };
+    new Fetch("a", recover, new Async("Inter0"), fail).start();
+    assertThat(trace).containsExactly("b-Inter0", "a-Inter0:recovered");
+  }
+
+  @Test
+  void completions_notifiedInnerMostFirst() throws Throwable {
+    new Fetch("a", new Async("Inter1"), new Async("Inter0")).start();
+    future.complete("done");
+    assertThat(trace).containsExactly("b-Inter1", "b-Inter0", "fetch", "a-Inter0:done", "a-Inter1:done");
+  }
+
+  @Test
+  void asyncInterceptor_syncInvocation() throws Throwable {
+    var call = new Invocation.Call<>(() -> "sync").with(this, fetchMethod, "a");
+    new Async("Inter0").invoke(call);
+    assertThat(trace).containsExactly("b-Inter0", "a-Inter0:sync");
+  }
+
+  final class Fetch extends Invocation.AsyncChain<CompletableFuture<String>> {
+
+    private final String key;
+
+    Fetch(String key, MethodInterceptor... interceptors) {
+      super(InvocationAsyncChainTest.this, fetchMethod, interceptors);
+      this.key = key;
+    }
+
+    @Override
+    protected CompletableFuture<String> proceed() {
+      return fetch(key);
+    }
+
+    @Override
+    protected Object[] createArguments() {
+      return new Object[]{key};
+    }
+  }
+
+  class Async implements AsyncMethodInterceptor {
+
+    private final String name;
+
+    Async(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public Completion begin(Invocation invocation) {
+      trace.add("b-" + name);
+      return (result, error) -> {
+        if (error != null) {
+          trace.add("e-" + name + ":" + rootMessage(error));
+        } else {
+          trace.add("a-" + name + ":" + result);
+        }
+      };
+    }
+  }
+
+  private static String rootMessage(Throwable error) {
+    return error.getCause() != null ? error.getCause().getMessage() : error.getMessage();
+  }
+}
@@ -0,0 +1,192 @@
+package io.avaje.inject.aop;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InvocationChainTest {
+
+  private final List<String> trace = new ArrayList<>();
+  private final Method doStuffMethod;
+  private int argumentsCreated;
+
+  InvocationChainTest() {
+    try {
+      doStuffMethod = InvocationChainTest.class.getDeclaredMethod("doStuff", int.class);
+    } catch (NoSuchMethodException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  int doStuff(int arg) {
+    trace.add("doStuff");
+    return arg * 2;
+  }
+
+  @Test
+  void noInterceptors() throws Throwable {
+    assertThat(new DoStuff(21).start()).isEqualTo(42);
+    assertThat(trace).containsExactly("doStuff");
+  }
+
+  @Test
+  void chain_outerMostFirst() throws Throwable {
+    Integer result = new DoStuff(21, new Trace("Inter1"), new Trace("Inter0")).start();
+
+    assertThat(result).isEqualTo(42);
+    assertThat(trace).containsExactly("b-Inter1", "b-Inter0", "doStuff", "a-Inter0", "a-Inter1");
+    assertThat(argumentsCreated).isEqualTo(0);
+  }
+
+  @Test
+  void arguments_createdOnceWhenRead() throws Throwable {
+    MethodInterceptor reader = invocation -> {
+      assertThat(invocation.arguments()).containsExactly(21);
+      assertThat(invocation.method()).isSameAs(doStuffMethod);
+      assertThat(invocation.instance()).isSameAs(this);
+      invocation.invoke();
+    };
+    new DoStuff(21, reader, reader).start();
+    assertThat(argumentsCreated).isEqualTo(1);
+  }
+
+  @Test
+  void innerResult_seenByOuter() throws Throwable {
+    MethodInterceptor replace = invocation -> invocation.result(7);
+    List<Object> outerResults = new ArrayList<>();
+    MethodInterceptor outer = invocation -> outerResults.add(invocation.invoke());
+
+    assertThat(new DoStuff(21, outer, replace).start()).isEqualTo(7);
+    assertThat(outerResults).containsExactly(7);
+    assertThat(trace).isEmpty();
+  }
+
+  @Test
+  void retry_invokesRestOfChainAgain() throws Throwable {
+    MethodInterceptor retry = invocation -> {
+      invocation.invoke();
+      invocation.invoke();
+    };
+    new DoStuff(21, retry, new Trace("Inter0")).start();
+    assertThat(trace).containsExactly("b-Inter0", "doStuff", "a-Inter0", "b-Inter0", "doStuff", "a-Inter0");
+  }
+
+  @Test
+  void invokeAfterReturned_expect_restOfChainInvoked() throws Throwable {
+    List<Invocation> deferred = new ArrayList<>();
+    MethodInterceptor later = deferred::add;
+    DoStuff call = new DoStuff(21, new Trace("Inter1"), later, new Trace("Inter0"));
+
+    assertThat(call.start()).isNull();
+    assertThat(trace).containsExactly("b-Inter1", "a-Inter1");
+
+    trace.clear();
+    assertThat(deferred).hasSize(1);
+    assertThat(deferred.get(0).invoke()).isEqualTo(42);
+    assertThat(trace).containsExactly("b-Inter0", "doStuff", "a-Inter0");
+  }
+
+  @Test
+  void invokeOnOtherThread_outerMost_expect_proceedOnce() throws Throwable {
+    List<CompletableFuture<Object>> submitted = new ArrayList<>();
+    MethodInterceptor fireAndForget = invocation -> submitted.add(CompletableFuture.supplyAsync(invocation::invokeUnchecked));
+    DoStuff call = new DoStuff(21, fireAndForget);
+
+    assertThat(call.start()).isNull();
+    assertThat(submitted.get(0).join()).isEqualTo(42);
+    assertThat(trace).containsExactly("doStuff");
+  }
+
+  @Test
+  void wrap_expect_wrappingInterceptorAroundRestOfChain() throws Throwable {
+    MethodInterceptor wrapping = invocation -> {
+      Invocation wrapped = ((Invocation.Base<?>) invocation).wrap(new Trace("Wrap"));
+      assertThat(wrapped.arguments()).containsExactly(21);
+      invocation.result(wrapped.invoke());
+    };
+    Integer result = new DoStuff(21, wrapping, new Trace("Inter0")).start();
+
+    assertThat(result).isEqualTo(42);
+    assertThat(trace).containsExactly("b-Wrap", "b-Inter0", "doStuff", "a-Inter0", "a-Wrap");
+  }
+
+  @Test
+  void wrap_proceedAfterChainReturned_expect_restOfChainInvoked() throws Throwable {
+    List<Invocation> deferred = new ArrayList<>();
+    MethodInterceptor later = invocation -> deferred.add(((Invocation.Base<?>) invocation).wrap(new Trace("Wrap")));
+    DoStuff call = new DoStuff(21, new Trace("Inter1"), later, new Trace("Inter0"));
+
+    assertThat(call.start()).isNull();
+    assertThat(trace).containsExactly("b-Inter1", "a-Inter1");
+
+    trace.clear();
+    assertThat(deferred.get(0).invoke()).isEqualTo(42);
+    assertThat(deferred.get(0).invoke()).isEqualTo(42);
+    assertThat(trace).containsExactly("b-Wrap", "b-Inter0", "doStuff", "a-Inter0", "a-Wrap",
+      "b-Wrap", "b-Inter0", "doStuff", "a-Inter0", "a-Wrap");
+  }
+
+  @Test
+  void wrap_proceedOnOtherThread_expect_independentResult() throws Throwable {
+    MethodInterceptor replace = invocation -> {
+      invocation.invoke();
+      invocation.result(((Integer) invocation.invoke()) + 1);
+    };
+    MethodInterceptor async = invocation -> {
+      Invocation wrapped = ((Invocation.Base<?>) invocation).wrap(MethodInterceptor.NOOP);
+      invocation.result(CompletableFuture.supplyAsync(wrapped::invokeUnchecked).join());
+    };
+    assertThat(new DoStuff(21, async, replace).start()).isEqualTo(43);
+  }
+
+  @Test
+  void noRecoveryMethod() {
+    DoStuff call = new DoStuff(21);
+    assertThat(call.hasRecoveryMethod()).isFalse();
+    assertThatThrownBy(() -> call.invokeRecoveryMethod(new RuntimeException()))
+      .isInstanceOf(IllegalStateException.class);
+  }
+
+  final class DoStuff extends Invocation.Chain<Integer> {
+
+    private final int arg;
+
+    DoStuff(int arg, MethodInterceptor... interceptors) {
+      super(InvocationChainTest.this, doStuffMethod, interceptors);
+      this.arg = arg;
+    }
+
+    @Override
+    protected Integer proceed() {
+      return doStuff(arg);
+    }
+
+    @Override
+    protected Object[] createArguments() {
+      argumentsCreated++;
+      return new Object[]{arg};
+    }
+  }
+
+  class Trace implements MethodInterceptor {
+
+    private final String name;
+
+    Trace(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public void invoke(Invocation invocation) throws Throwable {
+      trace.add("b-" + name);
+      invocation.invoke();
+      trace.add("a-" + name);
+    }
+  }
+}
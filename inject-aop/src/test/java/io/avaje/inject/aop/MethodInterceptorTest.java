@@ -0,0 +1,34 @@
+package io.avaje.inject.aop;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MethodInterceptorTest {
+
+  private final MethodInterceptor one = Invocation::invoke;
+  private final MethodInterceptor two = Invocation::invoke;
+
+  @Test
+  void chain_allActive_expect_same() {
+    MethodInterceptor[] interceptors = {one, two};
+    assertThat(MethodInterceptor.chain(interceptors)).isSameAs(interceptors);
+  }
+
+  @Test
+  void chain_excludesNoopAndNull() {
+    assertThat(MethodInterceptor.chain(MethodInterceptor.NOOP, one, null, two)).containsExactly(one, two);
+  }
+
+  @Test
+  void chain_allNoop_expect_empty() {
+    assertThat(MethodInterceptor.chain(MethodInterceptor.NOOP, null)).isEmpty();
+  }
+
+  @Test
+  void noop_proceeds() throws Throwable {
+    var call = new Invocation.Call<>(() -> "hi");
+    MethodInterceptor.NOOP.invoke(call);
+    assertThat(call.finalResult()).isEqualTo("hi");
+  }
+}
@@ -0,0 +1,221 @@
+package io.avaje.inject.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.ServiceLoader.Provider;
+import java.util.jar.JarFile;
+
+import javax.tools.ToolProvider;
+
+import io.avaje.inject.spi.AvajeModule;
+import io.avaje.inject.spi.ConfigPropertyPlugin;
+import io.avaje.inject.spi.InjectExtension;
+import io.avaje.inject.spi.InjectPlugin;
+import io.avaje.inject.spi.ModuleOrdering;
+import io.avaje.inject.spi.ModuleRegistry;
+
+/**
+ * Generates and compiles the {@link ModuleRegistry} holding all the modules (in wiring order)
+ * and plugins in the classpath.
+ * <p>
+ * Used by the avaje-inject maven and gradle plugins at package time. The modules are ordered
+ * in the same way as the BeanScopeBuilder orders them.
+ */
+public final class ModuleRegistryWriter {
+
+  private static final String SERVICES = "META-INF/services/" + InjectExtension.class.getName();
+
+  private final ClassLoader classLoader;
+  private final List<File> dependencies;
+  private final List<AvajeModule> modules = new ArrayList<>();
+  private final List<InjectPlugin> plugins = new ArrayList<>();
+  private final List<String> serviceLocations = new ArrayList<>();
+  private ConfigPropertyPlugin propertyPlugin;
+
+  /**
+   * Create for the classpath of the application.
+   *
+   * @param classLoader  The class loader of the application classes and dependencies
+   * @param dependencies The classpath entries other than the application classes the registry is compiled into
+   */
+  public ModuleRegistryWriter(ClassLoader classLoader, List<File> dependencies) {
+    this.classLoader = classLoader;
+    this.dependencies = dependencies;
+  }
+
+  /**
+   * Load and order the extensions in the classpath.
+   *
+   * @throws IllegalStateException when the registry can not be generated for the extensions
+   */
+  public void load() throws IOException {
+    for (final File dependency : dependencies) {
+      if (hasServices(dependency)) {
+        serviceLocations.add(location(dependency));
+      }
+    }
+    final var iterator = ServiceLoader.load(InjectExtension.class, classLoader).stream().iterator();
+    while (iterator.hasNext()) {
+      final Provider<InjectExtension> provider = iterator.next();
+      final Class<? extends InjectExtension> type = provider.type();
+      if (ModuleOrdering.class.isAssignableFrom(type)) {
+        // the registry holds the module ordering
+        continue;
+      }
+      if (!isPublic(type)) {
+        throw new IllegalStateException("Module registry not generated as " + type.getName() + " does not have a public no-arg constructor");
+      }
+      final var extension = provider.get();
+      if (extension instanceof InjectPlugin) {
+        plugins.add((InjectPlugin) extension);
+      } else if (extension instanceof AvajeModule) {
+        modules.add((AvajeModule) extension);
+      } else if (extension instanceof ConfigPropertyPlugin) {
+        propertyPlugin = (ConfigPropertyPlugin) extension;
+      }
+    }
+    final var order = ModuleOrdering.byRequires(null, false);
+    modules.forEach(order::add);
+    try {
+      order.orderModules();
+    } catch (IllegalStateException e) {
+      throw new IllegalStateException("Module registry not generated as " + e.getMessage(), e);
+    }
+    modules.clear();
+    modules.addAll(order.factories());
+  }
+
+  private static boolean hasServices(File file) throws IOException {
+    if (file.isDirectory()) {
+      return new File(file, SERVICES).isFile();
+    }
+    if (!file.isFile()) {
+      return false;
+    }
+    try (var jar = new JarFile(file)) {
+      return jar.getEntry(SERVICES) != null;
+    }
+  }
+
+  /**
+   * Return the file name of the jar or the URI of the directory as matched by the BeanScopeBuilder
+   * against the service files in the classpath.
+   */
+  static String location(File file) {
+    final String uri = file.toURI().toString();
+    return file.isDirectory() ? uri : uri.substring(uri.lastIndexOf('/') + 1);
+  }
+
+  private static boolean isPublic(Class<?> type) {
+    if (type.getCanonicalName() == null || !Modifier.isPublic(type.getModifiers())) {
+      return false;
+    }
+    try {
+      return Modifier.isPublic(type.getConstructor().getModifiers());
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Write the registry source into the source directory and compile it into the output directory.
+   *
+   * @param sourceDir The directory the generated source is written to
+   * @param outputDir The classes directory the registry is compiled into
+   * @param classpath The classpath used to compile the registry
+   * @param release   The optional java release the registry is compiled for
+   * @throws IllegalStateException when the registry can not be compiled
+   */
+  public void write(File sourceDir, File outputDir, String classpath, String release) throws IOException {
+    final var packageDir = new File(sourceDir, "io/avaje/inject/registry");
+    if (!packageDir.exists() && !packageDir.mkdirs()) {
+      throw new IOException("Failed to create directory " + packageDir);
+    }
+    final var sourceFile = new File(packageDir, "AvajeModuleRegistry.java");
+    Files.writeString(sourceFile.toPath(), source(), StandardCharsets.UTF_8);
+
+    final var compiler = ToolProvider.getSystemJavaCompiler();
+    if (compiler == null) {
+      throw new IllegalStateException("Module registry not generated as there is no java compiler available");
+    }
+    final List<String> args = new ArrayList<>(List.of("-proc:none", "-d", outputDir.getPath(), "-cp", classpath));
+    if (release != null && !release.isBlank()) {
+      args.add("--release");
+      args.add(release);
+    }
+    args.add(sourceFile.getPath());
+    if (compiler.run(null, null, null, args.toArray(new String[0])) != 0) {
+      throw new IllegalStateException("Module registry not generated as it failed to compile " + sourceFile);
+    }
+  }
+
+  String source() {
+    final var sb = new StringBuilder();
+    sb.append("package io.avaje.inject.registry;\n\n")
+      .append("import java.util.List;\n\n")
+      .append("import io.avaje.inject.spi.AvajeModule;\n")
+      .append("import io.avaje.inject.spi.ConfigPropertyPlugin;\n")
+      .append("import io.avaje.inject.spi.Generated;\n")
+      .append("import io.avaje.inject.spi.InjectPlugin;\n")
+      .append("import io.avaje.inject.spi.ModuleRegistry;\n\n")
+      .append("/**\n")
+      .append(" * The modules in wiring order and the plugins in the classpath.\n")
+      .append(" */\n")
+      .append("@Generated(\"io.avaje.inject.registry\")\n")
+      .append("public final class AvajeModuleRegistry implements ModuleRegistry {\n\n")
+      .append("  @Override\n")
+      .append("  public List<String> serviceLocations() {\n")
+      .append("    return List.of(");
+    for (int i = 0; i < serviceLocations.size(); i++) {
+      if (i > 0) {
+        sb.append(",");
+      }
+      sb.append("\n      \"").append(serviceLocations.get(i)).append("\"");
+    }
+    sb.append(");\n  }\n\n")
+      .append("  @Override\n")
+      .append("  public List<AvajeModule> modules() {\n")
+      .append("    return List.of(");
+    appendNew(sb, modules);
+    sb.append(");\n  }\n\n")
+      .append("  @Override\n")
+      .append("  public List<InjectPlugin> plugins() {\n")
+      .append("    return List.of(");
+    appendNew(sb, plugins);
+    sb.append(");\n  }\n\n")
+      .append("  @Override\n")
+      .append("  public ConfigPropertyPlugin propertyPlugin() {\n")
+      .append("    return ")
+      .append(propertyPlugin == null ? "null" : "new " + propertyPlugin.getClass().getCanonicalName() + "()")
+      .append(";\n  }\n}\n");
+    return sb.toString();
+  }
+
+  private static void appendNew(StringBuilder sb, List<?> extensions) {
+    for (int i = 0; i < extensions.size(); i++) {
+      if (i > 0) {
+        sb.append(",");
+      }
+      sb.append("\n      new ").append(extensions.get(i).getClass().getCanonicalName()).append("()");
+    }
+  }
+
+  private static List<String> names(List<?> extensions) {
+    final List<String> names = new ArrayList<>(extensions.size());
+    for (final Object extension : extensions) {
+      names.add(extension.getClass().getTypeName());
+    }
+    return names;
+  }
+
+  @Override
+  public String toString() {
+    return ModuleRegistry.NAME + " with modules " + names(modules) + " plugins " + names(plugins);
+  }
+}
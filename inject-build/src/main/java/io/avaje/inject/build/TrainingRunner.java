@@ -0,0 +1,160 @@
+package io.avaje.inject.build;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Runs the training JVM (the {@code io.avaje.inject.spi.TrainingRun} main class) that builds the
+ * BeanScope, runs the warm-up entry point and closes the scope, recording the classes used by the
+ * startup of the application.
+ * <p>
+ * The modes are:
+ * <ul>
+ *   <li>{@code cds} - dynamic AppCDS archive {@code <name>.jsa} (JDK 13+)</li>
+ *   <li>{@code classlist} - class list {@code <name>.classlist} for {@code -Xshare:dump}</li>
+ *   <li>{@code aot} - AOT cache {@code <name>.aot} (JDK 24+)</li>
+ * </ul>
+ * The cds and aot modes also write {@code <name>.args} holding the JVM option to use the
+ * archive, for example via {@code java @app.args -cp ...}. The option refers to the archive by
+ * its file name (relative to the working directory of the application) or in the given archive
+ * directory, as the build directory does not exist in a container image. The archive is only
+ * used when the application is run with the same classpath as the training run.
+ * <p>
+ * Used by the avaje-inject maven and gradle plugins.
+ */
+public final class TrainingRunner {
+
+  private static final String MAIN_CLASS = "io.avaje.inject.spi.TrainingRun";
+
+  private final String java;
+  private final String classpath;
+  private final File outputDir;
+  private final String name;
+  private final String archiveDir;
+  private final Consumer<String> log;
+
+  /**
+   * Create the runner.
+   *
+   * @param java       The java executable of the training JVM
+   * @param classpath  The classpath of the application
+   * @param outputDir  The directory the archive files are written to
+   * @param name       The base name of the archive files
+   * @param archiveDir The directory of the archive when the application is run (or null for the working directory)
+   * @param log        Logs the output of the training JVM
+   */
+  public TrainingRunner(String java, String classpath, File outputDir, String name, String archiveDir, Consumer<String> log) {
+    this.java = java;
+    this.classpath = classpath;
+    this.outputDir = outputDir;
+    this.name = name;
+    this.archiveDir = archiveDir;
+    this.log = log;
+  }
+
+  /**
+   * Return the java executable of the JVM running the build.
+   */
+  public static String defaultJava() {
+    return new File(System.getProperty("java.home"), "bin/java").getPath();
+  }
+
+  /**
+   * Run the training JVM returning the archive or cache file.
+   */
+  public File run(String mode, String warmup, List<String> jvmArgs) throws IOException {
+    if (!outputDir.exists() && !outputDir.mkdirs()) {
+      throw new IOException("Failed to create directory " + outputDir);
+    }
+    switch (mode.toLowerCase(Locale.ROOT)) {
+      case "cds":
+        final var archive = file(".jsa");
+        train(List.of("-XX:ArchiveClassesAtExit=" + archive.getPath()), warmup, jvmArgs);
+        writeArgs("-XX:SharedArchiveFile=" + runtimePath(archive));
+        return archive;
+      case "classlist":
+        final var classList = file(".classlist");
+        train(List.of("-Xshare:off", "-XX:DumpLoadedClassList=" + classList.getPath()), warmup, jvmArgs);
+        return classList;
+      case "aot":
+        final var config = file(".aotconf");
+        final var cache = file(".aot");
+        train(List.of("-XX:AOTMode=record", "-XX:AOTConfiguration=" + config.getPath()), warmup, jvmArgs);
+        exec(command(List.of("-XX:AOTMode=create", "-XX:AOTConfiguration=" + config.getPath(), "-XX:AOTCache=" + cache.getPath()), jvmArgs));
+        writeArgs("-XX:AOTCache=" + runtimePath(cache));
+        return cache;
+      default:
+        throw new IllegalArgumentException("Unknown training mode " + mode + " expected one of cds, classlist or aot");
+    }
+  }
+
+  private File file(String extension) {
+    return new File(outputDir, name + extension).getAbsoluteFile();
+  }
+
+  /**
+   * Return the path of the archive as used by the application.
+   */
+  String runtimePath(File file) {
+    if (archiveDir == null || archiveDir.isBlank()) {
+      return file.getName();
+    }
+    final String dir = archiveDir.trim();
+    return dir.endsWith("/") ? dir + file.getName() : dir + '/' + file.getName();
+  }
+
+  private void train(List<String> options, String warmup, List<String> jvmArgs) throws IOException {
+    final List<String> command = command(options, jvmArgs);
+    command.add(MAIN_CLASS);
+    if (warmup != null && !warmup.isBlank()) {
+      command.add(warmup.trim());
+    }
+    exec(command);
+  }
+
+  private List<String> command(List<String> options, List<String> jvmArgs) {
+    final List<String> command = new ArrayList<>();
+    command.add(java);
+    command.addAll(options);
+    if (jvmArgs != null) {
+      command.addAll(jvmArgs);
+    }
+    command.add("-cp");
+    command.add(classpath);
+    return command;
+  }
+
+  private void exec(List<String> command) throws IOException {
+    final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+    try (var reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        log.accept(line);
+      }
+    }
+    try {
+      final int exitCode = process.waitFor();
+      if (exitCode != 0) {
+        throw new IOException("Training run failed with exit code " + exitCode);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      process.destroyForcibly();
+      throw new IOException("Training run interrupted", e);
+    }
+  }
+
+  private void writeArgs(String option) throws IOException {
+    final var argsFile = file(".args");
+    Files.writeString(argsFile.toPath(), option + "\n", StandardCharsets.UTF_8);
+    log.accept("Generated " + argsFile + ", run the application with java @" + argsFile.getName() + " holding " + option);
+  }
+}
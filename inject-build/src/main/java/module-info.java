@@ -0,0 +1,7 @@
+module io.avaje.inject.build {
+
+  exports io.avaje.inject.build;
+
+  requires transitive io.avaje.inject;
+  requires java.compiler;
+}
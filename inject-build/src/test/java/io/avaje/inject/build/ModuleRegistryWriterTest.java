@@ -0,0 +1,61 @@
+package io.avaje.inject.build;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ModuleRegistryWriterTest {
+
+  private static final String SERVICES = "META-INF/services/io.avaje.inject.spi.InjectExtension";
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void location_expect_jarNameOrDirectoryUri() throws IOException {
+    final File classes = Files.createDirectories(dir.resolve("classes")).toFile();
+    final File jar = jar(dir.resolve("lib-1.0.jar"));
+
+    assertThat(ModuleRegistryWriter.location(jar)).isEqualTo("lib-1.0.jar");
+    assertThat(ModuleRegistryWriter.location(classes)).isEqualTo(classes.toURI().toString()).endsWith("/classes/");
+  }
+
+  @Test
+  void source_expect_serviceLocationsOfDependencies() throws IOException {
+    final File withServices = jar(dir.resolve("with-services.jar"), SERVICES);
+    final File noServices = jar(dir.resolve("no-services.jar"), "META-INF/MANIFEST.MF");
+    final File classes = Files.createDirectories(dir.resolve("classes/META-INF/services")).getParent().getParent().toFile();
+    Files.writeString(new File(classes, SERVICES).toPath(), "", StandardCharsets.UTF_8);
+
+    try (var classLoader = new URLClassLoader(new URL[0], null)) {
+      final var writer = new ModuleRegistryWriter(classLoader, List.of(withServices, noServices, classes));
+      writer.load();
+
+      assertThat(writer.source())
+        .contains("public List<String> serviceLocations() {\n    return List.of(\n      \"with-services.jar\",\n      \"" + classes.toURI() + "\");")
+        .contains("public List<AvajeModule> modules() {\n    return List.of();");
+    }
+  }
+
+  private static File jar(Path path, String... entries) throws IOException {
+    try (var out = new JarOutputStream(Files.newOutputStream(path))) {
+      for (String entry : entries) {
+        out.putNextEntry(new JarEntry(entry));
+        out.closeEntry();
+      }
+    }
+    return path.toFile();
+  }
+}
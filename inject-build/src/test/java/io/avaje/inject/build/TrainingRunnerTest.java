@@ -0,0 +1,29 @@
+package io.avaje.inject.build;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+
+import org.junit.jupiter.api.Test;
+
+class TrainingRunnerTest {
+
+  private final File archive = new File("/build/host/target/app.jsa");
+
+  @Test
+  void runtimePath_default_expect_fileName() {
+    assertThat(runner(null).runtimePath(archive)).isEqualTo("app.jsa");
+    assertThat(runner(" ").runtimePath(archive)).isEqualTo("app.jsa");
+  }
+
+  @Test
+  void runtimePath_archiveDir_expect_inArchiveDir() {
+    assertThat(runner("/app").runtimePath(archive)).isEqualTo("/app/app.jsa");
+    assertThat(runner("/app/").runtimePath(archive)).isEqualTo("/app/app.jsa");
+    assertThat(runner("cds").runtimePath(archive)).isEqualTo("cds/app.jsa");
+  }
+
+  private static TrainingRunner runner(String archiveDir) {
+    return new TrainingRunner("java", "app.jar", new File("target"), "app", archiveDir, line -> {});
+  }
+}
@@ -23,7 +23,7 @@ final class AspectMethod {
   private final List<? extends TypeMirror> thrownTypes;
   private final String localName;
   private final ExecutableElement fallback;
-  private final boolean methodRef;
+  private final boolean async;
 
   AspectMethod(int nameIndex, List<AspectPair> aspectPairs, ExecutableElement method) {
     this.aspectPairs = sort(aspectPairs);
@@ -34,7 +34,7 @@ final class AspectMethod {
     this.thrownTypes = method.getThrownTypes();
     this.localName = simpleName + nameIndex;
     this.fallback = findFallback(method);
-    methodRef = params.isEmpty();
+    this.async = isCompletionStage(method.getReturnType());
     validateFallback();
   }
 
@@ -81,6 +81,18 @@ final class AspectMethod {
     }
   }
 
+  /**
+   * Return true if the method returns a CompletionStage (or CompletableFuture).
+   */
+  private static boolean isCompletionStage(TypeMirror returnType) {
+    if (returnType.getKind() != TypeKind.DECLARED) {
+      return false;
+    }
+    final var stage = APContext.typeElement(Constants.COMPLETION_STAGE);
+    final var types = APContext.types();
+    return stage != null && types.isAssignable(types.erasure(returnType), types.erasure(stage.asType()));
+  }
+
   private List<AspectPair> sort(List<AspectPair> aspectPairs) {
     Collections.sort(aspectPairs);
     return aspectPairs;
@@ -94,6 +106,21 @@ final class AspectMethod {
     return mps;
   }
 
+  String simpleName() {
+    return simpleName;
+  }
+
+  /**
+   * Return the binary names of the parameter types as looked up via getDeclaredMethod().
+   */
+  List<String> parameterTypes() {
+    final List<String> types = new ArrayList<>(params.size());
+    for (final VariableElement parameter : method.getParameters()) {
+      types.add(NativeImageWriter.binaryName(parameter.asType()));
+    }
+    return types;
+  }
+
   void addTargets(Set<String> targets) {
     for (AspectPair aspectPair : aspectPairs) {
       targets.add(aspectPair.annotationShortName());
@@ -117,7 +144,11 @@ final class AspectMethod {
     }
   }
 
-  void writeMethod(Append writer) {
+  /**
+   * Write the proxy method that creates the single Chain invocation for the call (an AsyncChain
+   * for methods returning a CompletionStage).
+   */
+  void writeMethod(Append writer, String proxyName) {
     writer.eol().append("  @Override").eol();
     writer.append("  public %s %s(", returnUtype.shortType(), simpleName);
     for (int i = 0, size = params.size(); i < size; i++) {
@@ -128,15 +159,96 @@ final class AspectMethod {
     }
     writer.append(")");
     writeThrowsClause(writer);
-
     writer.append(" {").eol();
+    writer.append("    if (%s$chain.length == 0) {", localName).eol();
+    writer.append("      %ssuper.%s(", isVoid() ? "" : "return ", simpleName);
+    writeArgNames(writer);
+    writer.append(");").eol();
+    if (isVoid()) {
+      writer.append("      return;").eol();
+    }
+    writer.append("    }").eol();
+    writer.append("    try {").eol();
+    writer.append("      %snew %s(", isVoid() ? "" : "return ", chainName());
+    writeArgNames(writer);
+    writer.append(").start();").eol();
+    writeCatch(writer);
+    writer.append("  }").eol();
+    writeChainClass(writer, proxyName);
+  }
+
+  private String chainName() {
+    return "Call$" + localName;
+  }
+
+  private String resultType() {
+    if (isVoid()) {
+      return "Void";
+    }
+    final String shortType = returnUtype.shortType();
+    final String wrapped = PrimitiveUtil.wrapperMap.get(shortType);
+    return wrapped != null ? wrapped : shortType;
+  }
+
+  private void writeArgNames(Append writer) {
+    for (int i = 0, size = params.size(); i < size; i++) {
+      if (i > 0) {
+        writer.append(", ");
+      }
+      writer.append(params.get(i).simpleName());
+    }
+  }
 
-    String type = isVoid() ? "Run" : "Call<>";
+  /**
+   * Write the invocation of the method holding the arguments as fields so that they are only
+   * boxed when an interceptor reads them.
+   */
+  private void writeChainClass(Append writer, String proxyName) {
+    final String chainName = chainName();
+    final String resultType = resultType();
+    writer.eol();
+    final String chainType = async ? "AsyncChain" : "Chain";
+    writer.append("  private final class %s extends Invocation.%s<%s> {", chainName, chainType, resultType).eol();
+    if (!params.isEmpty()) {
+      writer.eol();
+      for (MethodParam param : params) {
+        writer.append("    private final ");
+        param.writeMethodParamAspect(writer);
+        writer.append(";").eol();
+      }
+    }
+    writer.eol();
+    writer.append("    %s(", chainName);
+    for (int i = 0, size = params.size(); i < size; i++) {
+      if (i > 0) {
+        writer.append(", ");
+      }
+      params.get(i).writeMethodParamAspect(writer);
+    }
+    writer.append(") {").eol();
+    writer.append("      super(%s.this, %s, %s$chain);", proxyName, localName, localName).eol();
+    for (MethodParam param : params) {
+      writer.append("      this.%s = %s;", param.simpleName(), param.simpleName()).eol();
+    }
+    writer.append("    }").eol().eol();
 
-    writer.append("    var call = new Invocation.%s(", type);
-    invokeSuper(writer, simpleName);
-    writer.append(")").eol();
-    writeArgs(writer);
+    writer.append("    @Override").eol();
+    writer.append("    protected %s proceed() throws Throwable {", resultType).eol();
+    writer.append("      %s%s.super.%s(", isVoid() ? "" : "return ", proxyName, simpleName);
+    writeArgNames(writer);
+    writer.append(");").eol();
+    if (isVoid()) {
+      writer.append("      return null;").eol();
+    }
+    writer.append("    }").eol().eol();
+
+    writer.append("    @Override").eol();
+    writer.append("    protected Object[] createArguments() {").eol();
+    writer.append("      return new Object[] {");
+    writeArgNames(writer);
+    writer.append("};").eol();
+    writer.append("    }").eol();
+    writeFallback(writer, proxyName);
     writer.append("  }").eol();
   }
 
@@ -152,28 +264,9 @@ final class AspectMethod {
     }
   }
 
-  private void invokeSuper(Append writer, String simpleName) {
-    if (methodRef) {
-      writer.append("super::%s", simpleName);
-      return;
-    }
-
-    writer.append("() -> super.%s(", simpleName);
-    for (int i = 0, size = params.size(); i < size; i++) {
-      if (i > 0) {
-        writer.append(", ");
-      }
-      writer.append(params.get(i).simpleName());
-    }
-    writer.append(")");
-  }
-
   void writeSetupFields(Append writer) {
     writer.append("  private final Method %s;", localName).eol();
-    for (AspectPair aspectPair : aspectPairs) {
-      String sn = aspectPair.annotationShortName();
-      writer.append("  private final MethodInterceptor %s%s;", localName, sn).eol();
-    }
+    writer.append("  private final MethodInterceptor[] %s$chain;", localName).eol();
   }
 
   void writeSetupForMethods(Append writer) {
@@ -184,55 +277,19 @@ final class AspectMethod {
       writer.append(".class");
     }
     writer.append(");").eol();
-    for (AspectPair aspect : aspectPairs) {
-      String name = Util.initLower(aspect.annotationShortName());
-      String sn = aspect.annotationShortName();
-      writer.append("      %s%s = %s.interceptor(%s, %s.getAnnotation(%s.class));", localName, sn, name, localName, localName, sn).eol();
+    // outer-most aspect first, excluding NOOP interceptors
+    writer.append("      %s$chain = MethodInterceptor.chain(", localName).eol();
+    for (int i = aspectPairs.size() - 1; i >= 0; i--) {
+      final AspectPair aspect = aspectPairs.get(i);
+      final String name = Util.initLower(aspect.annotationShortName());
+      final String sn = aspect.annotationShortName();
+      writer.append("        %s.interceptor(%s, %s.getAnnotation(%s.class))%s", name, localName, localName, sn, i > 0 ? "," : "").eol();
     }
+    writer.append("      );").eol();
     writer.eol();
   }
 
-  void writeArgs(Append writer) {
-    writer.append("      .with(this, %s", localName);
-    if (!params.isEmpty()) {
-      writer.append(", ");
-      for (int i = 0, size = params.size(); i < size; i++) {
-        if (i > 0) {
-          writer.append(", ");
-        }
-        writer.append(params.get(i).simpleName());
-      }
-    }
-    writer.append(")");
-    int aspectCount = aspectPairs.size();
-    if (aspectCount >= 2) {
-      // nesting all but last aspect
-      writer.eol();
-      writer.append("      // wrapping inner nested aspects based on ordering attribute").eol();
-      int nesting = aspectCount - 1;
-      for (int i = 0; i < nesting; i++) {
-        AspectPair aspect = aspectPairs.get(i);
-        String sn = aspect.annotationShortName();
-        writer.append("      .wrap(%s%s)", localName, sn);
-        if (i < nesting - 1) {
-          writer.eol();
-        }
-      }
-    }
-    writeFallback(writer);
-    writer.append(";").eol();
-    writer.append("    try {").eol();
-    if (aspectCount > 1) {
-      writer.append("      // outer-most aspect").eol();
-    }
-    final AspectPair outerAspect = aspectPairs.get(aspectCount - 1);
-    final String sn = outerAspect.annotationShortName();
-    writer.append("      %s%s.invoke(call);", localName, sn).eol();
-
-    if (!isVoid()) {
-      writer.append("      return call.finalResult();").eol();
-    }
-
+  private void writeCatch(Append writer) {
     writer.append("    } catch (RuntimeException $ex) {").eol();
     writer.append("      $ex.addSuppressed(new InvocationException(\"%s proxy threw exception\"));", simpleName).eol();
     writer.append("      throw $ex;").eol();
@@ -244,38 +301,38 @@ final class AspectMethod {
     writer.append("    }").eol();
   }
 
-  private void writeFallback(Append writer) {
+  private void writeFallback(Append writer, String proxyName) {
     if (fallback == null) {
       return;
     }
-
     var fallParams = fallback.getParameters();
-    writer.eol().append("      .fallback(");
     var hasThrowable = fallParams.stream().anyMatch(p -> p.asType().toString().contains("Throwable"));
 
-    if (fallParams.size() == 1 && hasThrowable) {
-      writer.append("this::%s", fallback.getSimpleName());
-      writer.append(")");
-      return;
-    }
-
-    var jdk = APContext.jdkVersion();
-    var unNamedPattern = jdk >= 22 || APContext.previewEnabled() && jdk == 21;
-
-    var exName = !hasThrowable && unNamedPattern ? "_" : "$ex";
-    writer.append("%s -> %s(", exName, fallback.getSimpleName());
-    if (!fallParams.isEmpty()) {
-      for (int i = 0, size = params.size(); i < size; i++) {
-        if (i > 0) {
-          writer.append(", ");
-        }
-        writer.append(params.get(i).simpleName());
+    writer.eol();
+    writer.append("    @Override").eol();
+    writer.append("    public boolean hasRecoveryMethod() {").eol();
+    writer.append("      return true;").eol();
+    writer.append("    }").eol().eol();
+    writer.append("    @Override").eol();
+    writer.append("    public Object invokeRecoveryMethod(Throwable $ex) {").eol();
+    writer.append("      %s%s.this.%s(", isVoid() ? "" : "var $result = ", proxyName, fallback.getSimpleName());
+    if (!fallParams.isEmpty() && !(fallParams.size() == 1 && hasThrowable)) {
+      writeArgNames(writer);
+      if (hasThrowable) {
+        writer.append(", ");
       }
     }
     if (hasThrowable) {
-      writer.append(", $ex");
+      writer.append("$ex");
     }
-    writer.append("))");
+    writer.append(");").eol();
+    if (isVoid()) {
+      writer.append("      return null;").eol();
+    } else {
+      writer.append("      result($result);").eol();
+      writer.append("      return $result;").eol();
+    }
+    writer.append("    }").eol();
   }
 
   private void writeThrowsCatch(Append writer) {
@@ -35,12 +35,16 @@ final class BeanReader {
   private final boolean primary;
   private final boolean secondary;
   private final boolean lazy;
+  private final LazyProxy lazyProxy;
   private final boolean proxy;
   private final BeanAspects aspects;
   private final BeanConditions conditions = new BeanConditions();
   private final boolean importedComponent;
   private final Integer preDestroyPriority;
+  private final boolean postConstructAsync;
   private boolean writtenToFile;
+  private String buildClass;
+  private Set<String> generatedImports;
   private boolean suppressBuilderImport;
   private boolean suppressGeneratedImport;
   private Set<UType> allUTypes;
@@ -80,6 +84,7 @@ final class BeanReader {
     this.postConstructMethod = typeReader.postConstructMethod();
     this.preDestroyMethod = typeReader.preDestroyMethod();
     this.preDestroyPriority = typeReader.preDestroyPriority();
+    this.postConstructAsync = typeReader.postConstructAsync();
     this.constructor = typeReader.constructor();
     this.observerMethods = typeReader.observerMethods();
     this.importedComponent = importedComponent && (constructor != null && constructor.isPublic());
@@ -91,6 +96,9 @@ final class BeanReader {
       conditions.readAll(beanType);
       this.proxy = false;
     }
+    this.lazyProxy = lazy && !importedComponent && !proxy && !aspects.hasAspects()
+      ? LazyProxy.ofComponent(beanType, constructor)
+      : null;
     this.delayed = shouldDelay();
   }
 
@@ -151,6 +159,37 @@ final class BeanReader {
     return lazy;
   }
 
+  /**
+   * Return the proxy injected for the lazy bean or null when the bean is not proxied.
+   */
+  LazyProxy lazyProxy() {
+    return lazyProxy;
+  }
+
+  /**
+   * Return true if the build methods can be generated into a consolidated class with other beans.
+   */
+  boolean isConsolidateEligible() {
+    return constructor != null
+      && factoryMethods.isEmpty()
+      && !importedComponent
+      && !isGenerateProxy()
+      && !isRequestScopedController()
+      && packageName() != null
+      && !packageName().isEmpty();
+  }
+
+  /**
+   * Return the consolidated class with the build methods or null when built via the $DI class.
+   */
+  String buildClass() {
+    return buildClass;
+  }
+
+  void setBuildClass(String buildClass) {
+    this.buildClass = buildClass;
+  }
+
   boolean importedComponent() {
     return importedComponent;
   }
@@ -184,7 +223,7 @@ final class BeanReader {
   List<Dependency> dependsOn() {
     List<Dependency> list = new ArrayList<>();
     if (constructor != null) {
-      for (MethodReader.MethodParam param : constructor.params()) {
+      for (MethodParam param : constructor.params()) {
         Dependency dependsOn = param.dependsOn();
         // BeanScope is always injectable with no impact on injection ordering
         if (!Constants.BEANSCOPE.equals(dependsOn.dependsOn())) {
@@ -213,6 +252,22 @@ final class BeanReader {
     return list;
   }
 
+  /**
+   * Return the field and method injection dependencies (not used for ordering).
+   */
+  List<Dependency> injectDependsOn() {
+    List<Dependency> list = new ArrayList<>();
+    for (FieldReader field : injectFields) {
+      list.add(field.dependsOn());
+    }
+    for (MethodReader method : injectMethods) {
+      for (MethodParam param : method.params()) {
+        list.add(param.dependsOn());
+      }
+    }
+    return list;
+  }
+
   List<MethodReader> factoryMethods() {
     return factoryMethods;
   }
@@ -344,6 +399,59 @@ final class BeanReader {
     writer.append("register(bean);").eol();
   }
 
+  /**
+   * Return the constructor params when the bean can be built with its dependencies
+   * passed directly (InjectModule directWiring) and otherwise null.
+   */
+  List<MethodParam> directParams() {
+    if (!ProcessingContext.directWiring()
+      || constructor == null
+      || registerProvider()
+      || secondary
+      || proxy
+      || isGenerateProxy()
+      || hasConditions()
+      || isRequestScopedController()
+      || constructor.methodThrows()
+      || !beanType.getTypeParameters().isEmpty()) {
+      return null;
+    }
+    final List<MethodParam> params = constructor.params();
+    for (final MethodParam param : params) {
+      if (!param.isDirect()) {
+        return null;
+      }
+    }
+    return params;
+  }
+
+  /**
+   * Return the dependencies passed directly or null if the bean is not built directly.
+   */
+  List<String> directDependencies() {
+    final List<MethodParam> params = directParams();
+    if (params == null) {
+      return null;
+    }
+    final List<String> dependencies = new ArrayList<>(params.size());
+    for (final MethodParam param : params) {
+      dependencies.add(param.directKey());
+    }
+    return dependencies;
+  }
+
+  void buildRegisterDirect(Append writer, String dependencies) {
+    writer.append("      var $bean = builder.");
+    if (primary) {
+      writer.append("asPrimary().");
+    }
+    if (dependencies.isEmpty()) {
+      writer.append("register(bean);").eol();
+    } else {
+      writer.append("registerDirect(bean, %s);", dependencies).eol();
+    }
+  }
+
   void addLifecycleCallbacks(Append writer, String indent) {
     if (postConstructMethod.isPresent() && !registerProvider()) {
       writePostConstruct(writer, indent, postConstructMethod.get());
@@ -351,15 +459,51 @@ final class BeanReader {
 
     if (preDestroyMethod != null) {
       lifeCycleNotSupported("@PreDestroy");
-      var priority = preDestroyPriority == null || preDestroyPriority == 1000 ? "" : ", " + preDestroyPriority;
-      writer.indent(indent).append(" builder.addPreDestroy($bean::%s%s);", preDestroyMethod.getSimpleName(), priority).eol();
+      writer.indent(indent).append(" builder.addPreDestroy($bean, $bean::%s%s);", preDestroyMethod.getSimpleName(), preDestroyPriority()).eol();
     } else if (typeReader.isClosable() && !prototype) {
       writer.indent(indent).append(" builder.addAutoClosable($bean);").eol();
     }
   }
 
+  private String preDestroyPriority() {
+    return preDestroyPriority == null || preDestroyPriority == 1000 ? "" : ", " + preDestroyPriority;
+  }
+
+  /**
+   * Return true if the singleton is registered as a provider when the scope is built with lazyAll
+   * (InjectModule lazyAll).
+   * <p>
+   * Beans with field or method injection are excluded as that supports circular dependencies.
+   */
+  boolean isLazyAllEligible() {
+    return ProcessingContext.lazyAll()
+      && !registerProvider()
+      && factoryMethods.isEmpty()
+      && observerMethods.isEmpty()
+      && !isExtraInjectionRequired()
+      && !postConstructAsync;
+  }
+
+  /**
+   * Return the call that sets the priority of the bean to register.
+   */
+  String registerPriority() {
+    return primary ? "asPrimary()." : secondary ? "asSecondary()." : "";
+  }
+
+  /**
+   * Add the PreDestroy method of the bean created on first use when built with lazyAll.
+   */
+  void lazyAllPreDestroy(Append writer, String indent) {
+    if (preDestroyMethod != null) {
+      writer.indent(indent).append(" builder.addPreDestroy(bean, bean::%s%s);", preDestroyMethod.getSimpleName(), preDestroyPriority()).eol();
+    } else if (typeReader.isClosable()) {
+      writer.indent(indent).append(" builder.addAutoClosable(bean);").eol();
+    }
+  }
+
   private void writePostConstruct(Append writer, String indent, MethodReader postConstruct) {
-    writer.indent(indent).append(" builder.addPostConstruct(");
+    writer.indent(indent).append(postConstructAsync ? " builder.addPostConstructAsync(" : " builder.addPostConstruct(");
     final var methodName = postConstruct.name();
     final var params = postConstruct.params();
     if (params.isEmpty() || Constants.BEANSCOPE.equals(params.get(0).getFullUType().shortType())) {
@@ -372,6 +516,16 @@ final class BeanReader {
   }
 
   void prototypePostConstruct(Append writer, String indent) {
+    if (postConstructMethod.isPresent()) {
+      postConstructCall(writer, indent);
+      writer.eol();
+    }
+  }
+
+  /**
+   * Call the PostConstruct method of the bean created on first use.
+   */
+  void postConstructCall(Append writer, String indent) {
     postConstructMethod.ifPresent(m -> {
       writer.indent(indent).append(" bean.%s(", m.name());
       if (m.params().isEmpty()) {
@@ -380,7 +534,6 @@ final class BeanReader {
         writeLifeCycleGet(writer, m.params(), "builder", "builder.get(io.avaje.inject.BeanScope.class)");
         writer.append(";").eol();
       }
-      writer.eol();
     });
   }
 
@@ -447,12 +600,22 @@ final class BeanReader {
     return suppressGeneratedImport ? "@io.avaje.inject.spi.Generated" : "@Generated";
   }
 
-  void writeImports(Append writer, String pkgName) {
-    if (!allGenericTypes().isEmpty()) {
-      importTypes.add(Constants.TYPE);
-      importTypes.add(Constants.GENERICTYPE);
+  /**
+   * Return the types imported by the generated build code.
+   */
+  Set<String> generatedImports() {
+    if (generatedImports == null) {
+      if (!allGenericTypes().isEmpty()) {
+        importTypes.add(Constants.TYPE);
+        importTypes.add(Constants.GENERICTYPE);
+      }
+      generatedImports = importTypes();
     }
-    for (String importType : importTypes()) {
+    return generatedImports;
+  }
+
+  void writeImports(Append writer, String pkgName) {
+    for (String importType : generatedImports()) {
       if (Util.validImportType(importType, pkgName)) {
         writer.append("import %s;", Util.sanitizeImports(importType)).eol();
       }
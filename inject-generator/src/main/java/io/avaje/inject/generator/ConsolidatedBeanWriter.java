@@ -0,0 +1,125 @@
+package io.avaje.inject.generator;
+
+import static io.avaje.inject.generator.APContext.createSourceFile;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Write the build methods of a number of beans of the same package into a single class
+ * (InjectModule consolidateBeans) rather than a $DI class per bean.
+ * <p>
+ * The consolidated class is named after its first bean with a {@code $Beans$DI} suffix and
+ * has the methods {@code build_<Bean>} and {@code buildDirect_<Bean>}. A bean is only added
+ * when the types its build code imports do not clash by short name with the types imported
+ * for the other beans of the class, otherwise the bean keeps its own $DI class.
+ */
+final class ConsolidatedBeanWriter {
+
+  static final String SUFFIX = "$Beans" + Constants.DI;
+
+  private final String packageName;
+  private final String shortName;
+  private final List<BeanReader> beans = new ArrayList<>();
+  private final Map<String, String> importsByShortName = new HashMap<>();
+
+  private ConsolidatedBeanWriter(String packageName, String shortName) {
+    this.packageName = packageName;
+    this.shortName = shortName;
+  }
+
+  /**
+   * Group the beans of a package into consolidated classes of up to maxBeans beans.
+   * <p>
+   * The beans added to a consolidated class have their build class set.
+   */
+  static List<ConsolidatedBeanWriter> group(List<BeanReader> packageBeans, int maxBeans) {
+    final List<BeanReader> beans = new ArrayList<>(packageBeans);
+    beans.sort(Comparator.comparing(BeanReader::shortName));
+    final List<ConsolidatedBeanWriter> groups = new ArrayList<>();
+    ConsolidatedBeanWriter group = null;
+    for (final BeanReader bean : beans) {
+      if (group == null || group.beans.size() >= maxBeans) {
+        group = new ConsolidatedBeanWriter(bean.packageName(), methodSuffix(bean) + SUFFIX);
+        groups.add(group);
+      }
+      group.add(bean);
+    }
+    // no point consolidating a single bean
+    groups.removeIf(g -> g.beans.size() < 2);
+    for (final ConsolidatedBeanWriter consolidated : groups) {
+      for (final BeanReader bean : consolidated.beans) {
+        bean.setBuildClass(consolidated.fullName());
+      }
+    }
+    return groups;
+  }
+
+  /**
+   * Return the suffix of the build methods of the bean which uses $ for nested types.
+   */
+  static String methodSuffix(BeanReader bean) {
+    return bean.shortName().replace('.', '$');
+  }
+
+  private void add(BeanReader bean) {
+    final Set<String> imports = bean.generatedImports();
+    final Map<String, String> added = new HashMap<>();
+    for (final String importType : imports) {
+      final String fullType = Util.sanitizeImports(importType);
+      final String key = fullType.substring(fullType.lastIndexOf('.') + 1);
+      final String existing = importsByShortName.getOrDefault(key, added.get(key));
+      if (existing != null && !existing.equals(fullType)) {
+        // clashes with the imports of another bean
+        return;
+      }
+      added.put(key, fullType);
+    }
+    importsByShortName.putAll(added);
+    beans.add(bean);
+  }
+
+  private String fullName() {
+    return packageName + "." + shortName;
+  }
+
+  void write() throws IOException {
+    final Append writer = new Append(createSourceFile(fullName()).openWriter());
+    writer.append("package %s;", packageName).eol().eol();
+    for (final String importType : new TreeSet<>(importsByShortName.values())) {
+      if (Util.validImportType(importType, packageName)) {
+        writer.append("import %s;", importType).eol();
+      }
+    }
+    writer.eol();
+    writer.append(beans.get(0).generatedType()).append(Constants.AT_GENERATED_COMMENT).eol();
+    writer.append("public final %sclass %s {", Util.valhalla(), shortName).eol().eol();
+    final Set<String> typeFields = new HashSet<>();
+    final List<SimpleBeanWriter> beanWriters = new ArrayList<>(beans.size());
+    for (final BeanReader bean : beans) {
+      final var beanWriter = new SimpleBeanWriter(bean, writer, typeFields);
+      beanWriter.writeConsolidated();
+      beanWriters.add(beanWriter);
+    }
+    writer.append("}").eol();
+    writer.close();
+    for (final SimpleBeanWriter beanWriter : beanWriters) {
+      beanWriter.writeLazyProxies();
+    }
+    for (final BeanReader bean : beans) {
+      bean.setWrittenToFile();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return fullName();
+  }
+}
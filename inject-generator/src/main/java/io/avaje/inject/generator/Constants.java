@@ -43,6 +43,8 @@ final class Constants {
   static final String INVOCATION_EXCEPTION = "io.avaje.inject.aop.InvocationException";
   static final String METHOD_INTERCEPTOR = "io.avaje.inject.aop.MethodInterceptor";
   static final String PROXY = "io.avaje.inject.spi.Proxy";
+  static final String PRIORITY = "io.avaje.inject.Priority";
+  static final String COMPLETION_STAGE = "java.util.concurrent.CompletionStage";
 
   static final String GENERATED = "io.avaje.inject.spi.Generated";
   static final String BEAN_FACTORY = "io.avaje.inject.spi.BeanFactory";
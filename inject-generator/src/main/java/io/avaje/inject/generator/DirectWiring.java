@@ -0,0 +1,139 @@
+package io.avaje.inject.generator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Determines the beans of a module that are built with their dependencies passed directly
+ * (InjectModule directWiring) rather than looking them up via the builder.
+ * <p>
+ * A dependency is passed directly when exactly one bean of the module provides it, that bean
+ * was itself built directly earlier in the same build chunk and the type is not provided by
+ * another module. Otherwise the bean is built using the usual build method.
+ */
+final class DirectWiring {
+
+  private final Map<String, Set<MetaData>> providers;
+  private final List<MetaData> chunk;
+  private final Map<MetaData, String> locals = new IdentityHashMap<>();
+  private final Map<MetaData, List<String>> args = new IdentityHashMap<>();
+  private final Set<String> used = new HashSet<>();
+
+  /**
+   * Create for a chunk of the beans to build.
+   *
+   * @param providers The beans of the module by the types they provide
+   * @param chunk     The beans built in the one method
+   */
+  DirectWiring(Map<String, Set<MetaData>> providers, List<MetaData> chunk) {
+    this.providers = providers;
+    this.chunk = chunk;
+    for (final MetaData metaData : chunk) {
+      final List<String> beanArgs = args(metaData);
+      if (beanArgs != null) {
+        locals.put(metaData, "$b" + locals.size());
+        args.put(metaData, beanArgs);
+        used.addAll(beanArgs);
+      }
+    }
+  }
+
+  /**
+   * Return true if there are dependencies passed directly.
+   */
+  boolean hasDirect() {
+    return !used.isEmpty();
+  }
+
+  /**
+   * Write the statements that build the beans passing the dependencies directly.
+   *
+   * @param module The prefix used to call the module build methods
+   */
+  void writeBuild(Append writer, String indent, String module, Set<String> duplicateTypes) {
+    for (final MetaData metaData : chunk) {
+      final List<String> beanArgs = args.get(metaData);
+      if (beanArgs == null) {
+        writer.append("%s%sbuild_%s(builder);", indent, module, metaData.buildName()).eol();
+      } else {
+        final String local = locals.get(metaData);
+        final boolean fullyQualify = duplicateTypes.contains(metaData.type());
+        metaData.buildDirectCall(writer, indent, fullyQualify, used.contains(local) ? local : null, beanArgs);
+      }
+    }
+  }
+
+  private List<String> args(MetaData metaData) {
+    final List<String> dependencies = metaData.directDependencies();
+    if (dependencies == null) {
+      return null;
+    }
+    final List<String> beanArgs = new ArrayList<>(dependencies.size());
+    for (final String dependency : dependencies) {
+      final String local = local(dependency);
+      if (local == null) {
+        return null;
+      }
+      beanArgs.add(local);
+    }
+    return beanArgs;
+  }
+
+  /**
+   * Return the local variable of the bean built directly that provides the dependency.
+   */
+  private String local(String dependency) {
+    final int pos = dependency.indexOf(':');
+    final String type = pos == -1 ? dependency : dependency.substring(0, pos);
+    final String qualifier = pos == -1 ? null : dependency.substring(pos + 1);
+    if (ProcessingContext.externallyProvided(type)) {
+      return null;
+    }
+    final Set<MetaData> candidates = providers.get(type);
+    if (candidates == null || candidates.size() != 1) {
+      // not uniquely provided by this module
+      return null;
+    }
+    final MetaData match = candidates.iterator().next();
+    if (qualifier != null && !qualifier.equalsIgnoreCase(match.name())) {
+      return null;
+    }
+    return locals.get(match);
+  }
+
+  /**
+   * Return the beans of the module keyed by the raw types they provide.
+   */
+  static Map<String, Set<MetaData>> providers(List<MetaData> ordered) {
+    final Map<String, Set<MetaData>> providers = new HashMap<>();
+    for (final MetaData metaData : ordered) {
+      addProvider(providers, metaData.type(), metaData);
+      for (final String provides : metaData.provides()) {
+        addProvider(providers, provides, metaData);
+      }
+    }
+    return providers;
+  }
+
+  private static void addProvider(Map<String, Set<MetaData>> providers, String provides, MetaData metaData) {
+    providers.computeIfAbsent(rawType(provides), k -> new HashSet<>()).add(metaData);
+  }
+
+  /**
+   * Return the type without generic parameters and qualifier name.
+   */
+  private static String rawType(String provides) {
+    for (int i = 0; i < provides.length(); i++) {
+      final char ch = provides.charAt(i);
+      if (ch == '<' || ch == ':') {
+        return provides.substring(0, i);
+      }
+    }
+    return provides;
+  }
+}
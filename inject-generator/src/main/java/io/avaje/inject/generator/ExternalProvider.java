@@ -43,6 +43,10 @@ final class ExternalProvider {
   private static final boolean INJECT_AVAILABLE = moduleCP();
   private static final Map<String, List<String>> avajePlugins = Map.ofEntries(
     entry("io.avaje.inject.events.spi.ObserverManagerPlugin", of("io.avaje.inject.events.ObserverManager")),
+    entry("io.avaje.inject.timed.spi.TimedPlugin",
+      of(
+        "io.avaje.inject.timed.TimerRegistry",
+        "io.avaje.inject.aop.AspectProvider<io.avaje.inject.timed.Timed>")),
     entry("io.avaje.jsonb.inject.DefaultJsonbProvider", of("io.avaje.jsonb.Jsonb")),
     entry("io.avaje.http.inject.DefaultResolverProvider", of("io.avaje.http.api.context.RequestContextResolver")),
     entry("io.avaje.htmx.nima.jstache.DefaultTemplateProvider",
@@ -52,6 +52,10 @@ final class FieldReader {
     importTypes.addAll(type.importTypes());
   }
 
+  Dependency dependsOn() {
+    return new Dependency(fieldType, name, utype.isCollection());
+  }
+
   String builderGetDependency(String builder) {
     final var sb = new StringBuilder();
     sb.append(builder).append(".").append(utype.getMethod(nullable, isBeanMap));
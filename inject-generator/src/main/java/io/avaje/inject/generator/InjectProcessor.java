@@ -30,7 +30,7 @@ import static io.avaje.inject.generator.ProcessingContext.*;
 @GenerateUtils
 @GenerateAPContext
 @GenerateModuleInfoReader
-@SupportedOptions({"mergeServices", "buildPlugin"})
+@SupportedOptions({"mergeServices", "buildPlugin", "methodBudget", "nativeImage"})
 @SupportedAnnotationTypes({
   AspectImportPrism.PRISM_TYPE,
   AssistFactoryPrism.PRISM_TYPE,
@@ -189,6 +189,7 @@ public final class InjectProcessor extends AbstractProcessor {
         }
       }
       ProcessingContext.writeSPIServicesFile();
+      ProcessingContext.writeNativeImage(defaultScope.moduleFullName());
       ProcessingContext.validateModule();
       ProcessingContext.clear();
     }
@@ -371,6 +372,9 @@ public final class InjectProcessor extends AbstractProcessor {
           if (annotation != null) {
             defaultScope.details(annotation.name(), element);
             ProcessingContext.strictWiring(annotation.strictWiring());
+            ProcessingContext.directWiring(annotation.directWiring());
+            ProcessingContext.deferredModule(annotation.deferred());
+            ProcessingContext.lazyAll(annotation.lazyAll());
           }
         }
       });
@@ -0,0 +1,347 @@
+package io.avaje.inject.generator;
+
+import static io.avaje.inject.generator.APContext.createSourceFile;
+import static io.avaje.inject.generator.APContext.logWarn;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import javax.annotation.processing.FilerException;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.IntersectionType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeVariable;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+
+/**
+ * The proxy for a {@code @Lazy} bean that delegates to the bean which is created on the
+ * first method call such that injecting the bean does not create it.
+ * <p>
+ * For a component the proxy extends the bean class when the class is not final, has no
+ * final methods and has an accessible no-arg constructor that is not the injection constructor.
+ * Otherwise the proxy implements the interfaces of the bean. For a factory method the proxy
+ * implements the interface that the method returns.
+ */
+final class LazyProxy {
+
+  static final String SUFFIX = "$Lazy";
+
+  private final String packageName;
+  private final String shortName;
+  private final String beanType;
+  private final boolean publicAccess;
+  private final DeclaredType superClass;
+  private final List<DeclaredType> interfaces;
+
+  private LazyProxy(String packageName, String shortName, String beanType, boolean publicAccess, DeclaredType superClass, List<DeclaredType> interfaces) {
+    this.packageName = packageName;
+    this.shortName = shortName;
+    this.beanType = beanType;
+    this.publicAccess = publicAccess;
+    this.superClass = superClass;
+    this.interfaces = interfaces;
+  }
+
+  /**
+   * Return the proxy for the lazy component or null if it can not be proxied.
+   */
+  static LazyProxy ofComponent(TypeElement beanType, MethodReader constructor) {
+    final String packageName = APContext.elements().getPackageOf(beanType).getQualifiedName().toString();
+    if (packageName.isEmpty() || !beanType.getTypeParameters().isEmpty() || isProvider(beanType.asType())) {
+      return null;
+    }
+    final String shortName = proxyName(beanType);
+    final boolean publicAccess = beanType.getModifiers().contains(Modifier.PUBLIC);
+    final String type = beanType.getQualifiedName().toString();
+    final DeclaredType declaredType = (DeclaredType) beanType.asType();
+    if (isClassProxy(beanType, constructor)) {
+      return new LazyProxy(packageName, shortName, type, publicAccess, declaredType, List.of());
+    }
+    final List<DeclaredType> interfaces = new ArrayList<>();
+    addInterfaces(declaredType, packageName, interfaces);
+    if (interfaces.isEmpty()) {
+      return null;
+    }
+    return new LazyProxy(packageName, shortName, type, publicAccess, null, interfaces);
+  }
+
+  /**
+   * Return the proxy for the interface returned by the lazy factory method or null if it can not be proxied.
+   */
+  static LazyProxy ofFactoryMethod(TypeMirror returnType, String packageName) {
+    if (packageName.isEmpty() || returnType.getKind() != TypeKind.DECLARED || isProvider(returnType)) {
+      return null;
+    }
+    final DeclaredType declaredType = (DeclaredType) returnType;
+    final TypeElement element = (TypeElement) declaredType.asElement();
+    if (element.getKind() != ElementKind.INTERFACE
+      || !element.getTypeParameters().isEmpty()
+      || !isAccessible(element, packageName)) {
+      return null;
+    }
+    final String type = element.getQualifiedName().toString();
+    final String shortName = proxyName(element);
+    final String existing = ProcessingContext.addLazyProxy(packageName + "." + shortName, type);
+    if (existing != null && !existing.equals(type)) {
+      // another type with the same short name
+      return null;
+    }
+    return new LazyProxy(packageName, shortName, type, true, null, List.of(declaredType));
+  }
+
+  /**
+   * Return the proxy name which like $DI uses $ for nested types.
+   */
+  private static String proxyName(TypeElement element) {
+    final String elementPackage = APContext.elements().getPackageOf(element).getQualifiedName().toString();
+    final String type = element.getQualifiedName().toString();
+    final String shortName = elementPackage.isEmpty() ? type : type.substring(elementPackage.length() + 1);
+    return shortName.replace(".", "$") + SUFFIX;
+  }
+
+  private static boolean isProvider(TypeMirror type) {
+    final var provider = APContext.typeElement(Util.PROVIDER_PREFIX);
+    return provider != null && APContext.types().isAssignable(type, APContext.types().erasure(provider.asType()));
+  }
+
+  private static boolean isClassProxy(TypeElement beanType, MethodReader constructor) {
+    final Set<Modifier> modifiers = beanType.getModifiers();
+    if (modifiers.contains(Modifier.FINAL)
+      || modifiers.contains(Modifier.ABSTRACT)
+      || beanType.getNestingKind().isNested() && !modifiers.contains(Modifier.STATIC)
+      || constructor == null
+      || constructor.params().isEmpty()) {
+      return false;
+    }
+    final boolean noArgConstructor = ElementFilter.constructorsIn(beanType.getEnclosedElements()).stream()
+      .anyMatch(c -> c.getParameters().isEmpty() && !c.getModifiers().contains(Modifier.PRIVATE));
+    if (!noArgConstructor) {
+      return false;
+    }
+    final String packageName = APContext.elements().getPackageOf(beanType).getQualifiedName().toString();
+    for (final ExecutableElement method : ElementFilter.methodsIn(APContext.elements().getAllMembers(beanType))) {
+      final Set<Modifier> methodModifiers = method.getModifiers();
+      if (methodModifiers.contains(Modifier.STATIC) || methodModifiers.contains(Modifier.PRIVATE) || isObjectMethod(method)) {
+        continue;
+      }
+      if (methodModifiers.contains(Modifier.FINAL)
+        || !methodModifiers.contains(Modifier.PUBLIC) && !packageName.equals(packageOf(method))) {
+        // a call to the method would not be delegated
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void addInterfaces(TypeMirror type, String packageName, List<DeclaredType> interfaces) {
+    for (final TypeMirror superType : APContext.types().directSupertypes(type)) {
+      final TypeElement element = (TypeElement) ((DeclaredType) superType).asElement();
+      if (element.getKind() == ElementKind.INTERFACE) {
+        if (isAccessible(element, packageName) && interfaces.stream().noneMatch(i -> APContext.types().isSameType(i, superType))) {
+          interfaces.add((DeclaredType) superType);
+        }
+      } else {
+        addInterfaces(superType, packageName, interfaces);
+      }
+    }
+  }
+
+  private static boolean isAccessible(TypeElement element, String packageName) {
+    return element.getModifiers().contains(Modifier.PUBLIC)
+      || !element.getModifiers().contains(Modifier.PRIVATE)
+      && packageName.equals(APContext.elements().getPackageOf(element).getQualifiedName().toString());
+  }
+
+  private static boolean isObjectMethod(ExecutableElement method) {
+    return ((TypeElement) method.getEnclosingElement()).getQualifiedName().contentEquals("java.lang.Object");
+  }
+
+  /**
+   * Return the reference to the proxy constructor used with {@code Builder.registerLazyProxy()}.
+   */
+  String constructorRef() {
+    return packageName + "." + shortName + "::new";
+  }
+
+  void write() {
+    if (!ProcessingContext.addLazyProxyWritten(packageName + "." + shortName)) {
+      // shared by the lazy factory methods returning the same type
+      return;
+    }
+    try {
+      final var writer = new Append(createSourceFile(packageName + "." + shortName).openWriter());
+      writer.append("package %s;", packageName).eol().eol();
+      writer.append("import %s;", Constants.GENERATED).eol();
+      writer.append("import %s;", Util.PROVIDER_PREFIX).eol().eol();
+      // not marked @Proxy as the processor reads those as beans (the proxy is registered by the $DI)
+      writer.append(Constants.AT_GENERATED).eol();
+      writer.append("%sfinal class %s ", publicAccess ? "public " : "", shortName);
+      if (superClass != null) {
+        writer.append("extends %s {", type(superClass));
+      } else {
+        final var joiner = new StringJoiner(", ");
+        interfaces.forEach(i -> joiner.add(type(i)));
+        writer.append("implements %s {", joiner);
+      }
+      writer.eol().eol();
+      writer.append("  private final Provider<%s> $lazy;", beanType).eol().eol();
+      writer.append("  %s%s(Provider<%s> $lazy) {", publicAccess ? "public " : "", shortName, beanType).eol();
+      writer.append("    this.$lazy = $lazy;").eol();
+      writer.append("  }").eol();
+      for (final Map.Entry<ExecutableElement, ExecutableType> method : methods().values()) {
+        writeMethod(writer, method.getKey(), method.getValue());
+      }
+      writer.append("}").eol();
+      writer.close();
+    } catch (FilerException e) {
+      logWarn("FilerException to write lazy proxy %s %s", shortName, e.getMessage());
+    } catch (IOException e) {
+      APContext.logError("Failed to write lazy proxy %s %s", shortName, e);
+    }
+  }
+
+  /**
+   * Return the methods to delegate keyed by signature.
+   */
+  private Map<String, Map.Entry<ExecutableElement, ExecutableType>> methods() {
+    final Map<String, Map.Entry<ExecutableElement, ExecutableType>> methods = new LinkedHashMap<>();
+    final List<DeclaredType> types = superClass != null ? List.of(superClass) : interfaces;
+    for (final DeclaredType type : types) {
+      final TypeElement element = (TypeElement) type.asElement();
+      for (final ExecutableElement method : ElementFilter.methodsIn(APContext.elements().getAllMembers(element))) {
+        if (isDelegated(method)) {
+          final var memberType = (ExecutableType) APContext.types().asMemberOf(type, method);
+          methods.putIfAbsent(signature(method, memberType), Map.entry(method, memberType));
+        }
+      }
+    }
+    return methods;
+  }
+
+  private boolean isDelegated(ExecutableElement method) {
+    final Set<Modifier> modifiers = method.getModifiers();
+    if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.PRIVATE) || isObjectMethod(method)) {
+      return false;
+    }
+    // non public methods can only be overridden in the same package
+    return modifiers.contains(Modifier.PUBLIC) || packageName.equals(packageOf(method));
+  }
+
+  private static String packageOf(ExecutableElement method) {
+    return APContext.elements().getPackageOf(method).getQualifiedName().toString();
+  }
+
+  private static String signature(ExecutableElement method, ExecutableType memberType) {
+    final var joiner = new StringJoiner(",", method.getSimpleName() + "(", ")");
+    for (final TypeMirror param : memberType.getParameterTypes()) {
+      joiner.add(APContext.types().erasure(param).toString());
+    }
+    return joiner.toString();
+  }
+
+  private void writeMethod(Append writer, ExecutableElement method, ExecutableType memberType) {
+    writer.eol().append("  @Override").eol();
+    writer.append("  ");
+    if (superClass == null || method.getModifiers().contains(Modifier.PUBLIC)) {
+      writer.append("public ");
+    } else if (method.getModifiers().contains(Modifier.PROTECTED)) {
+      writer.append("protected ");
+    }
+    if (!memberType.getTypeVariables().isEmpty()) {
+      final var joiner = new StringJoiner(", ", "<", "> ");
+      for (final TypeVariable typeVariable : memberType.getTypeVariables()) {
+        joiner.add(typeVariableDeclaration(typeVariable));
+      }
+      writer.append(joiner.toString());
+    }
+    final String name = method.getSimpleName().toString();
+    writer.append("%s %s(", type(memberType.getReturnType()), name);
+    final var args = new StringJoiner(", ");
+    final List<? extends TypeMirror> paramTypes = memberType.getParameterTypes();
+    for (int i = 0; i < paramTypes.size(); i++) {
+      final String arg = method.getParameters().get(i).getSimpleName().toString();
+      if (i > 0) {
+        writer.append(", ");
+      }
+      final TypeMirror paramType = paramTypes.get(i);
+      if (method.isVarArgs() && i == paramTypes.size() - 1) {
+        writer.append("%s... %s", type(((ArrayType) paramType).getComponentType()), arg);
+      } else {
+        writer.append("%s %s", type(paramType), arg);
+      }
+      args.add(arg);
+    }
+    writer.append(")");
+    if (!memberType.getThrownTypes().isEmpty()) {
+      final var joiner = new StringJoiner(", ", " throws ", "");
+      memberType.getThrownTypes().forEach(t -> joiner.add(type(t)));
+      writer.append(joiner.toString());
+    }
+    writer.append(" {").eol();
+    writer.append("    ");
+    if (memberType.getReturnType().getKind() != TypeKind.VOID) {
+      writer.append("return ");
+    }
+    writer.append("$lazy.get().%s(%s);", name, args).eol();
+    writer.append("  }").eol();
+  }
+
+  private static String typeVariableDeclaration(TypeVariable typeVariable) {
+    final String name = typeVariable.asElement().getSimpleName().toString();
+    final TypeMirror upperBound = typeVariable.getUpperBound();
+    if (upperBound.getKind() == TypeKind.DECLARED
+      && ((TypeElement) ((DeclaredType) upperBound).asElement()).getQualifiedName().contentEquals("java.lang.Object")) {
+      return name;
+    }
+    return name + " extends " + type(upperBound);
+  }
+
+  /**
+   * Return the source form of the type (fully qualified without type annotations).
+   */
+  private static String type(TypeMirror type) {
+    switch (type.getKind()) {
+      case DECLARED:
+        final var declaredType = (DeclaredType) type;
+        final String name = ((TypeElement) declaredType.asElement()).getQualifiedName().toString();
+        if (declaredType.getTypeArguments().isEmpty()) {
+          return name;
+        }
+        final var joiner = new StringJoiner(", ", name + "<", ">");
+        declaredType.getTypeArguments().forEach(t -> joiner.add(type(t)));
+        return joiner.toString();
+      case ARRAY:
+        return type(((ArrayType) type).getComponentType()) + "[]";
+      case TYPEVAR:
+        return ((TypeVariable) type).asElement().getSimpleName().toString();
+      case WILDCARD:
+        final var wildcard = (WildcardType) type;
+        if (wildcard.getExtendsBound() != null) {
+          return "? extends " + type(wildcard.getExtendsBound());
+        } else if (wildcard.getSuperBound() != null) {
+          return "? super " + type(wildcard.getSuperBound());
+        }
+        return "?";
+      case INTERSECTION:
+        final var bounds = new StringJoiner(" & ");
+        ((IntersectionType) type).getBounds().forEach(t -> bounds.add(type(t)));
+        return bounds.toString();
+      default:
+        // primitives and void
+        return type.getKind().name().toLowerCase();
+    }
+  }
+}
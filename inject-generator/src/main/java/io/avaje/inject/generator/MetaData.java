@@ -55,6 +55,31 @@ final class MetaData implements Comparable<MetaData> {
   private final Set<String> externalDependencies = new HashSet<>();
   private boolean importedComponent;
 
+  /**
+   * The consolidated class with the build methods, null when built via the $DI class.
+   */
+  private String buildClass;
+
+  /**
+   * The dependencies passed directly with directWiring, null when the bean is not built directly.
+   */
+  private List<String> directDependencies;
+
+  /**
+   * The field and method injection dependencies, null when the bean was not read in this round.
+   */
+  private List<Dependency> injectDependsOn;
+
+  /**
+   * True when the bean has lifecycle methods or observes events.
+   */
+  private boolean lifecycle;
+
+  /**
+   * True when the bean is not reachable from the roots and so is not built.
+   */
+  private boolean unreachable;
+
   MetaData(DependencyMetaPrism meta) {
     this.type = meta.type();
     this.name = trimName(meta.name());
@@ -65,6 +90,7 @@ final class MetaData implements Comparable<MetaData> {
     this.provides = Util.addQualifierSuffix(meta.provides(), name);
     this.autoProvides = Util.addQualifierSuffix(meta.autoProvides(), name);
     this.importedComponent = meta.importedComponent();
+    this.buildClass = meta.buildClass().isEmpty() ? null : meta.buildClass();
     this.key = createKey();
     this.buildName = createBuildName();
   }
@@ -79,6 +105,7 @@ final class MetaData implements Comparable<MetaData> {
     this.shortType = Util.shortName(type);
     this.provides = new ArrayList<>();
     this.dependsOn = new ArrayList<>();
+    this.injectDependsOn = List.of();
     this.method = method;
     this.key = createKey();
     this.buildName = createBuildName();
@@ -101,6 +128,17 @@ final class MetaData implements Comparable<MetaData> {
     return generateProxy;
   }
 
+  void setUnreachable() {
+    this.unreachable = true;
+  }
+
+  /**
+   * Return true if the bean is left out of the module build (but keeps its DependencyMeta).
+   */
+  boolean isUnreachable() {
+    return unreachable;
+  }
+
   private String trimName(String name) {
     if (name == null || name.isEmpty()) {
       return null;
@@ -167,6 +205,14 @@ final class MetaData implements Comparable<MetaData> {
     this.autoProvides = beanReader.autoProvides();
     this.generateProxy = beanReader.isGenerateProxy();
     this.importedComponent = beanReader.importedComponent();
+    this.directDependencies = beanReader.directDependencies();
+    this.injectDependsOn = beanReader.injectDependsOn();
+    this.buildClass = beanReader.buildClass();
+    this.lifecycle = beanReader.hasLifecycleMethods() || !beanReader.observerMethods().isEmpty();
+  }
+
+  List<String> directDependencies() {
+    return directDependencies;
   }
 
   String name() {
@@ -207,7 +253,7 @@ final class MetaData implements Comparable<MetaData> {
   void addImportTypes(Set<String> importTypes) {
     if (hasMethod()) {
       importTypes.add(Util.classOfMethod(method));
-    } else if (!generateProxy) {
+    } else if (!generateProxy && buildClass == null) {
       if (importedComponent) {
         String packageName;
         if (typeElement(type).getNestingKind().isNested()) {
@@ -243,7 +289,8 @@ final class MetaData implements Comparable<MetaData> {
         || hasProvidesAspect
         || hasDependsOn
         || hasProvides
-        || hasAutoProvides) {
+        || hasAutoProvides
+        || buildClass != null) {
       append.eol().append(INDENT);
     }
 
@@ -254,6 +301,9 @@ final class MetaData implements Comparable<MetaData> {
     if (importedComponent) {
       append.append(",").eol().append("      importedComponent = true");
     }
+    if (buildClass != null) {
+      append.append(",").eol().append("      buildClass = \"").append(buildClass).append("\"");
+    }
     if (hasMethod) {
       append.append(",").eol().append("      method = \"").append(method).append("\"");
     }
@@ -272,6 +322,9 @@ final class MetaData implements Comparable<MetaData> {
     append.append("  private void build_").append(buildName()).append("(Builder builder) {").append(NEWLINE);
     if (hasMethod()) {
       append.append("    ").append(Util.shortMethod(method)).append("(builder");
+    } else if (buildClass != null) {
+      // consolidated, fully qualified as the class names of different packages can clash
+      append.append("    ").append(buildClass).append(".build_").append(shortType).append("(builder");
     } else {
       append.append("    ").append(fullyQualify ? type : shortType).append(Constants.DI).append(".build(builder");
     }
@@ -280,6 +333,25 @@ final class MetaData implements Comparable<MetaData> {
     append.eol();
   }
 
+  /**
+   * Append the call that builds the bean passing the dependencies directly.
+   */
+  void buildDirectCall(Append append, String indent, boolean fullyQualify, String local, List<String> args) {
+    append.append(indent);
+    if (local != null) {
+      append.append("var %s = ", local);
+    }
+    if (buildClass != null) {
+      append.append(buildClass).append(".buildDirect_").append(shortType).append("(builder");
+    } else {
+      append.append(fullyQualify ? type : shortType).append(Constants.DI).append(".buildDirect(builder");
+    }
+    for (final String arg : args) {
+      append.append(", ").append(arg);
+    }
+    append.append(");").eol();
+  }
+
   private boolean hasMethod() {
     return method != null && !method.isEmpty();
   }
@@ -329,6 +401,42 @@ final class MetaData implements Comparable<MetaData> {
     this.providesAspect = providesAspect;
   }
 
+  void setLifecycle(boolean lifecycle) {
+    this.lifecycle = lifecycle;
+  }
+
+  /**
+   * Return the field and method injection dependencies or null when not known (incremental compile).
+   */
+  List<Dependency> injectDependsOn() {
+    return injectDependsOn;
+  }
+
+  /**
+   * Return true if this bean is always built when removing unreachable beans. That is, it
+   * provides one of the root types, has lifecycle methods or observes events, or is a void
+   * factory method.
+   */
+  boolean isEntryPoint(Set<String> roots) {
+    if (lifecycle || Util.isVoid(type) || roots.contains(rootType(type))) {
+      return true;
+    }
+    for (String provide : provides) {
+      if (roots.contains(rootType(provide))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Return the type without generic parameters and qualifier name using '.' for nested types.
+   */
+  private static String rootType(String type) {
+    final int pos = type.indexOf(':');
+    return Util.trimGenerics(pos == -1 ? type : type.substring(0, pos)).replace('$', '.');
+  }
+
   /**
    * This depends on a dependency that comes from another module in the classpath.
    */
@@ -1,6 +1,7 @@
 package io.avaje.inject.generator;
 
 import static io.avaje.inject.generator.APContext.logError;
+import static io.avaje.inject.generator.APContext.logNote;
 import static io.avaje.inject.generator.APContext.logWarn;
 import static io.avaje.inject.generator.ProcessingContext.elementMaybe;
 import static io.avaje.inject.generator.ProcessingContext.externallyProvided;
@@ -243,6 +244,73 @@ final class MetaDataOrdering {
     return autoRequiresAspects;
   }
 
+  /**
+   * Mark the beans that are not reachable from the entry points returning the unreachable beans.
+   * <p>
+   * The beans that are entry points (provide a root type, have lifecycle methods or observe
+   * events) are kept along with all the beans they transitively depend on, including field
+   * and method injection. Nothing is removed when some beans were not read in this round
+   * (incremental compile) as their injection dependencies are not known.
+   * <p>
+   * The unreachable beans are left out of the module build but keep their DependencyMeta such
+   * that a later incremental compile still has them.
+   */
+  List<MetaData> removeUnreachable(Set<String> entryPoints) {
+    for (MetaData metaData : orderedList) {
+      if (metaData.injectDependsOn() == null) {
+        logNote("Not removing unreachable beans as %s was not read in this compilation", metaData);
+        return List.of();
+      }
+    }
+    final Map<String, Set<MetaData>> rawProviders = DirectWiring.providers(orderedList);
+    final Set<MetaData> reachable = Collections.newSetFromMap(new IdentityHashMap<>());
+    final Deque<MetaData> pending = new ArrayDeque<>();
+    for (MetaData metaData : orderedList) {
+      if (metaData.isEntryPoint(entryPoints)) {
+        reachable.add(metaData);
+        pending.add(metaData);
+      }
+    }
+    while (!pending.isEmpty()) {
+      final MetaData metaData = pending.poll();
+      reach(metaData.dependsOn(), rawProviders, reachable, pending);
+      reach(metaData.injectDependsOn(), rawProviders, reachable, pending);
+    }
+    final List<MetaData> removed = new ArrayList<>();
+    for (MetaData metaData : orderedList) {
+      if (!reachable.contains(metaData)) {
+        metaData.setUnreachable();
+        removed.add(metaData);
+      }
+    }
+    return removed;
+  }
+
+  private void reach(List<Dependency> dependsOn, Map<String, Set<MetaData>> rawProviders, Set<MetaData> reachable, Deque<MetaData> pending) {
+    for (Dependency dependency : dependsOn) {
+      for (MetaData provider : dependencyProviders(dependency.name(), rawProviders)) {
+        if (reachable.add(provider)) {
+          pending.add(provider);
+        }
+      }
+    }
+  }
+
+  /**
+   * Return the beans that can provide the dependency. When there is no exact match this is
+   * all the beans that provide the raw type ignoring the generic parameters and qualifier.
+   */
+  private Collection<MetaData> dependencyProviders(String dependencyName, Map<String, Set<MetaData>> rawProviders) {
+    final String name = Util.unwrapProvider(dependencyName);
+    final ProviderList providerList = providers.get(name);
+    if (providerList != null && !providerList.list.isEmpty()) {
+      return providerList.list;
+    }
+    final int pos = name.indexOf(':');
+    final String rawType = Util.trimGenerics(pos == -1 ? name : name.substring(0, pos));
+    return rawProviders.getOrDefault(rawType, Set.of());
+  }
+
   List<MetaData> ordered() {
     return orderedList;
   }
@@ -0,0 +1,108 @@
+package io.avaje.inject.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Splits the generated module code into chunks that stay under a bytecode budget.
+ * <p>
+ * Methods larger than the HotSpot HugeMethodLimit (8000 bytes) are never JIT compiled and
+ * methods can not exceed 64KB, so for modules with a large number of beans the build method
+ * and the array methods are split into nested classes. The budget is set via the annotation
+ * processor option {@code methodBudget}. The bytecode sizes used are conservative estimates.
+ */
+final class MethodBudget {
+
+  static final int HUGE_METHOD_LIMIT = 8000;
+
+  /**
+   * Bytes reserved for the method prologue, return etc.
+   */
+  private static final int RESERVED = 32;
+
+  /**
+   * Bytes for an array element (dup, sipush, ldc_w, aastore).
+   */
+  private static final int ARRAY_ELEMENT = 8;
+
+  /**
+   * Additional bytes for an array element that creates an instance (new, dup, invokespecial).
+   */
+  private static final int ARRAY_ELEMENT_NEW = 7;
+
+  private MethodBudget() {
+  }
+
+  /**
+   * Split the items into chunks with the estimated bytecode size of each chunk under the budget.
+   */
+  static <T> List<List<T>> chunk(List<T> items, ToIntFunction<T> size) {
+    final int budget = Math.max(ProcessingContext.methodBudget() - RESERVED, 1);
+    final List<List<T>> chunks = new ArrayList<>();
+    List<T> chunk = new ArrayList<>();
+    int chunkSize = 0;
+    for (final T item : items) {
+      final int itemSize = size.applyAsInt(item);
+      if (!chunk.isEmpty() && chunkSize + itemSize > budget) {
+        chunks.add(chunk);
+        chunk = new ArrayList<>();
+        chunkSize = 0;
+      }
+      chunk.add(item);
+      chunkSize += itemSize;
+    }
+    if (!chunk.isEmpty() || chunks.isEmpty()) {
+      chunks.add(chunk);
+    }
+    return chunks;
+  }
+
+  /**
+   * Write the method that returns an array of types or class literals.
+   * <p>
+   * When the array is over budget it is initialised in nested classes and the method
+   * returns the values of those arrays combined.
+   */
+  static void writeArrayMethod(Append writer, String arrayType, String methodName, List<String> values) {
+    final List<List<String>> chunks = chunk(values, MethodBudget::arrayElementSize);
+    writer.append("  @Override").eol();
+    writer.append("  public %s[] %s() {", arrayType, methodName).eol();
+    if (chunks.size() == 1) {
+      writer.append("    return new %s[] {", arrayType).eol();
+      writeValues(writer, "      ", values);
+      writer.append("    };").eol();
+      writer.append("  }").eol().eol();
+      return;
+    }
+    final String holder = "$" + Character.toUpperCase(methodName.charAt(0)) + methodName.substring(1);
+    writer.append("    return java.util.stream.Stream.of(");
+    for (int i = 0; i < chunks.size(); i++) {
+      if (i > 0) {
+        writer.append(", ");
+      }
+      writer.append("%s%s.VALUES", holder, i);
+    }
+    writer.append(")").eol();
+    writer.append("      .flatMap(java.util.Arrays::stream)").eol();
+    writer.append("      .toArray(%s[]::new);", arrayType).eol();
+    writer.append("  }").eol().eol();
+    for (int i = 0; i < chunks.size(); i++) {
+      writer.append("  private static final class %s%s {", holder, i).eol();
+      writer.append("    static final %s[] VALUES = {", arrayType).eol();
+      writeValues(writer, "      ", chunks.get(i));
+      writer.append("    };").eol();
+      writer.append("  }").eol().eol();
+    }
+  }
+
+  private static void writeValues(Append writer, String indent, List<String> values) {
+    for (final String value : values) {
+      writer.append(indent).append(value).append(",").eol();
+    }
+  }
+
+  private static int arrayElementSize(String value) {
+    return value.startsWith("new ") ? ARRAY_ELEMENT + ARRAY_ELEMENT_NEW : ARRAY_ELEMENT;
+  }
+}
@@ -27,6 +27,7 @@ final class MethodReader {
   private final boolean primary;
   private final boolean secondary;
   private final boolean lazy;
+  private final LazyProxy lazyProxy;
   private final String returnTypeRaw;
   private final UType genericType;
   private final String shortName;
@@ -115,6 +116,9 @@ final class MethodReader {
     if (lazy && prototype) {
       APContext.logError("Cannot use both @Lazy and @Prototype");
     }
+    this.lazyProxy = lazy && !prototype && !optionalType && !multiRegister
+      ? LazyProxy.ofFactoryMethod(returnMirror, APContext.elements().getPackageOf(beanType).getQualifiedName().toString())
+      : null;
   }
 
   private String defaultDestroyMethod(String destroyMethod) {
@@ -196,6 +200,7 @@ final class MethodReader {
         ? List.of()
         : Util.addQualifierSuffix(typeReader.autoProvides(), name));
     metaData.setProvidesAspect(typeReader == null ? "" : typeReader.providesAspect());
+    metaData.setLifecycle(hasLifecycleMethods());
     return metaData;
   }
 
@@ -252,7 +257,7 @@ final class MethodReader {
       writer.append(".asSecondary()");
     }
 
-    writer.indent(".registerProvider(() -> {").eol();
+    writer.indent(lazyProxy == null ? ".registerProvider(() -> {" : ".registerLazyProxy(() -> {").eol();
 
     startTry(writer, "  ");
     writer.indent(indent).append("  return ");
@@ -265,7 +270,11 @@ final class MethodReader {
     }
     writer.append(");").eol();
     endTry(writer, "  ");
-    writer.indent(indent).append("  });").eol();
+    if (lazyProxy == null) {
+      writer.indent(indent).append("  });").eol();
+    } else {
+      writer.indent(indent).append("  }, %s);", lazyProxy.constructorRef()).eol();
+    }
     writer.indent(indent).append("}").eol();
   }
 
@@ -319,15 +328,15 @@ final class MethodReader {
       if (notEmpty(destroyMethod)) {
         var addPreDestroy =
           multiRegister
-            ? "    .forEach($bean -> builder.addPreDestroy(%s%s));"
-            : "builder.addPreDestroy(%s%s);";
+            ? "    .forEach($bean -> builder.addPreDestroy($bean, %s%s));"
+            : "builder.addPreDestroy($bean, %s%s);";
         writer.indent(indent).append(addPreDestroy, addPreDestroy(destroyMethod), priority).eol();
 
       } else if (isCloseable && !priority.isBlank()) {
         var addPreDestroy =
           multiRegister
-            ? "    .forEach($bean -> builder.addPreDestroy($bean::close%s));"
-            : "builder.addPreDestroy($bean::close%s);";
+            ? "    .forEach($bean -> builder.addPreDestroy($bean, $bean::close%s));"
+            : "builder.addPreDestroy($bean, $bean::close%s);";
         writer.indent(indent).append(addPreDestroy, priority).eol();
 
       } else if (isCloseable || beanCloseable) {
@@ -481,6 +490,10 @@ final class MethodReader {
     return lazy;
   }
 
+  LazyProxy lazyProxy() {
+    return lazyProxy;
+  }
+
   boolean isUseProviderForSecondary() {
     return secondary && !optionalType && !Util.isProvider(returnTypeRaw);
   }
@@ -609,6 +622,29 @@ final class MethodReader {
       writer.append(")");
     }
 
+    /**
+     * Return true if the dependency can be passed directly with directWiring.
+     */
+    boolean isDirect() {
+      return utilType.isOther()
+        && !nullable
+        && !isBeanMap
+        && !isAssisted
+        && !isObserveEvent
+        && !genericType.isGeneric();
+    }
+
+    /**
+     * Return the dependency type with qualifier name matched against the beans of the module.
+     */
+    String directKey() {
+      return Util.addQualifierSuffixTrim(named, paramType);
+    }
+
+    void writeDirectParam(Append writer, String name) {
+      writer.append(Util.shortName(genericType.mainType())).append(" ").append(name);
+    }
+
     private boolean isWildcard() {
       return genericType.isGeneric()
         && genericType.componentTypes().stream().allMatch(g -> g.kind() == TypeKind.WILDCARD);
@@ -0,0 +1,199 @@
+package io.avaje.inject.generator;
+
+import static io.avaje.inject.generator.APContext.elements;
+import static io.avaje.inject.generator.APContext.filer;
+import static io.avaje.inject.generator.APContext.logNote;
+import static io.avaje.inject.generator.APContext.logWarn;
+import static io.avaje.inject.generator.APContext.types;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.processing.FilerException;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.StandardLocation;
+
+/**
+ * Write the GraalVM native-image reflect-config.json and resource-config.json of the module.
+ * <p>
+ * The reflection metadata is limited to what avaje-inject uses reflectively at runtime being
+ * the no-arg constructors of the services (modules and plugins), the aspect methods looked up
+ * by the generated $Proxy classes, the {@code value()} method of priority annotations and the
+ * bean classes that have runtime type annotations (for listByPriority and listByAnnotation).
+ * <p>
+ * Each reflect-config entry is written on its own line so that the entries of beans not in an
+ * incremental compilation can be read back and kept.
+ */
+final class NativeImageWriter {
+
+  private static final String ROOT = "META-INF/native-image/io.avaje.inject/";
+  private static final Pattern ENTRY_NAME = Pattern.compile("^\\s*\\{\"name\":\"([^\"]+)\"");
+
+  /** Type name to the method entries, an empty set for the type only. */
+  private final Map<String, Set<String>> reflect = new TreeMap<>();
+
+  void addConstructor(String type) {
+    addMethod(type, "<init>", List.of());
+  }
+
+  void addType(String type) {
+    reflect.computeIfAbsent(type, k -> new TreeSet<>());
+  }
+
+  void addMethod(String type, String method, List<String> parameterTypes) {
+    final var sb = new StringBuilder();
+    sb.append("{\"name\":\"").append(method).append("\",\"parameterTypes\":[");
+    for (int i = 0; i < parameterTypes.size(); i++) {
+      if (i > 0) {
+        sb.append(",");
+      }
+      sb.append("\"").append(parameterTypes.get(i)).append("\"");
+    }
+    sb.append("]}");
+    reflect.computeIfAbsent(type, k -> new TreeSet<>()).add(sb.toString());
+  }
+
+  /**
+   * Add the reflection used at runtime for the bean.
+   */
+  void addBean(BeanReader bean) {
+    final TypeElement beanType = bean.beanType();
+    final String typeName = binaryName(beanType.asType());
+    final String runtimeType = bean.isGenerateProxy() ? typeName + "$Proxy" : typeName;
+    if (bean.isGenerateProxy()) {
+      for (final AspectMethod method : bean.aspects().methods()) {
+        addMethod(typeName, method.simpleName(), method.parameterTypes());
+      }
+    }
+    for (final AnnotationMirror annotation : beanType.getAnnotationMirrors()) {
+      final var annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+      if (!isRuntime(annotationType) || isInjectAnnotation(annotationType)) {
+        continue;
+      }
+      addType(runtimeType);
+      if (bean.isGenerateProxy()) {
+        // annotations marked @Inherited are found via the superclass
+        addType(typeName);
+      }
+      if (annotationType.getSimpleName().contentEquals("Priority")) {
+        addMethod(binaryName(annotationType.asType()), "value", List.of());
+      }
+    }
+  }
+
+  private static boolean isRuntime(TypeElement annotationType) {
+    final Retention retention = annotationType.getAnnotation(Retention.class);
+    return retention != null && retention.value() == RetentionPolicy.RUNTIME;
+  }
+
+  private static boolean isInjectAnnotation(TypeElement annotationType) {
+    final String name = annotationType.getQualifiedName().toString();
+    return name.startsWith("jakarta.inject.")
+      || name.startsWith("javax.inject.")
+      || name.startsWith("io.avaje.inject.") && !name.equals(Constants.PRIORITY);
+  }
+
+  /**
+   * Return the binary name of the erased type as used by Class.getName().
+   */
+  static String binaryName(TypeMirror type) {
+    final TypeMirror erased = types().erasure(type);
+    if (erased.getKind() == TypeKind.ARRAY) {
+      return binaryName(((ArrayType) erased).getComponentType()) + "[]";
+    }
+    if (erased.getKind() == TypeKind.DECLARED) {
+      return elements().getBinaryName((TypeElement) ((DeclaredType) erased).asElement()).toString();
+    }
+    return erased.toString();
+  }
+
+  /**
+   * Write the config files to the native-image directory named after the module.
+   */
+  void write(String moduleName, Set<String> services) {
+    for (final String service : services) {
+      addConstructor(service);
+    }
+    if (reflect.isEmpty()) {
+      return;
+    }
+    final String dir = ROOT + moduleName + "/";
+    readExisting(dir + "reflect-config.json");
+    try {
+      final var reflectWriter = new Append(filer().createResource(StandardLocation.CLASS_OUTPUT, "", dir + "reflect-config.json").openWriter());
+      reflectWriter.append("[").eol();
+      int count = 0;
+      for (final Map.Entry<String, Set<String>> entry : reflect.entrySet()) {
+        if (count++ > 0) {
+          reflectWriter.append(",").eol();
+        }
+        reflectWriter.append("  {\"name\":\"%s\"", entry.getKey());
+        if (!entry.getValue().isEmpty()) {
+          reflectWriter.append(",\"methods\":[%s]", String.join(",", entry.getValue()));
+        }
+        reflectWriter.append("}");
+      }
+      reflectWriter.eol().append("]").eol();
+      reflectWriter.close();
+
+      final var resourceWriter = new Append(filer().createResource(StandardLocation.CLASS_OUTPUT, "", dir + "resource-config.json").openWriter());
+      resourceWriter.append("{").eol();
+      resourceWriter.append("  \"resources\": {").eol();
+      resourceWriter.append("    \"includes\": [").eol();
+      resourceWriter.append("      {\"pattern\":\"\\\\Q%s\\\\E\"}", Constants.META_INF_SPI).eol();
+      resourceWriter.append("    ]").eol();
+      resourceWriter.append("  }").eol();
+      resourceWriter.append("}").eol();
+      resourceWriter.close();
+    } catch (FilerException e) {
+      logNote("FilerException writing native-image config %s", e.getMessage());
+    } catch (IOException e) {
+      logWarn("Failed to write native-image config %s", e.getMessage());
+    }
+  }
+
+  /**
+   * Keep the existing entries for types not processed in this (incremental) compilation.
+   */
+  private void readExisting(String path) {
+    try (final var reader = new BufferedReader(new InputStreamReader(
+      filer().getResource(StandardLocation.CLASS_OUTPUT, "", path).openInputStream(), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        final Matcher matcher = ENTRY_NAME.matcher(line);
+        if (matcher.find() && !reflect.containsKey(matcher.group(1))) {
+          final Set<String> methods = reflect.computeIfAbsent(matcher.group(1), k -> new TreeSet<>());
+          final int start = line.indexOf("\"methods\":[");
+          if (start > -1) {
+            final String body = line.substring(start + 11, line.lastIndexOf(']'));
+            for (final String method : body.split("(?<=]}),")) {
+              methods.add(method);
+            }
+          }
+        }
+      }
+    } catch (FileNotFoundException | NoSuchFileException | IllegalArgumentException e) {
+      // no existing config
+    } catch (IOException e) {
+      logNote("Unable to read existing native-image config %s", e.getMessage());
+    }
+  }
+}
@@ -44,6 +44,8 @@ final class ProcessingContext {
     private final Set<String> uniqueModuleNames = new HashSet<>();
     private final Set<String> providedTypes = new HashSet<>();
     private final Map<String, String> importedProtoTypes = new HashMap<>();
+    private final Map<String, String> lazyProxies = new HashMap<>();
+    private final Set<String> lazyProxiesWritten = new HashSet<>();
     private final Set<String> optionalTypes = new LinkedHashSet<>();
     private final Map<String, AspectImportPrism> aspectImportPrisms = new HashMap<>();
     private final List<ModuleData> modules = new ArrayList<>();
@@ -52,7 +54,13 @@ final class ProcessingContext {
     private final Set<String> externalSpi = new TreeSet<>();
     private final AllScopes scopes = new AllScopes();
     private boolean strictWiring;
+    private boolean directWiring;
+    private boolean deferredModule;
+    private boolean lazyAll;
     private final boolean mergeServices = APContext.getOption("mergeServices").map(Boolean::valueOf).orElse(true);
+    private final int methodBudget = APContext.getOption("methodBudget").map(Integer::valueOf).orElse(MethodBudget.HUGE_METHOD_LIMIT);
+    private final NativeImageWriter nativeImage =
+      APContext.getOption("nativeImage").map(Boolean::valueOf).orElse(true) ? new NativeImageWriter() : null;
 
     void registerProvidedTypes(Set<String> moduleFileProvided) {
       ExternalProvider.registerModuleProvidedTypes(providedTypes);
@@ -170,6 +178,20 @@ final class ProcessingContext {
     return CTX.get().providedTypes.contains(type) || CTX.get().optionalTypes.contains(type);
   }
 
+  /**
+   * Register the lazy proxy for the type returning the type previously registered for the proxy.
+   */
+  static String addLazyProxy(String proxyType, String type) {
+    return CTX.get().lazyProxies.putIfAbsent(proxyType, type);
+  }
+
+  /**
+   * Return true if the lazy proxy has not already been written.
+   */
+  static boolean addLazyProxyWritten(String proxyType) {
+    return CTX.get().lazyProxiesWritten.add(proxyType);
+  }
+
   static void addOptionalType(String paramType, String name) {
     if (!CTX.get().providedTypes.contains(paramType)) {
       CTX.get().optionalTypes.add(Util.addQualifierSuffixTrim(name, ProcessorUtils.trimAnnotations(paramType)));
@@ -246,10 +268,65 @@ final class ProcessingContext {
     return CTX.get().strictWiring;
   }
 
+  static void directWiring(boolean directWiring) {
+    CTX.get().directWiring = directWiring;
+  }
+
+  static boolean directWiring() {
+    return CTX.get().directWiring;
+  }
+
+  static void deferredModule(boolean deferredModule) {
+    CTX.get().deferredModule = deferredModule;
+  }
+
+  static boolean deferredModule() {
+    return CTX.get().deferredModule;
+  }
+
+  static void lazyAll(boolean lazyAll) {
+    CTX.get().lazyAll = lazyAll;
+  }
+
+  static boolean lazyAll() {
+    return CTX.get().lazyAll;
+  }
+
+  /**
+   * Return the bytecode size that generated module methods are split to stay under.
+   */
+  static int methodBudget() {
+    return CTX.get().methodBudget;
+  }
+
   static void processingOver(boolean over) {
     processingOver = over;
   }
 
+  /**
+   * Register the reflection the bean uses at runtime for the native-image config.
+   */
+  static void addNativeImage(BeanReader beanReader) {
+    final var nativeImage = CTX.get().nativeImage;
+    if (nativeImage != null) {
+      nativeImage.addBean(beanReader);
+    }
+  }
+
+  /**
+   * Write the native-image config for the services and beans of this compilation.
+   */
+  static void writeNativeImage(String moduleName) {
+    final var nativeImage = CTX.get().nativeImage;
+    if (nativeImage == null || CTX.get().spiServices.isEmpty()) {
+      return;
+    }
+    if (moduleName == null) {
+      moduleName = CTX.get().spiServices.iterator().next();
+    }
+    nativeImage.write(moduleName, CTX.get().spiServices);
+  }
+
   static void writeSPIServicesFile() {
     readExistingMetaInfServices();
     if (CTX.get().spiServices.isEmpty()) {
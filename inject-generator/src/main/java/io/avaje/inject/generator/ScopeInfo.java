@@ -18,6 +18,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 import javax.annotation.processing.FilerException;
@@ -63,6 +64,8 @@ final class ScopeInfo {
   private final Set<String> pluginProvided = new HashSet<>();
   private final Set<String> requires = new LinkedHashSet<>();
   private final Set<String> provides = new LinkedHashSet<>();
+  private final Set<String> roots = new LinkedHashSet<>();
+  private int consolidateBeans;
   private final Set<String> requiresPackages = new LinkedHashSet<>();
   private final List<String> requirePkg = new ArrayList<>();
   private final boolean defaultScope;
@@ -128,8 +131,10 @@ final class ScopeInfo {
       return;
     }
     ignoreSingleton = injectModule.ignoreSingleton();
+    consolidateBeans = injectModule.consolidateBeans();
     injectModule.requires().stream().map(Object::toString).forEach(requires::add);
     injectModule.provides().stream().map(Object::toString).forEach(provides::add);
+    injectModule.roots().stream().map(Object::toString).forEach(roots::add);
     injectModule.requiresPackages().stream()
         .map(Object::toString)
         .forEach(
@@ -210,8 +215,38 @@ final class ScopeInfo {
     return List.copyOf(depScopes);
   }
 
-  void writeBeanHelpers() {
+  /**
+   * Group the beans not yet written into consolidated classes (InjectModule consolidateBeans).
+   */
+  private List<ConsolidatedBeanWriter> consolidateBeans() {
+    if (consolidateBeans < 1) {
+      return List.of();
+    }
+    final Map<String, List<BeanReader>> byPackage = new TreeMap<>();
+    for (BeanReader beanReader : beanReaders) {
+      if (!beanReader.isWrittenToFile() && beanReader.isConsolidateEligible()) {
+        byPackage.computeIfAbsent(beanReader.packageName(), k -> new ArrayList<>()).add(beanReader);
+      }
+    }
+    final List<ConsolidatedBeanWriter> consolidated = new ArrayList<>();
+    for (List<BeanReader> beans : byPackage.values()) {
+      consolidated.addAll(ConsolidatedBeanWriter.group(beans, consolidateBeans));
+    }
+    return consolidated;
+  }
+
+  void writeBeanHelpers(List<ConsolidatedBeanWriter> consolidated) {
+    for (ConsolidatedBeanWriter writer : consolidated) {
+      try {
+        writer.write();
+      } catch (FilerException e) {
+        logWarn("FilerException to write $DI class %s %s", writer, e.getMessage());
+      } catch (IOException e) {
+        logError("Failed to write $DI class %s %s", writer, e);
+      }
+    }
     for (BeanReader beanReader : beanReaders) {
+      ProcessingContext.addNativeImage(beanReader);
       try {
         if (!beanReader.isWrittenToFile()) {
           if (beanReader.isGenerateProxy()) {
@@ -271,6 +306,8 @@ final class ScopeInfo {
 
     if (remaining > 0) {
       ordering.logWarnings();
+    } else if (!roots.isEmpty()) {
+      removeUnreachable(ordering);
     }
     try {
       SimpleModuleWriter factoryWriter = new SimpleModuleWriter(ordering, this);
@@ -283,6 +320,21 @@ final class ScopeInfo {
     }
   }
 
+  /**
+   * Leave the beans that are not reachable from the roots out of the module build.
+   */
+  private void removeUnreachable(MetaDataOrdering ordering) {
+    final Set<String> entryPoints = new LinkedHashSet<>(roots);
+    entryPoints.addAll(provides);
+    final List<MetaData> removed = ordering.removeUnreachable(entryPoints);
+    for (MetaData metaData : removed) {
+      logNote("Removed unreachable bean %s from module %s", metaData, moduleFullName);
+    }
+    if (!removed.isEmpty()) {
+      logNote("Removed %s unreachable beans from module %s", removed.size(), moduleFullName);
+    }
+  }
+
   /**
    * Return the type of this scope.
    */
@@ -378,8 +430,9 @@ final class ScopeInfo {
   }
 
   void write(boolean processingOver) {
+    final List<ConsolidatedBeanWriter> consolidated = consolidateBeans();
     mergeMetaData();
-    writeBeanHelpers();
+    writeBeanHelpers(consolidated);
     initialiseModule();
     if (processingOver && !metaData.isEmpty()) {
       ProcessingContext.registerExternalProvidedTypes(this);
@@ -440,10 +493,8 @@ final class ScopeInfo {
   }
 
   private void buildProvidesMethod(Append writer, String fieldName, Set<String> types) {
-    writer.append("  @Override").eol();
     final var arrayType = fieldName.contains("Aspects") ? "Class<?>" : "Type";
-    writer.append("  public %s[] %s() {", arrayType, fieldName).eol();
-    writer.append("    return new %s[] {", arrayType).eol();
+    final List<String> values = new ArrayList<>(types.size());
     for (final String rawType : types) {
 
       if (rawType.contains(":")) {
@@ -451,13 +502,12 @@ final class ScopeInfo {
       }
 
       if (rawType.contains("<")) {
-        writer.append("      new GenericType<%s>(){},", rawType).eol();
+        values.add("new GenericType<" + rawType + ">(){}");
       } else {
-        writer.append("      %s.class,", rawType).eol();
+        values.add(rawType + ".class");
       }
     }
-    writer.append("    };").eol();
-    writer.append("  }").eol().eol();
+    MethodBudget.writeArrayMethod(writer, arrayType, fieldName, values);
   }
 
   void buildAutoProvides(Append writer, Set<String> autoProvides) {
@@ -43,7 +43,7 @@ final class SimpleBeanProxyWriter {
 
   private void writeMethods() {
     for (AspectMethod method : aspects.methods()) {
-      method.writeMethod(writer);
+      method.writeMethod(writer, shortName + suffix);
     }
   }
 
@@ -14,6 +14,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.StringJoiner;
 
 import javax.lang.model.type.TypeKind;
 import javax.tools.JavaFileObject;
@@ -31,15 +32,34 @@ final class SimpleBeanWriter {
   private final String packageName;
   private final String suffix;
   private final boolean proxied;
+  private final String methodSuffix;
+  private final Set<String> typeFields;
   private Append writer;
 
   SimpleBeanWriter(BeanReader beanReader) {
+    this(beanReader, "", new HashSet<>());
+  }
+
+  /**
+   * Create to write the build methods of the bean into a consolidated class.
+   *
+   * @param writer     The writer of the consolidated class
+   * @param typeFields The generic type fields already written to the consolidated class
+   */
+  SimpleBeanWriter(BeanReader beanReader, Append writer, Set<String> typeFields) {
+    this(beanReader, "_" + ConsolidatedBeanWriter.methodSuffix(beanReader), typeFields);
+    this.writer = writer;
+  }
+
+  private SimpleBeanWriter(BeanReader beanReader, String methodSuffix, Set<String> typeFields) {
     this.beanReader = beanReader;
     this.packageName = beanReader.packageName();
     this.shortName = beanReader.shortName();
     this.suffix = beanReader.suffix();
     this.proxied = beanReader.isGenerateProxy();
     this.originName = packageName + "." + shortName;
+    this.methodSuffix = methodSuffix;
+    this.typeFields = typeFields;
   }
 
   private Writer createFileWriter() throws IOException {
@@ -61,10 +81,33 @@ final class SimpleBeanWriter {
     } else {
       writeGenericTypeFields();
       writeStaticFactoryMethod();
+      writeStaticDirectMethod();
       writeStaticFactoryBeanMethods();
     }
     writeClassEnd();
     writer.close();
+    writeLazyProxies();
+  }
+
+  /**
+   * Write the build methods of the bean into the consolidated class.
+   */
+  void writeConsolidated() {
+    writeGenericTypeFields();
+    writeStaticFactoryMethod();
+    writeStaticDirectMethod();
+    writeStaticFactoryBeanMethods();
+  }
+
+  void writeLazyProxies() {
+    if (beanReader.lazyProxy() != null) {
+      beanReader.lazyProxy().write();
+    }
+    for (MethodReader factoryMethod : beanReader.factoryMethods()) {
+      if (factoryMethod.lazyProxy() != null) {
+        factoryMethod.lazyProxy().write();
+      }
+    }
   }
 
   private void writeGenericTypeFields() {
@@ -77,7 +120,6 @@ final class SimpleBeanWriter {
 
     if (!genericTypes.isEmpty()) {
       final Map<String, String> seenShortNames = new HashMap<>();
-      final Set<String> writtenFields = new HashSet<>();
 
       for (final UType utype : genericTypes) {
         var type = Util.unwrapProvider(utype);
@@ -85,7 +127,7 @@ final class SimpleBeanWriter {
         final var components = type.componentTypes();
         if (components.size() == 1 && components.get(0).kind() == TypeKind.WILDCARD
             || components.stream().anyMatch(u -> u.kind() == TypeKind.TYPEVAR)
-            || !writtenFields.add(fieldName)) {
+            || !typeFields.add(fieldName)) {
           continue;
         }
 
@@ -171,14 +213,50 @@ final class SimpleBeanWriter {
     writer.append("  }").eol().eol();
   }
 
+  /**
+   * Build method used with directWiring that has the dependencies passed directly.
+   */
+  private void writeStaticDirectMethod() {
+    final List<MethodParam> params = beanReader.directParams();
+    if (params == null || proxied) {
+      return;
+    }
+    writer.append("  public static %s buildDirect%s(%s builder", shortName, methodSuffix, beanReader.builderType());
+    final var args = new StringJoiner(", ");
+    for (int i = 0; i < params.size(); i++) {
+      final String arg = "$d" + i;
+      writer.append(", ");
+      params.get(i).writeDirectParam(writer, arg);
+      args.add(arg);
+    }
+    writer.append(") {").eol();
+    beanReader.buildBeanAbsent(writer);
+    writer.append("      var bean = new %s(%s);", shortName, args).eol();
+    beanReader.buildRegisterDirect(writer, args.toString());
+    beanReader.addLifecycleCallbacks(writer, indent);
+    if (beanReader.isExtraInjectionRequired()) {
+      writeExtraInjection();
+    }
+    writeObserveMethods();
+    writer.append("      return $bean;").eol();
+    writer.append("    }").eol();
+    writer.append("    return null;").eol();
+    writer.append("  }").eol().eol();
+  }
+
   private void writeAddFor(MethodReader constructor) {
     beanReader.buildConditional(writer);
     beanReader.buildBeanAbsent(writer);
+    if (beanReader.isLazyAllEligible()) {
+      writeLazyAll(constructor);
+    }
     if (beanReader.registerProvider()) {
       indent += "  ";
 
       final String registerProvider;
-      if (beanReader.lazy()) {
+      if (beanReader.lazyProxy() != null) {
+        registerProvider = "registerLazyProxy";
+      } else if (beanReader.lazy()) {
         registerProvider = "registerProvider";
       } else {
         registerProvider = "asPrototype().registerProvider";
@@ -197,7 +275,7 @@ final class SimpleBeanWriter {
       beanReader.prototypePostConstruct(writer, indent);
       writer.indent("        return bean;").eol();
       if (!constructor.methodThrows()) {
-        writer.indent("      });").eol();
+        writer.indent("      }").append(lazyProxyRef()).append(");").eol();
       }
     }
     writeObserveMethods();
@@ -205,15 +283,43 @@ final class SimpleBeanWriter {
 
     if (beanReader.registerProvider() && constructor.methodThrows()) {
       writer.append("     }");
-      writer.append(");").eol();
+      writer.append(lazyProxyRef()).append(");").eol();
     }
 
     writer.append("    }");
     writer.eol();
   }
 
+  /**
+   * Write the registration of the singleton as a provider used when built with lazyAll.
+   */
+  private void writeLazyAll(MethodReader constructor) {
+    writer.append("      if (builder.isLazyAll()) {").eol();
+    writer.append("        builder.%sregisterProvider(() -> {", beanReader.registerPriority()).eol();
+    final String eagerIndent = indent;
+    if (!constructor.methodThrows()) {
+      // otherwise the try block adds the extra indent
+      indent += "    ";
+    }
+    constructor.startTry(writer, "    ");
+    writeCreateBean(constructor);
+    beanReader.postConstructCall(writer, indent);
+    beanReader.lazyAllPreDestroy(writer, indent);
+    writer.indent(indent).append(" return bean;").eol();
+    constructor.endTry(writer, "    ");
+    writer.append("        });").eol();
+    writer.append("        return;").eol();
+    writer.append("      }").eol();
+    indent = eagerIndent;
+  }
+
+  private String lazyProxyRef() {
+    final LazyProxy lazyProxy = beanReader.lazyProxy();
+    return lazyProxy == null ? "" : ", " + lazyProxy.constructorRef();
+  }
+
   private void writeBuildMethodStart() {
-    writer.append("  public static void build(%s builder) {", beanReader.builderType()).eol();
+    writer.append("  public static void build%s(%s builder) {", methodSuffix, beanReader.builderType()).eol();
   }
 
   private String indent = "     ";
@@ -322,7 +428,7 @@ final class SimpleBeanWriter {
   }
 
   private void writeMethodParams(String builderRef, MethodReader methodReader) {
-    List<MethodReader.MethodParam> methodParams = methodReader.params();
+    List<MethodParam> methodParams = methodReader.params();
     for (int i = 0; i < methodParams.size(); i++) {
       if (i > 0) {
         writer.append(", ");
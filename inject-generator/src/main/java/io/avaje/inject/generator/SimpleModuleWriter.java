@@ -56,6 +56,8 @@ final class SimpleModuleWriter {
   private final MetaDataOrdering ordering;
   private final Type scopeType;
   private final Set<String> duplicateTypes;
+  private final List<List<MetaData>> buildChunks;
+  private final List<DirectWiring> directWiring;
 
   private Append writer;
 
@@ -74,6 +76,49 @@ final class SimpleModuleWriter {
         .filter(t -> !seen.add(ProcessorUtils.shortType(t)))
         .flatMap(t -> Stream.of(t, t + "$DI"))
         .collect(toSet());
+    this.buildChunks = MethodBudget.chunk(buildBeans(), SimpleModuleWriter::buildSize);
+    this.directWiring = directWiring();
+  }
+
+  private List<MetaData> buildBeans() {
+    final List<MetaData> beans = new ArrayList<>();
+    for (MetaData metaData : ordering.ordered()) {
+      if (!metaData.isGenerateProxy() && !metaData.isUnreachable()) {
+        beans.add(metaData);
+      }
+    }
+    return beans;
+  }
+
+  /**
+   * Estimated bytecode size to build the bean. Calling build_X is 5 bytes and calling
+   * buildDirect allows for wide loads of the dependencies and store of the result.
+   */
+  private static int buildSize(MetaData metaData) {
+    final List<String> dependencies = metaData.directDependencies();
+    return dependencies == null ? 5 : 8 + 4 * dependencies.size();
+  }
+
+  /**
+   * Return the direct wiring of each build chunk or null when no dependencies are passed directly.
+   */
+  private List<DirectWiring> directWiring() {
+    if (scopeType != ScopeInfo.Type.DEFAULT || !ProcessingContext.directWiring()) {
+      return null;
+    }
+    final var providers = DirectWiring.providers(ordering.ordered());
+    final List<DirectWiring> chunks = new ArrayList<>(buildChunks.size());
+    boolean direct = false;
+    for (List<MetaData> chunk : buildChunks) {
+      final var directChunk = new DirectWiring(providers, chunk);
+      direct |= directChunk.hasDirect();
+      chunks.add(directChunk);
+    }
+    return direct ? chunks : null;
+  }
+
+  private boolean isChunked() {
+    return buildChunks.size() > 1;
   }
 
   void write() throws IOException {
@@ -87,9 +132,11 @@ final class SimpleModuleWriter {
       writeRequiredModules();
     }
     writeProvides();
+    writeDeferred();
     writeClassesMethod();
     writeBuildMethod();
     writeBuildMethods();
+    writeBuildChunks();
     writeEndClass();
     writer.close();
   }
@@ -187,6 +234,9 @@ final class SimpleModuleWriter {
     }
 
     for (MetaData metaData : ordering.ordered()) {
+      if (metaData.isUnreachable()) {
+        continue;
+      }
       final String aspect = metaData.providesAspect();
       if (aspect != null && !aspect.isEmpty()) {
         autoProvidesAspects.add(aspect);
@@ -221,16 +271,22 @@ final class SimpleModuleWriter {
     ProcessingContext.addModule(new ModuleData(fullName, provides, requires));
   }
 
+  private void writeDeferred() {
+    if (scopeType == ScopeInfo.Type.DEFAULT && ProcessingContext.deferredModule()) {
+      writer.append("  @Override").eol();
+      writer.append("  public boolean deferred() {").eol();
+      writer.append("    return true;").eol();
+      writer.append("  }").eol().eol();
+    }
+  }
+
   private void writeClassesMethod() {
     Set<String> allClasses = distinctPublicClasses();
-    writer.append("  @Override").eol();
-    writer.append("  public Class<?>[] classes() {").eol();
-    writer.append("    return new Class<?>[] {").eol();
+    List<String> values = new ArrayList<>(allClasses.size());
     for (String rawType : new TreeSet<>(allClasses)) {
-      writer.append("      %s.class,", rawType).eol();
+      values.add(rawType + ".class");
     }
-    writer.append("    };").eol();
-    writer.append("  }").eol().eol();
+    MethodBudget.writeArrayMethod(writer, "Class<?>", "classes", values);
   }
 
   /** Return the distinct set of public classes that are dependency types. */
@@ -238,7 +294,7 @@ final class SimpleModuleWriter {
     Set<String> publicClasses = new LinkedHashSet<>();
     for (MetaData metaData : ordering.ordered()) {
       String rawType = metaData.type();
-      if (!"void".equals(rawType) && !ProcessorUtils.isPrimitive(rawType)) {
+      if (!metaData.isUnreachable() && !"void".equals(rawType) && !ProcessorUtils.isPrimitive(rawType)) {
 
         String type = Util.trimGenerics(rawType);
         TypeElement element = typeElement(type);
@@ -257,15 +313,61 @@ final class SimpleModuleWriter {
     if (scopeInfo.addWithBeans()) {
       writeWithBeans();
     }
+    if (directWiring != null) {
+      writer.append("    if (builder.isDirectWiring()) {").eol();
+      writer.append("      buildDirect(builder);").eol();
+      writer.append("      return;").eol();
+      writer.append("    }").eol();
+    }
     writer.append("    // create beans in order based on constructor dependencies").eol();
     writer.append("    // i.e. \"provides\" followed by \"dependsOn\"").eol();
-    for (MetaData metaData : ordering.ordered()) {
-      if (!metaData.isGenerateProxy()) {
+    if (isChunked()) {
+      for (int i = 0; i < buildChunks.size(); i++) {
+        writer.append("    $Build%s.build(this, builder);", i).eol();
+      }
+    } else {
+      for (MetaData metaData : buildChunks.get(0)) {
         writer.append("    build_%s(builder);", metaData.buildName()).eol();
       }
     }
     writer.append("  }").eol();
     writer.eol();
+    if (directWiring != null) {
+      writer.append("  private void buildDirect(Builder builder) {").eol();
+      if (isChunked()) {
+        for (int i = 0; i < buildChunks.size(); i++) {
+          writer.append("    $Build%s.buildDirect(this, builder);", i).eol();
+        }
+      } else {
+        directWiring.get(0).writeBuild(writer, "    ", "", duplicateTypes);
+      }
+      writer.append("  }").eol();
+      writer.eol();
+    }
+  }
+
+  /**
+   * Write the nested classes that build the beans when the build method is over budget.
+   */
+  private void writeBuildChunks() {
+    if (!isChunked()) {
+      return;
+    }
+    for (int i = 0; i < buildChunks.size(); i++) {
+      writer.append("  private static final class $Build%s {", i).eol().eol();
+      writer.append("    static void build(%s module, Builder builder) {", shortName).eol();
+      for (MetaData metaData : buildChunks.get(i)) {
+        writer.append("      module.build_%s(builder);", metaData.buildName()).eol();
+      }
+      writer.append("    }").eol();
+      if (directWiring != null) {
+        writer.eol();
+        writer.append("    static void buildDirect(%s module, Builder builder) {", shortName).eol();
+        directWiring.get(i).writeBuild(writer, "      ", "module.", duplicateTypes);
+        writer.append("    }").eol();
+      }
+      writer.append("  }").eol().eol();
+    }
   }
 
   private void writeBuildMethods() {
@@ -35,6 +35,7 @@ final class TypeExtendsInjection {
   private Optional<MethodReader> postConstructMethod = Optional.empty();
   private Element preDestroyMethod;
   private Integer preDestroyPriority;
+  private boolean postConstructAsync;
 
   TypeExtendsInjection(TypeElement baseType, boolean factory, ImportTypeMap importTypes) {
     this.importTypes = importTypes;
@@ -128,6 +129,10 @@ final class TypeExtendsInjection {
     }
     if (AnnotationUtil.hasAnnotationWithName(element, "PostConstruct")) {
       postConstructMethod = Optional.of(new MethodReader(methodElement, type, importTypes).read());
+      postConstructAsync = PostConstructPrism.getOptionalOn(element).map(PostConstructPrism::async).orElse(false);
+      if (postConstructAsync && throwsChecked(methodElement)) {
+        logError(element, "An async @PostConstruct method can not throw checked exceptions");
+      }
       checkAspect = false;
     }
     if (AnnotationUtil.hasAnnotationWithName(element, "PreDestroy")) {
@@ -227,6 +232,18 @@ final class TypeExtendsInjection {
     return preDestroyPriority;
   }
 
+  private static boolean throwsChecked(ExecutableElement method) {
+    final var types = APContext.types();
+    final var runtime = APContext.typeElement("java.lang.RuntimeException").asType();
+    final var error = APContext.typeElement("java.lang.Error").asType();
+    return method.getThrownTypes().stream()
+      .anyMatch(t -> !types.isAssignable(t, runtime) && !types.isAssignable(t, error));
+  }
+
+  boolean postConstructAsync() {
+    return postConstructAsync;
+  }
+
   MethodReader constructor() {
     if (injectConstructor != null) {
       return injectConstructor;
@@ -117,6 +117,10 @@ final class TypeExtendsReader {
     return extendsInjection.preDestroyPriority();
   }
 
+  boolean postConstructAsync() {
+    return extendsInjection.postConstructAsync();
+  }
+
   MethodReader constructor() {
     return extendsInjection.constructor();
   }
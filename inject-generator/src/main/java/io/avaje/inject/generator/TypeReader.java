@@ -119,6 +119,10 @@ final class TypeReader {
     return extendsReader.preDestroyPriority();
   }
 
+  boolean postConstructAsync() {
+    return extendsReader.postConstructAsync();
+  }
+
   MethodReader constructor() {
     return extendsReader.constructor();
   }
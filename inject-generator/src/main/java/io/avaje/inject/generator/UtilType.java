@@ -47,6 +47,10 @@ final class UtilType {
     return type == Type.OPTIONAL || type == Type.OTHER;
   }
 
+  boolean isOther() {
+    return type == Type.OTHER;
+  }
+
   boolean isCollection() {
     return type == Type.LIST || type == Type.SET;
   }
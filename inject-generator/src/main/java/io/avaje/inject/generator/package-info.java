@@ -16,6 +16,7 @@
 @GeneratePrism(Lazy.class)
 @GeneratePrism(Named.class)
 @GeneratePrism(PluginProvides.class)
+@GeneratePrism(PostConstruct.class)
 @GeneratePrism(PreDestroy.class)
 @GeneratePrism(Primary.class)
 @GeneratePrism(Profile.class)
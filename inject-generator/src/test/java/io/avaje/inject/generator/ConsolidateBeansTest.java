@@ -0,0 +1,113 @@
+package io.avaje.inject.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.PrintWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.avaje.inject.BeanScope;
+import io.avaje.inject.spi.AvajeModule;
+
+class ConsolidateBeansTest {
+
+  private static final int BEANS = 30;
+  private static final String PACKAGE = "org.example.consolidate";
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void consolidateBeans_expect_fewerClasses() throws Exception {
+    final Path classesDir = compile(10);
+
+    final List<String> classes = classNames(classesDir);
+    assertThat(classes).filteredOn(c -> c.endsWith("$Beans$DI.class")).hasSize(3);
+    assertThat(classes).filteredOn(c -> c.startsWith("Bean") && c.endsWith("$DI.class") && !c.contains("$Beans$"))
+      .isEmpty();
+
+    try (var loader = new URLClassLoader(new URL[]{classesDir.toUri().toURL()}, getClass().getClassLoader())) {
+      final var module = (AvajeModule) loader.loadClass(PACKAGE + ".ConsolidateModule").getConstructor().newInstance();
+      try (BeanScope scope = BeanScope.builder().modules(module).build()) {
+        final Class<?> last = loader.loadClass(PACKAGE + ".Bean" + (BEANS - 1));
+        assertThat(scope.get(last)).isNotNull();
+        assertThat(scope.all()).hasSizeGreaterThanOrEqualTo(BEANS);
+      }
+    }
+  }
+
+  @Test
+  void noConsolidate_expect_classPerBean() throws Exception {
+    final List<String> classes = classNames(compile(0));
+    assertThat(classes).filteredOn(c -> c.endsWith("$Beans$DI.class")).isEmpty();
+    assertThat(classes).filteredOn(c -> c.startsWith("Bean") && c.endsWith("$DI.class")).hasSize(BEANS);
+  }
+
+  private Path compile(int consolidateBeans) throws Exception {
+    final Path sourceDir = tempDir.resolve("src");
+    final Path generatedDir = tempDir.resolve("generated");
+    final Path classesDir = tempDir.resolve("classes");
+    final Path packageDir = sourceDir.resolve(PACKAGE.replace('.', '/'));
+    Files.createDirectories(packageDir);
+    Files.createDirectories(generatedDir);
+    Files.createDirectories(classesDir);
+
+    final List<Path> sources = new ArrayList<>();
+    sources.add(Files.writeString(packageDir.resolve("package-info.java"),
+      "@io.avaje.inject.InjectModule(consolidateBeans = " + consolidateBeans + ")\npackage " + PACKAGE + ";\n"));
+    for (int i = 0; i < BEANS; i++) {
+      sources.add(Files.writeString(packageDir.resolve("Bean" + i + ".java"), beanSource(i)));
+    }
+
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    try (StandardJavaFileManager manager = compiler.getStandardFileManager(null, null, null)) {
+      final Iterable<? extends JavaFileObject> files = manager.getJavaFileObjectsFromPaths(sources);
+      final JavaCompiler.CompilationTask task =
+        compiler.getTask(
+          new PrintWriter(System.out),
+          manager,
+          null,
+          List.of("-d", classesDir.toString(), "-s", generatedDir.toString()),
+          null,
+          files);
+      task.setProcessors(List.of(new InjectProcessor()));
+      assertThat(task.call()).isTrue();
+    }
+    return classesDir;
+  }
+
+  private static List<String> classNames(Path classesDir) throws Exception {
+    try (Stream<Path> paths = Files.list(classesDir.resolve(PACKAGE.replace('.', '/')))) {
+      return paths.map(p -> p.getFileName().toString()).collect(Collectors.toList());
+    }
+  }
+
+  private static String beanSource(int i) {
+    final var source = new StringBuilder()
+      .append("package ").append(PACKAGE).append(";\n\n")
+      .append("@jakarta.inject.Singleton\n")
+      .append("public class Bean").append(i).append(" {\n");
+    if (i > 0) {
+      source.append("  public Bean").append(i).append("(Bean").append(i - 1).append(" dependency) {\n  }\n");
+    }
+    if (i > 0 && i % 3 == 0) {
+      // field injection and generic dependencies in the consolidated build methods
+      source.append("  @jakarta.inject.Inject java.util.List<Bean").append(i / 2).append("> list;\n");
+    }
+    return source.append("}\n").toString();
+  }
+}
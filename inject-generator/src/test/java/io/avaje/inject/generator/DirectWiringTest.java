@@ -0,0 +1,167 @@
+package io.avaje.inject.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.avaje.inject.BeanScope;
+import io.avaje.inject.spi.AvajeModule;
+
+class DirectWiringTest {
+
+  private static final String PACKAGE = "org.example.direct";
+  private static final String OTHER = "org.example.other";
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void directWiring_expect_sameBeansAsLookup() throws Exception {
+    final Path otherClasses = compile("other", OTHER, otherSources(), null);
+    final Path classes = compile("direct", PACKAGE, directSources(), otherClasses);
+
+    final String module = Files.readString(tempDir.resolve("direct/generated/org/example/direct/DirectModule.java"));
+    assertThat(module).contains("if (builder.isDirectWiring()) {", "private void buildDirect(Builder builder) {");
+    final String service = Files.readString(tempDir.resolve("direct/generated/org/example/direct/Service$DI.java"));
+    assertThat(service).contains("public static Service buildDirect(Builder builder, Repo $d0) {", "registerDirect(bean, $d0)");
+    final String buildDirect = module.substring(module.indexOf("private void buildDirect(Builder builder) {"));
+    assertThat(buildDirect)
+      // uniquely provided by this module (with the qualifier)
+      .contains("var $b0 = Blue$DI.buildDirect(builder);", "BlueUser$DI.buildDirect(builder, $b0);")
+      .contains("var $b1 = Repo$DI.buildDirect(builder);", "Service$DI.buildDirect(builder, $b1);")
+      // looked up as Store has 2 beans, OtherService is from the other module, DefaultGreeter is secondary
+      .contains("build_direct_QualifiedUser(builder);", "build_direct_OtherUser(builder);")
+      .contains("build_direct_DefaultGreeter_Default(builder);", "build_direct_GreeterUser(builder);");
+
+    final URL[] urls = {otherClasses.toUri().toURL(), classes.toUri().toURL()};
+    try (var loader = new URLClassLoader(urls, getClass().getClassLoader())) {
+      final Map<String, String> direct;
+      try (BeanScope scope = BeanScope.builder().modules(modules(loader)).build()) {
+        direct = wiring(loader, scope);
+      }
+      final Map<String, String> lookup;
+      // an (empty) parent scope means the beans are looked up
+      try (var emptyLoader = new URLClassLoader(new URL[0], null);
+           BeanScope parent = BeanScope.builder().classLoader(emptyLoader).build();
+           BeanScope scope = BeanScope.builder().parent(parent).modules(modules(loader)).build()) {
+        lookup = wiring(loader, scope);
+      }
+      assertThat(direct).isEqualTo(lookup);
+      assertThat(direct)
+        .containsEntry("Service.repo", "Repo")
+        .containsEntry("BlueUser.blue", "Blue")
+        .containsEntry("QualifiedUser.store", "StoreB")
+        .containsEntry("QualifiedUser.blue", "Blue")
+        .containsEntry("OtherUser.other", "OtherService")
+        .containsEntry("OtherUser.service", "Service")
+        .containsEntry("GreeterUser.greeter", "OtherGreeter");
+    }
+  }
+
+  private static AvajeModule[] modules(ClassLoader loader) throws ReflectiveOperationException {
+    return new AvajeModule[]{
+      (AvajeModule) loader.loadClass(OTHER + ".OtherModule").getConstructor().newInstance(),
+      (AvajeModule) loader.loadClass(PACKAGE + ".DirectModule").getConstructor().newInstance()
+    };
+  }
+
+  /**
+   * Return the class of each injected field keyed by bean and field name.
+   */
+  private static Map<String, String> wiring(ClassLoader loader, BeanScope scope) throws ReflectiveOperationException {
+    final Map<String, String> wiring = new LinkedHashMap<>();
+    for (final String user : List.of("Service", "BlueUser", "QualifiedUser", "OtherUser", "GreeterUser")) {
+      final Object bean = scope.get(loader.loadClass(PACKAGE + "." + user));
+      for (final var field : bean.getClass().getFields()) {
+        wiring.put(user + "." + field.getName(), field.get(bean).getClass().getSimpleName());
+      }
+    }
+    return wiring;
+  }
+
+  private static Map<String, String> otherSources() {
+    final Map<String, String> sources = new LinkedHashMap<>();
+    sources.put("OtherService", "@jakarta.inject.Singleton\npublic class OtherService {\n}\n");
+    sources.put("Greeter", "public interface Greeter {\n}\n");
+    sources.put("OtherGreeter", "@jakarta.inject.Singleton\npublic class OtherGreeter implements Greeter {\n}\n");
+    return sources;
+  }
+
+  private static Map<String, String> directSources() {
+    final Map<String, String> sources = new LinkedHashMap<>();
+    sources.put("package-info", null);
+    sources.put("Repo", "@jakarta.inject.Singleton\npublic class Repo {\n}\n");
+    sources.put("Service", user("Service", "Repo repo"));
+    sources.put("Store", "public interface Store {\n}\n");
+    sources.put("StoreA", "@jakarta.inject.Named(\"a\")\n@jakarta.inject.Singleton\npublic class StoreA implements Store {\n}\n");
+    sources.put("StoreB", "@jakarta.inject.Named(\"b\")\n@jakarta.inject.Singleton\npublic class StoreB implements Store {\n}\n");
+    sources.put("Blue", "@jakarta.inject.Named(\"blue\")\n@jakarta.inject.Singleton\npublic class Blue {\n}\n");
+    sources.put("BlueUser", user("BlueUser", "@jakarta.inject.Named(\"blue\") Blue blue"));
+    sources.put("QualifiedUser", user("QualifiedUser", "@jakarta.inject.Named(\"b\") Store store", "@jakarta.inject.Named(\"blue\") Blue blue"));
+    sources.put("OtherUser", user("OtherUser", OTHER + ".OtherService other", "Service service"));
+    sources.put("DefaultGreeter", "@io.avaje.inject.Secondary\n@jakarta.inject.Singleton\npublic class DefaultGreeter implements " + OTHER + ".Greeter {\n}\n");
+    sources.put("GreeterUser", user("GreeterUser", OTHER + ".Greeter greeter"));
+    return sources;
+  }
+
+  private static String user(String name, String... params) {
+    final var source = new StringBuilder("@jakarta.inject.Singleton\npublic class ").append(name).append(" {\n");
+    final List<String> assigns = new ArrayList<>();
+    for (final String param : params) {
+      final String field = param.substring(param.lastIndexOf(' ') + 1);
+      final String type = param.substring(param.lastIndexOf(' ', param.lastIndexOf(' ') - 1) + 1, param.lastIndexOf(' '));
+      source.append("  public final ").append(type).append(' ').append(field).append(";\n");
+      assigns.add("    this." + field + " = " + field + ";\n");
+    }
+    source.append("  public ").append(name).append('(').append(String.join(", ", params)).append(") {\n");
+    assigns.forEach(source::append);
+    return source.append("  }\n}\n").toString();
+  }
+
+  private Path compile(String name, String packageName, Map<String, String> types, Path classpath) throws Exception {
+    final Path packageDir = tempDir.resolve(name + "/src/" + packageName.replace('.', '/'));
+    final Path generatedDir = tempDir.resolve(name + "/generated");
+    final Path classesDir = tempDir.resolve(name + "/classes");
+    Files.createDirectories(packageDir);
+    Files.createDirectories(generatedDir);
+    Files.createDirectories(classesDir);
+
+    final List<Path> sources = new ArrayList<>();
+    for (final Map.Entry<String, String> type : types.entrySet()) {
+      final String source = type.getValue() == null
+        ? "@io.avaje.inject.InjectModule(directWiring = true, requires = " + OTHER + ".OtherService.class)\npackage " + packageName + ";\n"
+        : "package " + packageName + ";\n\n" + type.getValue();
+      sources.add(Files.writeString(packageDir.resolve(type.getKey() + ".java"), source));
+    }
+    final List<String> options = new ArrayList<>(List.of("-d", classesDir.toString(), "-s", generatedDir.toString()));
+    if (classpath != null) {
+      options.add("-classpath");
+      options.add(System.getProperty("java.class.path") + File.pathSeparator + classpath);
+    }
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    try (StandardJavaFileManager manager = compiler.getStandardFileManager(null, null, null)) {
+      final Iterable<? extends JavaFileObject> files = manager.getJavaFileObjectsFromPaths(sources);
+      final JavaCompiler.CompilationTask task = compiler.getTask(new PrintWriter(System.out), manager, null, options, null, files);
+      task.setProcessors(List.of(new InjectProcessor()));
+      assertThat(task.call()).isTrue();
+    }
+    return classesDir;
+  }
+}
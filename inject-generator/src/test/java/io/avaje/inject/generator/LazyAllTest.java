@@ -0,0 +1,110 @@
+package io.avaje.inject.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.PrintWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.avaje.inject.BeanScope;
+import io.avaje.inject.spi.AvajeModule;
+
+class LazyAllTest {
+
+  private static final String PACKAGE = "org.example.lazyall";
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void lazyAll_expect_createdOnFirstUse() throws Exception {
+    final Path classesDir = compile(true);
+    final String source = Files.readString(tempDir.resolve("generated/org/example/lazyall/Res$DI.java"));
+    assertThat(source).contains("if (builder.isLazyAll()) {");
+    assertThat(source).doesNotContain("bean.init();\n\n");
+
+    try (var loader = new URLClassLoader(new URL[]{classesDir.toUri().toURL()}, getClass().getClassLoader())) {
+      final var module = (AvajeModule) loader.loadClass(PACKAGE + ".LazyallModule").getConstructor().newInstance();
+      final Class<?> res = loader.loadClass(PACKAGE + ".Res");
+      try (BeanScope scope = BeanScope.builder().modules(module).lazyAll(true).build()) {
+        assertThat(counter(res, "CREATED")).hasValue(0);
+        assertThat(scope.get(loader.loadClass(PACKAGE + ".User"))).isNotNull();
+        assertThat(counter(res, "CREATED")).hasValue(1);
+        assertThat(counter(res, "STARTED")).hasValue(1);
+      }
+      assertThat(counter(res, "CLOSED")).hasValue(1);
+    }
+  }
+
+  @Test
+  void noLazyAll_expect_notGenerated() throws Exception {
+    compile(false);
+    final String source = Files.readString(tempDir.resolve("generated/org/example/lazyall/Res$DI.java"));
+    assertThat(source).doesNotContain("isLazyAll");
+  }
+
+  private static AtomicInteger counter(Class<?> type, String name) throws ReflectiveOperationException {
+    return (AtomicInteger) type.getField(name).get(null);
+  }
+
+  private Path compile(boolean lazyAll) throws Exception {
+    final Path sourceDir = tempDir.resolve("src");
+    final Path generatedDir = tempDir.resolve("generated");
+    final Path classesDir = tempDir.resolve("classes");
+    final Path packageDir = sourceDir.resolve(PACKAGE.replace('.', '/'));
+    Files.createDirectories(packageDir);
+    Files.createDirectories(generatedDir);
+    Files.createDirectories(classesDir);
+
+    final List<Path> sources = new ArrayList<>();
+    sources.add(Files.writeString(packageDir.resolve("package-info.java"),
+      "@io.avaje.inject.InjectModule(lazyAll = " + lazyAll + ")\npackage " + PACKAGE + ";\n"));
+    sources.add(Files.writeString(packageDir.resolve("Res.java"),
+      "package " + PACKAGE + ";\n\n"
+        + "import java.util.concurrent.atomic.AtomicInteger;\n\n"
+        + "@jakarta.inject.Singleton\n"
+        + "public class Res implements AutoCloseable {\n"
+        + "  public static final AtomicInteger CREATED = new AtomicInteger();\n"
+        + "  public static final AtomicInteger STARTED = new AtomicInteger();\n"
+        + "  public static final AtomicInteger CLOSED = new AtomicInteger();\n"
+        + "  public Res() {\n    CREATED.incrementAndGet();\n  }\n"
+        + "  @io.avaje.inject.PostConstruct\n  void init() {\n    STARTED.incrementAndGet();\n  }\n"
+        + "  @Override\n  public void close() {\n    CLOSED.incrementAndGet();\n  }\n"
+        + "}\n"));
+    sources.add(Files.writeString(packageDir.resolve("User.java"),
+      "package " + PACKAGE + ";\n\n"
+        + "@jakarta.inject.Singleton\n"
+        + "public class User {\n"
+        + "  public User(Res res) {\n  }\n"
+        + "}\n"));
+
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    try (StandardJavaFileManager manager = compiler.getStandardFileManager(null, null, null)) {
+      final Iterable<? extends JavaFileObject> files = manager.getJavaFileObjectsFromPaths(sources);
+      final JavaCompiler.CompilationTask task =
+        compiler.getTask(
+          new PrintWriter(System.out),
+          manager,
+          null,
+          List.of("-d", classesDir.toString(), "-s", generatedDir.toString()),
+          null,
+          files);
+      task.setProcessors(List.of(new InjectProcessor()));
+      assertThat(task.call()).isTrue();
+    }
+    return classesDir;
+  }
+}
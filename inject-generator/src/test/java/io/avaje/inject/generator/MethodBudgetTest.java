@@ -0,0 +1,166 @@
+package io.avaje.inject.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MethodBudgetTest {
+
+  // a small budget such that a few hundred beans are split like a large module would be
+  private static final int BUDGET = 1000;
+  private static final int BEANS = 300;
+  private static final String PACKAGE = "org.example.huge";
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void largeModule_expect_methodsUnderBudget() throws Exception {
+    final Path sourceDir = tempDir.resolve("src");
+    final Path generatedDir = tempDir.resolve("generated");
+    final Path classesDir = tempDir.resolve("classes");
+    final Path packageDir = sourceDir.resolve(PACKAGE.replace('.', '/'));
+    Files.createDirectories(packageDir);
+    Files.createDirectories(generatedDir);
+    Files.createDirectories(classesDir);
+
+    final List<Path> sources = new ArrayList<>();
+    sources.add(Files.writeString(packageDir.resolve("package-info.java"),
+      "@io.avaje.inject.InjectModule(directWiring = true)\npackage " + PACKAGE + ";\n"));
+    for (int i = 0; i < BEANS; i++) {
+      sources.add(Files.writeString(packageDir.resolve("Bean" + i + ".java"), beanSource(i)));
+    }
+
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    try (StandardJavaFileManager manager = compiler.getStandardFileManager(null, null, null)) {
+      final Iterable<? extends JavaFileObject> files = manager.getJavaFileObjectsFromPaths(sources);
+      final JavaCompiler.CompilationTask task =
+        compiler.getTask(
+          new PrintWriter(System.out),
+          manager,
+          null,
+          List.of("-d", classesDir.toString(), "-s", generatedDir.toString(), "-AmethodBudget=" + BUDGET),
+          null,
+          files);
+      task.setProcessors(List.of(new InjectProcessor()));
+      assertThat(task.call()).isTrue();
+    }
+
+    final Path classesPackage = classesDir.resolve(PACKAGE.replace('.', '/'));
+    final List<Path> moduleClasses;
+    try (Stream<Path> paths = Files.list(classesPackage)) {
+      moduleClasses = paths
+        .filter(p -> p.getFileName().toString().startsWith("HugeModule"))
+        .collect(Collectors.toList());
+    }
+    assertThat(moduleClasses).extracting(p -> p.getFileName().toString())
+      .contains("HugeModule.class", "HugeModule$$Build0.class", "HugeModule$$Build1.class", "HugeModule$$Classes1.class");
+
+    for (final Path classFile : moduleClasses) {
+      methodSizes(classFile).forEach((method, size) ->
+        assertThat(size)
+          .describedAs("%s %s", classFile.getFileName(), method)
+          .isLessThanOrEqualTo(BUDGET));
+    }
+  }
+
+  private static String beanSource(int i) {
+    final var source = new StringBuilder()
+      .append("package ").append(PACKAGE).append(";\n\n")
+      .append("@jakarta.inject.Singleton\n")
+      .append("public class Bean").append(i).append(" {\n");
+    if (i > 0) {
+      // depend on an earlier bean so that the beans are ordered and wired
+      final int dependency = i / 2;
+      source.append("  public Bean").append(i).append("(Bean").append(dependency).append(" dependency) {\n  }\n");
+    }
+    return source.append("}\n").toString();
+  }
+
+  /**
+   * Return the bytecode size of each method in the class file.
+   */
+  private static Map<String, Integer> methodSizes(Path classFile) throws IOException {
+    final Map<String, Integer> sizes = new HashMap<>();
+    try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(classFile)))) {
+      in.skipBytes(8);
+      final int count = in.readUnsignedShort();
+      final String[] utf8 = new String[count];
+      for (int i = 1; i < count; i++) {
+        final int tag = in.readUnsignedByte();
+        switch (tag) {
+          case 1:
+            utf8[i] = in.readUTF();
+            break;
+          case 7: case 8: case 16: case 19: case 20:
+            in.skipBytes(2);
+            break;
+          case 15:
+            in.skipBytes(3);
+            break;
+          case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18:
+            in.skipBytes(4);
+            break;
+          case 5: case 6:
+            in.skipBytes(8);
+            i++;
+            break;
+          default:
+            throw new IllegalStateException("Unexpected constant pool tag " + tag);
+        }
+      }
+      in.skipBytes(6);
+      in.skipBytes(2 * in.readUnsignedShort());
+      final int fields = in.readUnsignedShort();
+      for (int i = 0; i < fields; i++) {
+        in.skipBytes(6);
+        skipAttributes(in);
+      }
+      final int methods = in.readUnsignedShort();
+      for (int i = 0; i < methods; i++) {
+        in.skipBytes(2);
+        final String name = utf8[in.readUnsignedShort()] + utf8[in.readUnsignedShort()];
+        final int attributes = in.readUnsignedShort();
+        for (int j = 0; j < attributes; j++) {
+          final String attribute = utf8[in.readUnsignedShort()];
+          final int length = in.readInt();
+          if ("Code".equals(attribute)) {
+            in.skipBytes(4);
+            sizes.put(name, in.readInt());
+            in.skipBytes(length - 8);
+          } else {
+            in.skipBytes(length);
+          }
+        }
+      }
+    }
+    return sizes;
+  }
+
+  private static void skipAttributes(DataInputStream in) throws IOException {
+    final int attributes = in.readUnsignedShort();
+    for (int i = 0; i < attributes; i++) {
+      in.skipBytes(2);
+      in.skipBytes(in.readInt());
+    }
+  }
+}
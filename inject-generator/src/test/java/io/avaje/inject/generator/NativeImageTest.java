@@ -0,0 +1,111 @@
+package io.avaje.inject.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class NativeImageTest {
+
+  private static final String PACKAGE = "org.example.nativeimage";
+  private static final String CONFIG_DIR = "META-INF/native-image/io.avaje.inject/" + PACKAGE + ".NativeimageModule/";
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void nativeImage_expect_reflectAndResourceConfig() throws Exception {
+    final Path classesDir = compile(List.of());
+
+    final String reflect = Files.readString(classesDir.resolve(CONFIG_DIR + "reflect-config.json"));
+    // the module service constructor
+    assertThat(reflect).contains("{\"name\":\"" + PACKAGE + ".NativeimageModule\",\"methods\":[{\"name\":\"<init>\",\"parameterTypes\":[]}]}");
+    // the aspect methods looked up by the $Proxy
+    assertThat(reflect).contains("{\"name\":\"" + PACKAGE + ".Service\",\"methods\":["
+      + "{\"name\":\"find\",\"parameterTypes\":[\"java.lang.String\",\"int[]\"]},"
+      + "{\"name\":\"nested\",\"parameterTypes\":[\"" + PACKAGE + ".Outer$Inner\"]}]}");
+    // priority lookup
+    assertThat(reflect).contains("{\"name\":\"" + PACKAGE + ".First\"}");
+    assertThat(reflect).contains("{\"name\":\"io.avaje.inject.Priority\",\"methods\":[{\"name\":\"value\",\"parameterTypes\":[]}]}");
+    // listByAnnotation lookup of a runtime annotation
+    assertThat(reflect).contains("{\"name\":\"" + PACKAGE + ".Tagged\"}");
+    // nothing looked up reflectively
+    assertThat(reflect).doesNotContain(PACKAGE + ".Plain\"", PACKAGE + ".SourceOnly\"");
+
+    final String resource = Files.readString(classesDir.resolve(CONFIG_DIR + "resource-config.json"));
+    assertThat(resource).contains("{\"pattern\":\"\\\\QMETA-INF/services/io.avaje.inject.spi.InjectExtension\\\\E\"}");
+  }
+
+  @Test
+  void nativeImageDisabled_expect_noConfig() throws Exception {
+    final Path classesDir = compile(List.of("-AnativeImage=false"));
+    assertThat(classesDir.resolve(CONFIG_DIR)).doesNotExist();
+  }
+
+  private Path compile(List<String> options) throws Exception {
+    final Path sourceDir = tempDir.resolve("src");
+    final Path generatedDir = tempDir.resolve("generated");
+    final Path classesDir = tempDir.resolve("classes");
+    final Path packageDir = sourceDir.resolve(PACKAGE.replace('.', '/'));
+    Files.createDirectories(packageDir);
+    Files.createDirectories(generatedDir);
+    Files.createDirectories(classesDir);
+
+    final List<Path> sources = new ArrayList<>();
+    sources.add(source(packageDir, "Timed",
+      "@io.avaje.inject.aop.Aspect\n@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)\n"
+        + "public @interface Timed {}"));
+    sources.add(source(packageDir, "Tag",
+      "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)\npublic @interface Tag {}"));
+    sources.add(source(packageDir, "SourceOnly",
+      "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.SOURCE)\npublic @interface SourceOnly {}"));
+    sources.add(source(packageDir, "Outer", "public class Outer {\n  public static class Inner {}\n}"));
+    sources.add(source(packageDir, "TimedAspect",
+      "@jakarta.inject.Singleton\n"
+        + "public class TimedAspect implements io.avaje.inject.aop.AspectProvider<Timed>, io.avaje.inject.aop.MethodInterceptor {\n"
+        + "  @Override public io.avaje.inject.aop.MethodInterceptor interceptor(java.lang.reflect.Method method, Timed timed) { return this; }\n"
+        + "  @Override public void invoke(io.avaje.inject.aop.Invocation invocation) throws Throwable { invocation.invoke(); }\n"
+        + "}"));
+    sources.add(source(packageDir, "Service",
+      "@jakarta.inject.Singleton\npublic class Service {\n"
+        + "  @Timed public String find(String query, int[] ids) { return query; }\n"
+        + "  @Timed public void nested(Outer.Inner inner) {}\n"
+        + "}"));
+    sources.add(source(packageDir, "First", "@jakarta.inject.Singleton\n@io.avaje.inject.Priority(1)\npublic class First {}"));
+    sources.add(source(packageDir, "Tagged", "@jakarta.inject.Singleton\n@Tag\npublic class Tagged {}"));
+    sources.add(source(packageDir, "Plain", "@jakarta.inject.Singleton\n@SourceOnly\npublic class Plain {}"));
+
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    try (StandardJavaFileManager manager = compiler.getStandardFileManager(null, null, null)) {
+      final Iterable<? extends JavaFileObject> files = manager.getJavaFileObjectsFromPaths(sources);
+      final List<String> args = new ArrayList<>(List.of("-d", classesDir.toString(), "-s", generatedDir.toString()));
+      args.addAll(options);
+      final JavaCompiler.CompilationTask task =
+        compiler.getTask(
+          new PrintWriter(System.out),
+          manager,
+          null,
+          args,
+          null,
+          files);
+      task.setProcessors(List.of(new InjectProcessor()));
+      assertThat(task.call()).isTrue();
+    }
+    return classesDir;
+  }
+
+  private static Path source(Path packageDir, String name, String body) throws Exception {
+    return Files.writeString(packageDir.resolve(name + ".java"), "package " + PACKAGE + ";\n\n" + body + "\n");
+  }
+}
@@ -0,0 +1,96 @@
+package io.avaje.inject.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RemoveUnreachableTest {
+
+  private static final String PACKAGE = "org.example.roots";
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void roots_expect_unreachableBeansRemoved() throws Exception {
+    final String module = generateModule(
+      "@io.avaje.inject.InjectModule(roots = org.example.roots.Api.class)\npackage " + PACKAGE + ";\n");
+
+    final String build = buildMethod(module);
+    // reachable from the root via constructor and field injection
+    assertThat(build).contains("build_roots_Api(builder);", "build_roots_Repo(builder);", "build_roots_Clock(builder);");
+    // lifecycle and observer beans are always built
+    assertThat(build).contains("build_roots_Closer(builder);", "build_roots_Listener(builder);");
+    // not reachable
+    assertThat(build).doesNotContain("build_roots_Unused(builder);", "build_roots_UnusedDependency(builder);");
+    assertThat(module).doesNotContain("org.example.roots.Unused.class,");
+    // the DependencyMeta is kept for a later incremental compile
+    assertThat(module).contains("private void build_roots_Unused(Builder builder) {", "private void build_roots_UnusedDependency(Builder builder) {");
+  }
+
+  @Test
+  void noRoots_expect_allBeansBuilt() throws Exception {
+    final String module = generateModule("@io.avaje.inject.InjectModule\npackage " + PACKAGE + ";\n");
+
+    assertThat(buildMethod(module)).contains("build_roots_Api(builder);", "build_roots_Unused(builder);", "build_roots_UnusedDependency(builder);");
+  }
+
+  private static String buildMethod(String module) {
+    final int start = module.indexOf("public void build(Builder builder) {");
+    return module.substring(start, module.indexOf("\n  }\n", start));
+  }
+
+  private String generateModule(String packageInfo) throws Exception {
+    final Path sourceDir = tempDir.resolve("src");
+    final Path generatedDir = tempDir.resolve("generated");
+    final Path classesDir = tempDir.resolve("classes");
+    final Path packageDir = sourceDir.resolve(PACKAGE.replace('.', '/'));
+    Files.createDirectories(packageDir);
+    Files.createDirectories(generatedDir);
+    Files.createDirectories(classesDir);
+
+    final List<Path> sources = new ArrayList<>();
+    sources.add(Files.writeString(packageDir.resolve("package-info.java"), packageInfo));
+    sources.add(source(packageDir, "Clock", "public class Clock {}"));
+    sources.add(source(packageDir, "Repo", "public class Repo {\n  @jakarta.inject.Inject Clock clock;\n}"));
+    sources.add(source(packageDir, "Api", "public class Api {\n  public Api(Repo repo) {}\n}"));
+    sources.add(source(packageDir, "UnusedDependency", "public class UnusedDependency {}"));
+    sources.add(source(packageDir, "Unused", "public class Unused {\n  public Unused(UnusedDependency dependency) {}\n}"));
+    sources.add(source(packageDir, "Closer", "public class Closer implements AutoCloseable {\n  @Override public void close() {}\n}"));
+    sources.add(source(packageDir, "Listener",
+      "public class Listener {\n  void on(@io.avaje.inject.events.Observes String event) {}\n}"));
+
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    try (StandardJavaFileManager manager = compiler.getStandardFileManager(null, null, null)) {
+      final Iterable<? extends JavaFileObject> files = manager.getJavaFileObjectsFromPaths(sources);
+      final JavaCompiler.CompilationTask task =
+        compiler.getTask(
+          new PrintWriter(System.out),
+          manager,
+          null,
+          List.of("-d", classesDir.toString(), "-s", generatedDir.toString()),
+          null,
+          files);
+      task.setProcessors(List.of(new InjectProcessor()));
+      assertThat(task.call()).isTrue();
+    }
+    return Files.readString(generatedDir.resolve(PACKAGE.replace('.', '/')).resolve("RootsModule.java"));
+  }
+
+  private static Path source(Path packageDir, String name, String body) throws Exception {
+    return Files.writeString(packageDir.resolve(name + ".java"),
+      "package " + PACKAGE + ";\n\n@jakarta.inject.Singleton\n" + body + "\n");
+  }
+}
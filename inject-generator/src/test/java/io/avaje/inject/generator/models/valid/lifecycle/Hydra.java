@@ -0,0 +1,11 @@
+package io.avaje.inject.generator.models.valid.lifecycle;
+
+import io.avaje.inject.PostConstruct;
+import jakarta.inject.Singleton;
+
+@Singleton
+public class Hydra {
+
+  @PostConstruct(async = true)
+  void growHeads() {}
+}
@@ -2,6 +2,8 @@ package io.avaje.inject.plugin;
 
 import static java.util.stream.Collectors.toList;
 
+import io.avaje.inject.build.ModuleRegistryWriter;
+import io.avaje.inject.build.TrainingRunner;
 import io.avaje.inject.spi.AvajeModule;
 import io.avaje.inject.spi.InjectPlugin;
 import io.avaje.inject.spi.InjectExtension;
@@ -9,6 +11,10 @@ import io.avaje.inject.spi.InjectExtension;
 import org.gradle.api.Project;
 import org.gradle.api.Task;
 import org.gradle.api.GradleException;
+import org.gradle.api.plugins.JavaPluginExtension;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.jvm.tasks.Jar;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -36,6 +42,84 @@ public class AvajeInjectPlugin implements org.gradle.api.Plugin<Project> {
         });
     // register a task to run it manually
     project.task("discoverModules").doLast(task -> writeProvides(project));
+    // register a task to generate the module registry, add jar.dependsOn moduleRegistry to use it
+    final Task registryTask = project.task("moduleRegistry").doLast(task -> writeRegistry(project));
+    registryTask.dependsOn("classes");
+    // register a task to generate the AppCDS archive or AOT cache via a training run
+    final TrainingRunExtension training = project.getExtensions().create("avajeTraining", TrainingRunExtension.class);
+    final Task trainingTask = project.task("trainingRun").doLast(task -> trainingRun(project, training));
+    trainingTask.dependsOn("jar");
+  }
+
+  /**
+   * Run the training JVM that builds the BeanScope, runs the warm-up entry point and closes the
+   * scope using the project jar and the runtime classpath.
+   */
+  private void trainingRun(Project project, TrainingRunExtension training) {
+    final List<File> files = new ArrayList<>();
+    files.add(((Jar) project.getTasks().getByName("jar")).getArchiveFile().get().getAsFile());
+    files.addAll(project.getConfigurations().getByName("runtimeClasspath").resolve());
+    final String java = training.getJava() == null ? TrainingRunner.defaultJava() : training.getJava();
+    final String name = training.getName() == null ? project.getName() : training.getName();
+
+    final var runner = new TrainingRunner(java, classpath(files), project.getBuildDir(), name, training.getArchiveDir(), project.getLogger()::lifecycle);
+    try {
+      final File archive = runner.run(training.getMode(), training.getWarmup(), training.getJvmArgs());
+      project.getLogger().lifecycle("Training run generated " + archive);
+    } catch (IOException | IllegalArgumentException e) {
+      throw new GradleException("Failed training run", e);
+    }
+  }
+
+  /**
+   * Generate the registry of all the modules (in wiring order) and plugins in the runtime
+   * classpath into the main classes directory.
+   */
+  private void writeRegistry(Project project) {
+    final SourceSet main = project.getExtensions().getByType(SourceSetContainer.class).getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+    final File outputDir = main.getJava().getDestinationDirectory().get().getAsFile();
+    final List<File> dependencies = new ArrayList<>(main.getOutput().getFiles());
+    dependencies.remove(outputDir);
+    dependencies.addAll(project.getConfigurations().getByName("runtimeClasspath").resolve());
+    final List<File> files = new ArrayList<>();
+    files.add(outputDir);
+    files.addAll(dependencies);
+    final String release = project.getExtensions().getByType(JavaPluginExtension.class).getTargetCompatibility().getMajorVersion();
+
+    try (var classLoader = new URLClassLoader(urls(files), Thread.currentThread().getContextClassLoader())) {
+      final var writer = new ModuleRegistryWriter(classLoader, dependencies);
+      writer.load();
+      final var sourceDir = new File(project.getBuildDir(), "generated/sources/avaje-registry");
+      writer.write(sourceDir, outputDir, classpath(files), release);
+      project.getLogger().lifecycle("Generated " + writer);
+    } catch (IllegalStateException e) {
+      project.getLogger().warn(e.getMessage());
+    } catch (IOException e) {
+      throw new GradleException("Failed to write the module registry", e);
+    }
+  }
+
+  private static URL[] urls(List<File> files) {
+    try {
+      final URL[] urls = new URL[files.size()];
+      for (int i = 0; i < urls.length; i++) {
+        urls[i] = files.get(i).toURI().toURL();
+      }
+      return urls;
+    } catch (MalformedURLException e) {
+      throw new GradleException("Error building classpath", e);
+    }
+  }
+
+  private static String classpath(List<File> files) {
+    final var sb = new StringBuilder();
+    for (File file : files) {
+      if (sb.length() > 0) {
+        sb.append(File.pathSeparatorChar);
+      }
+      sb.append(file.getPath());
+    }
+    return sb.toString();
   }
 
   private void writeProvides(Project project) {
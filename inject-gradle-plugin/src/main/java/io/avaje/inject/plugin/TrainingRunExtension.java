@@ -0,0 +1,92 @@
+package io.avaje.inject.plugin;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of the {@code trainingRun} task.
+ *
+ * <pre>{@code
+ * avajeTraining {
+ *   mode = 'aot'
+ *   warmup = 'org.example.Warmup#run'
+ * }
+ * }</pre>
+ */
+public class TrainingRunExtension {
+
+  private String mode = "cds";
+  private String warmup;
+  private List<String> jvmArgs = new ArrayList<>();
+  private String java;
+  private String name;
+  private String archiveDir;
+
+  /**
+   * One of {@code cds} (dynamic AppCDS archive), {@code classlist} or {@code aot} (JDK 24+ AOT cache).
+   */
+  public String getMode() {
+    return mode;
+  }
+
+  public void setMode(String mode) {
+    this.mode = mode;
+  }
+
+  /**
+   * The warm-up entry point run after the BeanScope is built as {@code className} or
+   * {@code className#methodName}, the method defaults to {@code run}.
+   */
+  public String getWarmup() {
+    return warmup;
+  }
+
+  public void setWarmup(String warmup) {
+    this.warmup = warmup;
+  }
+
+  /**
+   * Additional arguments of the training JVM.
+   */
+  public List<String> getJvmArgs() {
+    return jvmArgs;
+  }
+
+  public void setJvmArgs(List<String> jvmArgs) {
+    this.jvmArgs = jvmArgs;
+  }
+
+  /**
+   * The java executable of the training JVM, defaults to the JVM running gradle.
+   */
+  public String getJava() {
+    return java;
+  }
+
+  public void setJava(String java) {
+    this.java = java;
+  }
+
+  /**
+   * The base name of the generated archive files, defaults to the project name.
+   */
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  /**
+   * The directory of the archive when the application is run (for example {@code /app} in a
+   * container image) used by the generated {@code .args} file, defaults to the working directory.
+   */
+  public String getArchiveDir() {
+    return archiveDir;
+  }
+
+  public void setArchiveDir(String archiveDir) {
+    this.archiveDir = archiveDir;
+  }
+}
@@ -0,0 +1,243 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generate the synthetic bean sources used by the benchmarks.
+ * <p>
+ * Run as a single file source program (Java 11+) during {@code generate-sources}:
+ * <pre>{@code
+ *
+ *   java src/build/SyntheticBeans.java target/generated-sources/synthetic
+ *
+ * }</pre>
+ * <p>
+ * Each synthetic module is a custom scope containing chains of 10 beans where each bean
+ * depends on the previous bean. The first bean of each chain implements {@code Handler}
+ * with a {@code @Named} qualifier and {@code @Priority}, the 6th bean implements the
+ * generic {@code Repo<T>}. Scopes larger than 1,000 beans are split into multiple modules
+ * of 1,000 beans.
+ * <p>
+ * The 1,000 beans are also generated with {@code @InjectModule(consolidateBeans = 100)} as
+ * "1000c" for the startup benchmark comparing the number of generated classes loaded.
+ * <p>
+ * Additionally 8 independent "slow" modules are generated for the parallel build benchmark.
+ * Each has a {@code Pool} bean that sleeps for 20 millis in its constructor (like opening a
+ * connection pool) and a chain of 100 beans that depend on it.
+ */
+public class SyntheticBeans {
+
+  private static final String BASE = "io.avaje.inject.jmh";
+  private static final String PKG = BASE + ".synthetic";
+  private static final int MODULE_SIZE = 1000;
+  private static final int CHAIN = 10;
+  private static final int SLOW_MODULES = 8;
+  private static final int SLOW_BEANS = 100;
+  private static final int CONSOLIDATE_BEANS = 100;
+
+  public static void main(String[] args) throws IOException {
+    Path root = Path.of(args[0]);
+    for (int size : new int[]{100, 1000, 10000}) {
+      new SyntheticBeans(root, size, false).generate();
+    }
+    new SyntheticBeans(root, 1000, true).generate();
+    writeSlowModules(root);
+  }
+
+  private static void writeSlowModules(Path root) throws IOException {
+    List<String> slowModules = new ArrayList<>();
+    for (int m = 0; m < SLOW_MODULES; m++) {
+      String name = "Slow" + m;
+      String pkg = PKG + "." + name.toLowerCase();
+      slowModules.add(pkg + "." + name + "Module");
+      write(root, pkg, name + "Scope",
+        "package " + pkg + ";\n\n"
+          + "import io.avaje.inject.InjectModule;\n"
+          + "import jakarta.inject.Scope;\n\n"
+          + "@Scope\n"
+          + "@InjectModule\n"
+          + "public @interface " + name + "Scope {}\n");
+      write(root, pkg, "Pool",
+        "package " + pkg + ";\n\n"
+          + "@" + name + "Scope\n"
+          + "public class Pool {\n\n"
+          + "  public Pool() {\n"
+          + "    try {\n"
+          + "      Thread.sleep(20);\n"
+          + "    } catch (InterruptedException e) {\n"
+          + "      Thread.currentThread().interrupt();\n"
+          + "    }\n"
+          + "  }\n"
+          + "}\n");
+      for (int i = 0; i < SLOW_BEANS; i++) {
+        String dependency = i == 0 ? "Pool" : "Bean" + (i - 1);
+        write(root, pkg, "Bean" + i,
+          "package " + pkg + ";\n\n"
+            + "@" + name + "Scope\n"
+            + "public class Bean" + i + " {\n\n"
+            + "  private final " + dependency + " dependency;\n\n"
+            + "  public Bean" + i + "(" + dependency + " dependency) {\n"
+            + "    this.dependency = dependency;\n"
+            + "  }\n"
+            + "}\n");
+      }
+    }
+    var sb = new StringBuilder();
+    sb.append("package ").append(PKG).append(";\n\n");
+    sb.append("import io.avaje.inject.spi.AvajeModule;\n\n");
+    sb.append("public final class SyntheticSlow {\n\n");
+    sb.append("  public static AvajeModule[] modules() {\n");
+    sb.append("    return new AvajeModule[] {\n");
+    for (String module : slowModules) {
+      sb.append("      new ").append(module).append("(),\n");
+    }
+    sb.append("    };\n");
+    sb.append("  }\n");
+    sb.append("}\n");
+    write(root, PKG, "SyntheticSlow", sb.toString());
+  }
+
+  private final Path root;
+  private final int size;
+  private final boolean consolidate;
+  private final List<String> modules = new ArrayList<>();
+
+  SyntheticBeans(Path root, int size, boolean consolidate) {
+    this.root = root;
+    this.size = size;
+    this.consolidate = consolidate;
+  }
+
+  private String scopeName() {
+    return consolidate ? size + "c" : String.valueOf(size);
+  }
+
+  void generate() throws IOException {
+    int parts = Math.max(1, size / MODULE_SIZE);
+    int perModule = size / parts;
+    for (int part = 0; part < parts; part++) {
+      String prefix = consolidate ? "C" : "B";
+      String name = parts == 1 ? prefix + size : prefix + size + "p" + part;
+      writeModule(name, part * perModule, perModule);
+    }
+    writeDescriptor(parts, perModule);
+  }
+
+  private void writeModule(String name, int offset, int count) throws IOException {
+    String pkg = PKG + "." + name.toLowerCase();
+    modules.add(pkg + "." + name + "Module");
+    write(pkg, name + "Scope",
+      "package " + pkg + ";\n\n"
+        + "import io.avaje.inject.InjectModule;\n"
+        + "import jakarta.inject.Scope;\n\n"
+        + "@Scope\n"
+        + (consolidate ? "@InjectModule(consolidateBeans = " + CONSOLIDATE_BEANS + ")\n" : "@InjectModule\n")
+        + "public @interface " + name + "Scope {}\n");
+
+    for (int i = 0; i < count; i++) {
+      writeBean(pkg, name + "Scope", offset, i);
+    }
+  }
+
+  private void writeBean(String pkg, String scope, int offset, int i) throws IOException {
+    String bean = "Bean" + i;
+    String dependency = "Bean" + (i - 1);
+    boolean handler = i % CHAIN == 0;
+    boolean repo = i % CHAIN == CHAIN / 2;
+
+    var sb = new StringBuilder();
+    sb.append("package ").append(pkg).append(";\n\n");
+    if (handler) {
+      sb.append("import ").append(BASE).append(".Handler;\n");
+      sb.append("import io.avaje.inject.Priority;\n");
+      sb.append("import jakarta.inject.Named;\n\n");
+    } else if (repo) {
+      sb.append("import ").append(BASE).append(".Repo;\n\n");
+    }
+    sb.append("@").append(scope).append("\n");
+    if (handler) {
+      // reverse the priority so that listByPriority needs to reorder
+      sb.append("@Named(\"handler").append(offset + i).append("\")\n");
+      sb.append("@Priority(").append(size - (offset + i)).append(")\n");
+      sb.append("public class ").append(bean).append(" implements Handler {\n\n");
+      sb.append("  @Override\n");
+      sb.append("  public int id() {\n");
+      sb.append("    return ").append(offset + i).append(";\n");
+      sb.append("  }\n");
+    } else {
+      sb.append("public class ").append(bean);
+      if (repo) {
+        sb.append(" implements Repo<").append(dependency).append(">");
+      }
+      sb.append(" {\n\n");
+      sb.append("  private final ").append(dependency).append(" dependency;\n\n");
+      sb.append("  public ").append(bean).append("(").append(dependency).append(" dependency) {\n");
+      sb.append("    this.dependency = dependency;\n");
+      sb.append("  }\n");
+      if (repo) {
+        sb.append("\n  @Override\n");
+        sb.append("  public ").append(dependency).append(" find() {\n");
+        sb.append("    return dependency;\n");
+        sb.append("  }\n");
+      }
+    }
+    sb.append("}\n");
+    write(pkg, bean, sb.toString());
+  }
+
+  /**
+   * Write the SyntheticScope implementation used by the benchmarks to locate the modules
+   * and the types to lookup.
+   */
+  private void writeDescriptor(int parts, int perModule) throws IOException {
+    String middleModule = modules.get(parts / 2);
+    String middlePkg = middleModule.substring(0, middleModule.lastIndexOf('.'));
+    int middleOffset = (parts / 2) * perModule;
+    int middle = perModule / 2;
+    int handler = middle - middle % CHAIN;
+    int repo = handler + CHAIN / 2;
+
+    var sb = new StringBuilder();
+    sb.append("package ").append(PKG).append(";\n\n");
+    sb.append("import java.lang.reflect.Type;\n\n");
+    sb.append("import ").append(BASE).append(".Repo;\n");
+    sb.append("import ").append(BASE).append(".SyntheticScope;\n");
+    sb.append("import io.avaje.inject.spi.AvajeModule;\n");
+    sb.append("import io.avaje.inject.spi.GenericType;\n\n");
+    sb.append("public final class Synthetic").append(scopeName()).append(" implements SyntheticScope {\n\n");
+    sb.append("  @Override\n");
+    sb.append("  public AvajeModule[] modules() {\n");
+    sb.append("    return new AvajeModule[] {\n");
+    for (String module : modules) {
+      sb.append("      new ").append(module).append("(),\n");
+    }
+    sb.append("    };\n");
+    sb.append("  }\n\n");
+    sb.append("  @Override\n");
+    sb.append("  public Class<?> beanType() {\n");
+    sb.append("    return ").append(middlePkg).append(".Bean").append(middle + 1).append(".class;\n");
+    sb.append("  }\n\n");
+    sb.append("  @Override\n");
+    sb.append("  public String handlerName() {\n");
+    sb.append("    return \"handler").append(middleOffset + handler).append("\";\n");
+    sb.append("  }\n\n");
+    sb.append("  @Override\n");
+    sb.append("  public Type repoType() {\n");
+    sb.append("    return new GenericType<Repo<").append(middlePkg).append(".Bean").append(repo - 1).append(">>(){}.type();\n");
+    sb.append("  }\n");
+    sb.append("}\n");
+    write(PKG, "Synthetic" + scopeName(), sb.toString());
+  }
+
+  private void write(String pkg, String name, String content) throws IOException {
+    write(root, pkg, name, content);
+  }
+
+  private static void write(Path root, String pkg, String name, String content) throws IOException {
+    Path dir = root.resolve(pkg.replace('.', '/'));
+    Files.createDirectories(dir);
+    Files.writeString(dir.resolve(name + ".java"), content);
+  }
+}
@@ -0,0 +1,79 @@
+package io.avaje.inject.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.avaje.inject.BeanScope;
+import io.avaje.inject.jmh.dispatch.Calc;
+
+/**
+ * Cost per call of the generated $Proxy with 0, 1, 3 and 5 pass through aspects compared to
+ * a direct call on an instance that is not proxied.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AspectBenchmark {
+
+  private BeanScope scope;
+  private Calc direct;
+  private Calc proxy;
+  // not constants so the calls are not folded
+  private int a = 3;
+  private int b = 4;
+
+  @Setup
+  public void setup() {
+    Logging.quiet();
+    scope = BeanScope.builder().build();
+    proxy = scope.get(Calc.class);
+    if (!proxy.getClass().getName().endsWith("$Proxy")) {
+      throw new IllegalStateException("Expected a $Proxy but got " + proxy.getClass());
+    }
+    direct = new Calc();
+  }
+
+  @TearDown
+  public void tearDown() {
+    scope.close();
+  }
+
+  @Benchmark
+  public int direct() {
+    return direct.one(a, b);
+  }
+
+  @Benchmark
+  public int aspects_0() {
+    return proxy.plain(a, b);
+  }
+
+  @Benchmark
+  public int aspects_1() {
+    return proxy.one(a, b);
+  }
+
+  @Benchmark
+  public int aspects_3() {
+    return proxy.three(a, b);
+  }
+
+  @Benchmark
+  public int aspects_5() {
+    return proxy.five(a, b);
+  }
+}
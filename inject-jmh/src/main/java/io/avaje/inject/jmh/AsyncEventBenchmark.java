@@ -0,0 +1,73 @@
+package io.avaje.inject.jmh;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.avaje.inject.BeanScope;
+import io.avaje.inject.events.Event;
+import io.avaje.inject.events.Observer;
+import io.avaje.inject.events.ObserverManager;
+import io.avaje.inject.jmh.dispatch.Ping;
+
+/**
+ * Throughput and latency of {@code Event.fireAsync()} to 1 and 10 async observers from 8
+ * threads, waiting for each fired event to complete.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class AsyncEventBenchmark {
+
+  @Param({"1", "10"})
+  int observers;
+
+  private BeanScope scope;
+  private Event<Ping> event;
+  private final Ping ping = new Ping(1);
+  private final LongAdder observed = new LongAdder();
+
+  @Setup
+  public void setup() {
+    Logging.quiet();
+    scope = BeanScope.builder().build();
+    ObserverManager manager = scope.get(ObserverManager.class);
+    for (int i = 0; i < observers; i++) {
+      manager.registerObserver(Ping.class, new Observer<Ping>(i, true, p -> observed.increment(), ""));
+    }
+    event = new Event<>(manager, Ping.class) {};
+  }
+
+  @TearDown
+  public void tearDown() {
+    scope.close();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  public Ping throughput() {
+    return event.fireAsync(ping).toCompletableFuture().join();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  public Ping latency() {
+    return event.fireAsync(ping).toCompletableFuture().join();
+  }
+}
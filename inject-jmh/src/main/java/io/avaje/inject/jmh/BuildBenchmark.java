@@ -0,0 +1,50 @@
+package io.avaje.inject.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.avaje.inject.BeanScope;
+
+/**
+ * Time to build (and close) a BeanScope for the synthetic modules.
+ * <p>
+ * This covers {@code DBeanScopeBuilder.build()}, module ordering, the generated
+ * module build methods and the registration into {@code DBeanMap}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuildBenchmark {
+
+  @Param({"100", "1000", "10000"})
+  int beans;
+
+  private SyntheticScope synthetic;
+
+  @Setup
+  public void setup() {
+    Logging.quiet();
+    synthetic = SyntheticScope.of(beans);
+  }
+
+  @Benchmark
+  public Object build() {
+    try (BeanScope scope = BeanScope.builder().modules(synthetic.modules()).build()) {
+      return scope;
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package io.avaje.inject.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.avaje.inject.BeanScope;
+import io.avaje.inject.events.Event;
+import io.avaje.inject.events.Observer;
+import io.avaje.inject.events.ObserverManager;
+import io.avaje.inject.jmh.dispatch.Ping;
+
+/**
+ * Cost of {@code Event.fire()} to 1, 10 and 100 observers.
+ * <p>
+ * With {@code qualified} every second observer has the "blue" qualifier and the event is
+ * fired with that qualifier, otherwise all the observers are unqualified.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBenchmark {
+
+  @Param({"1", "10", "100"})
+  int observers;
+
+  @Param({"false", "true"})
+  boolean qualified;
+
+  private BeanScope scope;
+  private Event<Ping> event;
+  private final Ping ping = new Ping(1);
+  private int observed;
+
+  @Setup
+  public void setup() {
+    Logging.quiet();
+    scope = BeanScope.builder().build();
+    ObserverManager manager = scope.get(ObserverManager.class);
+    for (int i = 0; i < observers; i++) {
+      String qualifier = qualified && i % 2 == 0 ? "blue" : "";
+      manager.registerObserver(Ping.class, new Observer<Ping>(i, false, p -> observed++, qualifier));
+    }
+    event = new Event<>(manager, Ping.class) {};
+  }
+
+  @TearDown
+  public void tearDown() {
+    scope.close();
+  }
+
+  @Benchmark
+  public int fire() {
+    if (qualified) {
+      event.fire(ping, "blue");
+    } else {
+      event.fire(ping);
+    }
+    return observed;
+  }
+}
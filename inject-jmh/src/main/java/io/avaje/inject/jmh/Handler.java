@@ -0,0 +1,9 @@
+package io.avaje.inject.jmh;
+
+/**
+ * Implemented by every 10th synthetic bean, registered with a qualifier name and priority.
+ */
+public interface Handler {
+
+  int id();
+}
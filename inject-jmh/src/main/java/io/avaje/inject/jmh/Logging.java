@@ -0,0 +1,20 @@
+package io.avaje.inject.jmh;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Turn off the per build INFO logging so that it does not dominate the measurements.
+ */
+final class Logging {
+
+  // hold a strong reference, otherwise the level can be lost when the logger is collected
+  private static final Logger INJECT = Logger.getLogger("io.avaje.inject");
+
+  private Logging() {
+  }
+
+  static void quiet() {
+    INJECT.setLevel(Level.WARNING);
+  }
+}
@@ -0,0 +1,94 @@
+package io.avaje.inject.jmh;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.avaje.inject.BeanEntry;
+import io.avaje.inject.BeanScope;
+
+/**
+ * Lookups against a built BeanScope, the operations typically performed on request paths.
+ * <p>
+ * Run with {@code -prof gc} to report the allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+
+  @Param({"100", "1000", "10000"})
+  int beans;
+
+  private BeanScope scope;
+  private Class<?> beanType;
+  private String handlerName;
+  private Type repoType;
+
+  @Setup
+  public void setup() {
+    Logging.quiet();
+    SyntheticScope synthetic = SyntheticScope.of(beans);
+    scope = BeanScope.builder().modules(synthetic.modules()).build();
+    beanType = synthetic.beanType();
+    handlerName = synthetic.handlerName();
+    repoType = synthetic.repoType();
+  }
+
+  @TearDown
+  public void tearDown() {
+    scope.close();
+  }
+
+  @Benchmark
+  public Object getByClass() {
+    return scope.get(beanType);
+  }
+
+  @Benchmark
+  public Object getByTypeAndName() {
+    return scope.get((Type) Handler.class, handlerName);
+  }
+
+  @Benchmark
+  public Object getByGenericType() {
+    return scope.get(repoType, null);
+  }
+
+  @Benchmark
+  public List<Handler> list() {
+    return scope.list(Handler.class);
+  }
+
+  @Benchmark
+  public List<Handler> listByPriority() {
+    return scope.listByPriority(Handler.class);
+  }
+
+  @Benchmark
+  public Map<String, Handler> map() {
+    return scope.map(Handler.class);
+  }
+
+  @Benchmark
+  public List<BeanEntry> all() {
+    return scope.all();
+  }
+}
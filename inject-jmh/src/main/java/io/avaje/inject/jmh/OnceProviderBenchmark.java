@@ -0,0 +1,77 @@
+package io.avaje.inject.jmh;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.avaje.inject.BeanScope;
+
+/**
+ * Concurrent lookups of a provider registered singleton, the lookup that reads a 'once' provider.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OnceProviderBenchmark {
+
+  /**
+   * The provided bean type.
+   */
+  public static final class Lazy {
+  }
+
+  private BeanScope scope;
+
+  @Setup
+  public void setup() {
+    Logging.quiet();
+    Supplier<Lazy> supplier = Lazy::new;
+    scope = BeanScope.builder().provideDefault(Lazy.class, supplier).build();
+    // create the bean so that only the read path is measured
+    scope.get(Lazy.class);
+  }
+
+  @TearDown
+  public void tearDown() {
+    scope.close();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Object get_1() {
+    return scope.get(Lazy.class);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public Object get_4() {
+    return scope.get(Lazy.class);
+  }
+
+  @Benchmark
+  @Threads(16)
+  public Object get_16() {
+    return scope.get(Lazy.class);
+  }
+
+  @Benchmark
+  @Threads(64)
+  public Object get_64() {
+    return scope.get(Lazy.class);
+  }
+}
@@ -0,0 +1,55 @@
+package io.avaje.inject.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.avaje.inject.BeanScope;
+import io.avaje.inject.jmh.synthetic.SyntheticSlow;
+
+/**
+ * Startup time building independent modules in order versus {@code parallelBuild(true)}.
+ * <p>
+ * The "slow" scope is 8 modules that each have a bean taking 20 millis to construct,
+ * the "10000" scope is 10 modules of 1,000 beans with no slow beans.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelBuildBenchmark {
+
+  @Param({"slow", "10000"})
+  String modules;
+
+  @Param({"false", "true"})
+  boolean parallel;
+
+  @Setup
+  public void setup() {
+    Logging.quiet();
+  }
+
+  @Benchmark
+  public Object build() {
+    var builder = BeanScope.builder()
+      .parallelBuild(parallel)
+      .modules("slow".equals(modules) ? SyntheticSlow.modules() : SyntheticScope.of(10000).modules());
+
+    try (BeanScope scope = builder.build()) {
+      return scope;
+    }
+  }
+}
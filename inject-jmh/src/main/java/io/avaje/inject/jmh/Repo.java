@@ -0,0 +1,9 @@
+package io.avaje.inject.jmh;
+
+/**
+ * Generic interface implemented by some synthetic beans to give parameterized type keys.
+ */
+public interface Repo<T> {
+
+  T find();
+}
@@ -0,0 +1,43 @@
+package io.avaje.inject.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.avaje.inject.BeanScope;
+
+/**
+ * Cold start time of the first build of the 1,000 bean scope in a fresh JVM, comparing a
+ * generated class per bean ("1000") with {@code consolidateBeans = 100} ("1000c").
+ * <p>
+ * This includes loading and linking the generated classes. Run with {@code -prof cl} to
+ * report the number of classes loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class StartupBenchmark {
+
+  @Param({"1000", "1000c"})
+  String scope;
+
+  @Benchmark
+  public Object build() {
+    Logging.quiet();
+    try (BeanScope beanScope = BeanScope.builder().modules(SyntheticScope.of(scope).modules()).build()) {
+      return beanScope;
+    }
+  }
+}
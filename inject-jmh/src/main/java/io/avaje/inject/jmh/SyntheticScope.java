@@ -0,0 +1,54 @@
+package io.avaje.inject.jmh;
+
+import java.lang.reflect.Type;
+
+import io.avaje.inject.spi.AvajeModule;
+
+/**
+ * A generated synthetic set of modules with a known number of beans.
+ * <p>
+ * Implementations are generated by {@code src/build/SyntheticBeans.java} for
+ * 100, 1,000 and 10,000 beans (and 1,000 beans with consolidateBeans).
+ */
+public interface SyntheticScope {
+
+  /**
+   * Return the synthetic scope for the given number of beans.
+   */
+  static SyntheticScope of(int beans) {
+    return of(String.valueOf(beans));
+  }
+
+  /**
+   * Return the synthetic scope by name, for example "1000" or "1000c" for the 1,000 beans
+   * generated with consolidateBeans.
+   */
+  static SyntheticScope of(String name) {
+    try {
+      Class<?> cls = Class.forName("io.avaje.inject.jmh.synthetic.Synthetic" + name);
+      return (SyntheticScope) cls.getConstructor().newInstance();
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalArgumentException("No synthetic scope generated for " + name, e);
+    }
+  }
+
+  /**
+   * Return new instances of the modules that make up this scope.
+   */
+  AvajeModule[] modules();
+
+  /**
+   * Return a bean class from the middle of the dependency graph.
+   */
+  Class<?> beanType();
+
+  /**
+   * Return the qualifier name of a Handler bean from the middle of the graph.
+   */
+  String handlerName();
+
+  /**
+   * Return a parameterized {@code Repo<BeanX>} type that has a single bean.
+   */
+  Type repoType();
+}
@@ -0,0 +1,76 @@
+package io.avaje.inject.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.avaje.inject.BeanScope;
+import io.avaje.inject.jmh.dispatch.Calc;
+import io.avaje.inject.timed.Timer;
+import io.avaje.inject.timed.TimerRegistry;
+
+/**
+ * Overhead per call of the {@code @Timed} aspect compared to a single pass through aspect, and
+ * the cost of recording into the striped histogram from 1 and 8 threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimedBenchmark {
+
+  private BeanScope scope;
+  private Calc proxy;
+  private Timer timer;
+  // not constants so the calls are not folded
+  private int a = 3;
+  private int b = 4;
+  private long nanos = 1_234_567;
+
+  @Setup
+  public void setup() {
+    Logging.quiet();
+    scope = BeanScope.builder().build();
+    proxy = scope.get(Calc.class);
+    timer = scope.get(TimerRegistry.class).timer("TimedBenchmark.record");
+  }
+
+  @TearDown
+  public void tearDown() {
+    scope.close();
+  }
+
+  @Benchmark
+  public int passThrough() {
+    return proxy.one(a, b);
+  }
+
+  @Benchmark
+  public int timed() {
+    return proxy.timed(a, b);
+  }
+
+  @Benchmark
+  public void record() {
+    timer.record(nanos);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void record_8threads() {
+    timer.record(nanos);
+  }
+}
@@ -0,0 +1,19 @@
+package io.avaje.inject.jmh.dispatch;
+
+import java.lang.reflect.Method;
+
+import io.avaje.inject.aop.AspectProvider;
+import io.avaje.inject.aop.MethodInterceptor;
+import jakarta.inject.Singleton;
+
+/**
+ * Provides the pass through interceptor for {@link Around1}.
+ */
+@Singleton
+public class Around1Aspect implements AspectProvider<Around1> {
+
+  @Override
+  public MethodInterceptor interceptor(Method method, Around1 annotation) {
+    return PassThrough.INSTANCE;
+  }
+}
@@ -0,0 +1,19 @@
+package io.avaje.inject.jmh.dispatch;
+
+import java.lang.reflect.Method;
+
+import io.avaje.inject.aop.AspectProvider;
+import io.avaje.inject.aop.MethodInterceptor;
+import jakarta.inject.Singleton;
+
+/**
+ * Provides the pass through interceptor for {@link Around3}.
+ */
+@Singleton
+public class Around3Aspect implements AspectProvider<Around3> {
+
+  @Override
+  public MethodInterceptor interceptor(Method method, Around3 annotation) {
+    return PassThrough.INSTANCE;
+  }
+}
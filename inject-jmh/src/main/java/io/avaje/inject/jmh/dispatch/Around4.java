@@ -0,0 +1,17 @@
+package io.avaje.inject.jmh.dispatch;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import io.avaje.inject.aop.Aspect;
+
+/**
+ * Pass through aspect 4 of 5.
+ */
+@Aspect(ordering = 4)
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Around4 {
+}
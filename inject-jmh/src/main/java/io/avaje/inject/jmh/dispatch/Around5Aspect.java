@@ -0,0 +1,19 @@
+package io.avaje.inject.jmh.dispatch;
+
+import java.lang.reflect.Method;
+
+import io.avaje.inject.aop.AspectProvider;
+import io.avaje.inject.aop.MethodInterceptor;
+import jakarta.inject.Singleton;
+
+/**
+ * Provides the pass through interceptor for {@link Around5}.
+ */
+@Singleton
+public class Around5Aspect implements AspectProvider<Around5> {
+
+  @Override
+  public MethodInterceptor interceptor(Method method, Around5 annotation) {
+    return PassThrough.INSTANCE;
+  }
+}
@@ -0,0 +1,44 @@
+package io.avaje.inject.jmh.dispatch;
+
+import io.avaje.inject.timed.Timed;
+import jakarta.inject.Singleton;
+
+/**
+ * Bean with the same method intercepted by 0, 1, 3 and 5 aspects and by the {@code @Timed} aspect.
+ */
+@Singleton
+public class Calc {
+
+  /**
+   * Not intercepted, so not overridden by the $Proxy.
+   */
+  public int plain(int a, int b) {
+    return a + b;
+  }
+
+  @Around1
+  public int one(int a, int b) {
+    return a + b;
+  }
+
+  @Around1
+  @Around2
+  @Around3
+  public int three(int a, int b) {
+    return a + b;
+  }
+
+  @Around1
+  @Around2
+  @Around3
+  @Around4
+  @Around5
+  public int five(int a, int b) {
+    return a + b;
+  }
+
+  @Timed
+  public int timed(int a, int b) {
+    return a + b;
+  }
+}
@@ -0,0 +1,17 @@
+package io.avaje.inject.jmh.dispatch;
+
+import io.avaje.inject.aop.Invocation;
+import io.avaje.inject.aop.MethodInterceptor;
+
+/**
+ * Interceptor that only proceeds so that the measurements are the interception overhead.
+ */
+final class PassThrough implements MethodInterceptor {
+
+  static final PassThrough INSTANCE = new PassThrough();
+
+  @Override
+  public void invoke(Invocation invocation) throws Throwable {
+    invocation.invoke();
+  }
+}
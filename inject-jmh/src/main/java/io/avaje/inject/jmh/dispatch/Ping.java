@@ -0,0 +1,13 @@
+package io.avaje.inject.jmh.dispatch;
+
+/**
+ * The event fired by the event benchmarks.
+ */
+public final class Ping {
+
+  final int value;
+
+  public Ping(int value) {
+    this.value = value;
+  }
+}
@@ -0,0 +1,99 @@
+package io.avaje.inject.mojo;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+import io.avaje.inject.build.ModuleRegistryWriter;
+
+/**
+ * Plugin that generates the <code>io.avaje.inject.registry.AvajeModuleRegistry</code> class
+ * holding all the avaje-inject modules (in wiring order) and plugins in the runtime classpath.
+ *
+ * <p>The BeanScope is then built using the registry rather than using ServiceLoader to discover
+ * the modules and plugins. This should only be used for the application and not for libraries.
+ */
+@Mojo(
+    name = "registry",
+    defaultPhase = LifecyclePhase.PREPARE_PACKAGE,
+    requiresDependencyResolution = ResolutionScope.RUNTIME,
+    threadSafe = true)
+public class ModuleRegistryMojo extends AbstractMojo {
+
+  @Parameter(defaultValue = "${project}", readonly = true, required = true)
+  private MavenProject project;
+
+  /**
+   * The java release the registry is compiled for.
+   */
+  @Parameter(defaultValue = "${maven.compiler.release}")
+  private String release;
+
+  @Override
+  public void execute() throws MojoExecutionException {
+    final var outputDir = new File(project.getBuild().getOutputDirectory());
+    final var sourceDir = new File(project.getBuild().getDirectory(), "generated-sources/avaje-registry");
+    final List<File> files = runtimeClasspath(outputDir);
+
+    try (var classLoader = new URLClassLoader(urls(files), Thread.currentThread().getContextClassLoader())) {
+      final var writer = new ModuleRegistryWriter(classLoader, files.subList(1, files.size()));
+      writer.load();
+      writer.write(sourceDir, outputDir, classpath(files), release);
+      getLog().info("Generated " + writer);
+    } catch (final IllegalStateException e) {
+      getLog().warn(e.getMessage());
+    } catch (final IOException e) {
+      throw new MojoExecutionException("Failed to write the module registry", e);
+    }
+  }
+
+  /**
+   * Return the output directory followed by the runtime dependencies.
+   */
+  private List<File> runtimeClasspath(File outputDir) {
+    final List<File> files = new ArrayList<>();
+    files.add(outputDir);
+    for (final Artifact artifact : project.getArtifacts()) {
+      if (artifact.getArtifactHandler().isAddedToClasspath() && !Artifact.SCOPE_TEST.equals(artifact.getScope())) {
+        files.add(artifact.getFile());
+      }
+    }
+    return files;
+  }
+
+  private static URL[] urls(List<File> files) throws MojoExecutionException {
+    final URL[] urls = new URL[files.size()];
+    try {
+      for (int i = 0; i < urls.length; i++) {
+        urls[i] = files.get(i).toURI().toURL();
+      }
+    } catch (final MalformedURLException e) {
+      throw new MojoExecutionException("Failed to get runtime dependencies", e);
+    }
+    return urls;
+  }
+
+  private static String classpath(List<File> files) {
+    final var sb = new StringBuilder();
+    for (final File file : files) {
+      if (sb.length() > 0) {
+        sb.append(File.pathSeparatorChar);
+      }
+      sb.append(file.getPath());
+    }
+    return sb.toString();
+  }
+}
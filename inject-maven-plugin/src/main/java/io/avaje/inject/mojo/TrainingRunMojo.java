@@ -0,0 +1,117 @@
+package io.avaje.inject.mojo;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+import io.avaje.inject.build.TrainingRunner;
+
+/**
+ * Plugin that runs a training JVM which builds the BeanScope, runs the warm-up entry point and
+ * closes the scope to generate an AppCDS archive, class list or AOT cache for the application.
+ *
+ * <p>The training run uses the packaged jar and the runtime dependencies so the archive can be
+ * used when the application is run with the same classpath (for example in a container image).
+ */
+@Mojo(
+    name = "training-run",
+    defaultPhase = LifecyclePhase.PACKAGE,
+    requiresDependencyResolution = ResolutionScope.RUNTIME,
+    threadSafe = true)
+public class TrainingRunMojo extends AbstractMojo {
+
+  @Parameter(defaultValue = "${project}", readonly = true, required = true)
+  private MavenProject project;
+
+  /**
+   * One of {@code cds} (dynamic AppCDS archive), {@code classlist} or {@code aot} (JDK 24+ AOT cache).
+   */
+  @Parameter(property = "avaje.training.mode", defaultValue = "cds")
+  private String mode;
+
+  /**
+   * The warm-up entry point run after the BeanScope is built as {@code className} or
+   * {@code className#methodName}, the method defaults to {@code run}.
+   */
+  @Parameter(property = "avaje.training.warmup")
+  private String warmup;
+
+  /**
+   * Additional arguments of the training JVM.
+   */
+  @Parameter
+  private List<String> jvmArgs;
+
+  /**
+   * The java executable of the training JVM, defaults to the JVM running maven.
+   */
+  @Parameter(property = "avaje.training.java")
+  private String java;
+
+  /**
+   * The base name of the generated archive files.
+   */
+  @Parameter(defaultValue = "${project.build.finalName}")
+  private String name;
+
+  /**
+   * The directory of the archive when the application is run (for example {@code /app} in a
+   * container image) used by the generated {@code .args} file, defaults to the working directory.
+   */
+  @Parameter(property = "avaje.training.archiveDir")
+  private String archiveDir;
+
+  @Parameter(property = "avaje.training.skip", defaultValue = "false")
+  private boolean skip;
+
+  @Override
+  public void execute() throws MojoExecutionException {
+    if (skip) {
+      getLog().info("Training run skipped");
+      return;
+    }
+    final var outputDir = new File(project.getBuild().getDirectory());
+    final var runner = new TrainingRunner(java == null ? TrainingRunner.defaultJava() : java, classpath(), outputDir, name, archiveDir, getLog()::info);
+    try {
+      final File archive = runner.run(mode, warmup, jvmArgs);
+      getLog().info("Training run generated " + archive);
+    } catch (IOException | IllegalArgumentException e) {
+      throw new MojoExecutionException("Failed training run", e);
+    }
+  }
+
+  private String classpath() {
+    final List<File> files = new ArrayList<>();
+    final File jar = project.getArtifact().getFile();
+    if (jar != null && jar.isFile()) {
+      files.add(jar);
+    } else {
+      getLog().warn("Training run using " + project.getBuild().getOutputDirectory()
+        + " as the project jar is not packaged, cds does not support non-empty directories in the classpath");
+      files.add(new File(project.getBuild().getOutputDirectory()));
+    }
+    for (final Artifact artifact : project.getArtifacts()) {
+      if (artifact.getArtifactHandler().isAddedToClasspath() && !Artifact.SCOPE_TEST.equals(artifact.getScope())) {
+        files.add(artifact.getFile());
+      }
+    }
+    final var sb = new StringBuilder();
+    for (final File file : files) {
+      if (sb.length() > 0) {
+        sb.append(File.pathSeparatorChar);
+      }
+      sb.append(file.getPath());
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,19 @@
+package org.example.asyncinit;
+
+import io.avaje.inject.BeanScope;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncInitTest {
+
+  @Test
+  void asyncPostConstruct_expect_completedBeforeDependents() {
+    try (BeanScope scope = BeanScope.builder().build()) {
+      Warmup warmup = scope.get(Warmup.class);
+      assertThat(warmup.isLoaded()).isTrue();
+      assertThat(warmup.thread()).isNotSameAs(Thread.currentThread());
+      assertThat(scope.get(WarmupUser.class).isWarmupLoaded()).isTrue();
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package org.example.asyncinit;
+
+import io.avaje.inject.PostConstruct;
+import jakarta.inject.Singleton;
+
+@Singleton
+public class Warmup {
+
+  private volatile boolean loaded;
+  private volatile Thread thread;
+
+  @PostConstruct(async = true)
+  void load() {
+    try {
+      Thread.sleep(20);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    thread = Thread.currentThread();
+    loaded = true;
+  }
+
+  public boolean isLoaded() {
+    return loaded;
+  }
+
+  public Thread thread() {
+    return thread;
+  }
+}
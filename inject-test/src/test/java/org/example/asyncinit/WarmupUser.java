@@ -0,0 +1,24 @@
+package org.example.asyncinit;
+
+import io.avaje.inject.PostConstruct;
+import jakarta.inject.Singleton;
+
+@Singleton
+public class WarmupUser {
+
+  private final Warmup warmup;
+  private boolean warmupLoaded;
+
+  public WarmupUser(Warmup warmup) {
+    this.warmup = warmup;
+  }
+
+  @PostConstruct
+  void init() {
+    warmupLoaded = warmup.isLoaded();
+  }
+
+  public boolean isWarmupLoaded() {
+    return warmupLoaded;
+  }
+}
@@ -0,0 +1,32 @@
+package org.example.lazy;
+
+import io.avaje.inject.BeanScope;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LazyProxyTest {
+
+  @Test
+  void injectedProxy_expect_createdOnFirstUse() {
+    try (BeanScope scope = BeanScope.builder().build()) {
+      int created = LazySearchService.CREATED.get();
+      LazySearchUser user = scope.get(LazySearchUser.class);
+      assertThat(user.search).isNotInstanceOf(LazySearchService.class);
+      assertThat(LazySearchService.CREATED.get()).isEqualTo(created);
+
+      assertThat(user.search.find("a")).isEqualTo("found a");
+      assertThat(LazySearchService.CREATED.get()).isEqualTo(created + 1);
+      assertThat(scope.get(LazySearchService.class).find("b")).isEqualTo("found b");
+      assertThat(LazySearchService.CREATED.get()).isEqualTo(created + 1);
+    }
+  }
+
+  @Test
+  void lazyInterface_expect_singleMatch() {
+    try (BeanScope scope = BeanScope.builder().build()) {
+      assertThat(scope.list(LazySearch.class)).hasSize(1);
+      assertThat(scope.get(LazySearch.class).find("c")).isEqualTo("found c");
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package org.example.lazy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.avaje.inject.Lazy;
+import jakarta.inject.Singleton;
+
+@Lazy
+@Singleton
+public class LazySearchService implements LazySearch {
+
+  static final AtomicInteger CREATED = new AtomicInteger();
+
+  public LazySearchService() {
+    CREATED.incrementAndGet();
+  }
+
+  @Override
+  public String find(String query) {
+    return "found " + query;
+  }
+}
@@ -0,0 +1,120 @@
+package io.avaje.inject.timed;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free histogram of durations in nanoseconds striped by thread to reduce contention.
+ * <p>
+ * Uses log-linear buckets (like HdrHistogram) where each power of 2 is split into 16 linear
+ * sub-buckets giving a relative precision of about 6%. Values of 2^41 nanos (about 36 minutes)
+ * and above are recorded in the last bucket.
+ * <p>
+ * Each stripe is an {@code AtomicLongArray} of the bucket counts followed by the total, max and
+ * error count. A stripe is created on first use so recording does not allocate after that.
+ */
+final class Histogram {
+
+  static final int SUB_BITS = 4;
+  static final int SUB_COUNT = 1 << SUB_BITS;
+  static final int MAX_EXPONENT = 40;
+  static final int BUCKETS = SUB_COUNT + (MAX_EXPONENT - SUB_BITS + 1) * SUB_COUNT;
+
+  private static final int TOTAL = BUCKETS;
+  private static final int MAX = BUCKETS + 1;
+  private static final int ERRORS = BUCKETS + 2;
+  private static final int LENGTH = BUCKETS + 3;
+  private static final int STRIPES = stripes();
+
+  private final AtomicReferenceArray<AtomicLongArray> stripes = new AtomicReferenceArray<>(STRIPES);
+
+  private static int stripes() {
+    final int processors = Math.min(Runtime.getRuntime().availableProcessors(), 64);
+    return Integer.highestOneBit(Math.max(processors * 2 - 1, 1));
+  }
+
+  /**
+   * Return the bucket index of the value.
+   */
+  static int index(long value) {
+    if (value < SUB_COUNT) {
+      return value < 0 ? 0 : (int) value;
+    }
+    final int exponent = 63 - Long.numberOfLeadingZeros(value);
+    if (exponent > MAX_EXPONENT) {
+      return BUCKETS - 1;
+    }
+    final int shift = exponent - SUB_BITS;
+    return (shift << SUB_BITS) + (int) (value >>> shift);
+  }
+
+  /**
+   * Return the highest value recorded in the bucket.
+   */
+  static long highestValue(int index) {
+    if (index < SUB_COUNT) {
+      return index;
+    }
+    final int shift = (index - SUB_COUNT) >> SUB_BITS;
+    final long lowest = (long) (SUB_COUNT + (index & (SUB_COUNT - 1))) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+
+  /**
+   * Record the duration in nanos.
+   */
+  void record(long nanos, boolean error) {
+    final AtomicLongArray stripe = stripe();
+    stripe.getAndIncrement(index(nanos));
+    stripe.getAndAdd(TOTAL, nanos);
+    if (error) {
+      stripe.getAndIncrement(ERRORS);
+    }
+    long max = stripe.get(MAX);
+    while (nanos > max && !stripe.compareAndSet(MAX, max, nanos)) {
+      max = stripe.get(MAX);
+    }
+  }
+
+  @SuppressWarnings("deprecation")
+  private AtomicLongArray stripe() {
+    // spread the thread ids (which are sequential) over the stripes
+    final int index = (int) ((Thread.currentThread().getId() * 0x9E3779B97F4A7C15L) >>> 40) & (STRIPES - 1);
+    final AtomicLongArray stripe = stripes.get(index);
+    if (stripe != null) {
+      return stripe;
+    }
+    final var created = new AtomicLongArray(LENGTH);
+    return stripes.compareAndSet(index, null, created) ? created : stripes.get(index);
+  }
+
+  /**
+   * Return a snapshot of the histogram optionally resetting the counts.
+   * <p>
+   * Each count is read (and reset) atomically such that no recorded value is lost but a value
+   * recorded concurrently can be partly included in this snapshot and partly in the next.
+   */
+  TimerSnapshot snapshot(String name, boolean reset) {
+    final long[] buckets = new long[BUCKETS];
+    long total = 0;
+    long max = 0;
+    long errors = 0;
+    for (int i = 0; i < STRIPES; i++) {
+      final AtomicLongArray stripe = stripes.get(i);
+      if (stripe == null) {
+        continue;
+      }
+      for (int j = 0; j < BUCKETS; j++) {
+        buckets[j] += read(stripe, j, reset);
+      }
+      total += read(stripe, TOTAL, reset);
+      max = Math.max(max, read(stripe, MAX, reset));
+      errors += read(stripe, ERRORS, reset);
+    }
+    return new TimerSnapshot(name, buckets, total, max, errors);
+  }
+
+  private static long read(AtomicLongArray stripe, int index, boolean reset) {
+    return reset ? stripe.getAndSet(index, 0) : stripe.get(index);
+  }
+}
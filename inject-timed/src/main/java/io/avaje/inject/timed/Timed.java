@@ -0,0 +1,39 @@
+package io.avaje.inject.timed;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import io.avaje.inject.aop.Aspect;
+
+/**
+ * Record the duration of calls to the method into a {@link Timer} of the {@link TimerRegistry}.
+ * <p>
+ * For methods returning a {@code CompletionStage} the duration is recorded when the returned
+ * stage completes.
+ *
+ * <pre>{@code
+ *
+ *   @Singleton
+ *   public class CustomerService {
+ *
+ *     @Timed
+ *     public Customer find(long id) {
+ *       ...
+ *     }
+ *   }
+ *
+ * }</pre>
+ */
+@Aspect
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Timed {
+
+  /**
+   * The name of the timer. Defaults to the simple name of the class and the method name
+   * like {@code CustomerService.find}.
+   */
+  String value() default "";
+}
@@ -0,0 +1,57 @@
+package io.avaje.inject.timed;
+
+/**
+ * Records durations into a lock-free histogram.
+ * <p>
+ * Obtained via {@link TimerRegistry#timer(String)}. The {@code @Timed} aspect resolves the
+ * timer of each method once when the proxy is created. Recording does not lock and (after the
+ * first recording of a thread stripe) does not allocate.
+ */
+public final class Timer {
+
+  private final String name;
+  private final Histogram histogram = new Histogram();
+
+  Timer(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Return the name of the timer.
+   */
+  public String name() {
+    return name;
+  }
+
+  /**
+   * Record the duration of a successful call.
+   *
+   * @param nanos The duration in nanoseconds typically via {@link System#nanoTime()}
+   */
+  public void record(long nanos) {
+    histogram.record(nanos, false);
+  }
+
+  /**
+   * Record the duration of a call that failed with an exception.
+   *
+   * @param nanos The duration in nanoseconds typically via {@link System#nanoTime()}
+   */
+  public void recordError(long nanos) {
+    histogram.record(nanos, true);
+  }
+
+  /**
+   * Return a snapshot of the durations recorded since creation or the last reset.
+   */
+  public TimerSnapshot snapshot() {
+    return histogram.snapshot(name, false);
+  }
+
+  /**
+   * Return a snapshot of the durations resetting the timer.
+   */
+  public TimerSnapshot snapshotAndReset() {
+    return histogram.snapshot(name, true);
+  }
+}
@@ -0,0 +1,29 @@
+package io.avaje.inject.timed;
+
+import java.util.List;
+
+/**
+ * Exports the timer snapshots to a metrics or logging system.
+ * <p>
+ * Used with {@link TimerRegistry#export(TimerExporter)} typically called periodically.
+ *
+ * <pre>{@code
+ *
+ *   TimerRegistry registry = beanScope.get(TimerRegistry.class);
+ *
+ *   executor.scheduleAtFixedRate(() -> registry.export(snapshots -> {
+ *     for (TimerSnapshot snapshot : snapshots) {
+ *       log.info(snapshot.toString());
+ *     }
+ *   }), 1, 1, TimeUnit.MINUTES);
+ *
+ * }</pre>
+ */
+@FunctionalInterface
+public interface TimerExporter {
+
+  /**
+   * Export the snapshots of the timers that recorded calls since the last export.
+   */
+  void export(List<TimerSnapshot> snapshots);
+}
@@ -0,0 +1,58 @@
+package io.avaje.inject.timed;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the timers by name.
+ * <p>
+ * Provided as a bean by the timed plugin such that it can be injected to obtain snapshots or
+ * export the timers.
+ */
+public final class TimerRegistry {
+
+  private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+  /**
+   * Return the timer for the given name creating it if needed.
+   */
+  public Timer timer(String name) {
+    return timers.computeIfAbsent(name, Timer::new);
+  }
+
+  /**
+   * Return all the timers.
+   */
+  public Collection<Timer> timers() {
+    return timers.values();
+  }
+
+  /**
+   * Return snapshots of all the timers (ordered by name) without resetting them.
+   */
+  public List<TimerSnapshot> snapshot() {
+    return snapshot(false);
+  }
+
+  /**
+   * Export the snapshots of the timers that recorded calls since the last export, resetting
+   * the timers.
+   */
+  public void export(TimerExporter exporter) {
+    final List<TimerSnapshot> snapshots = snapshot(true);
+    snapshots.removeIf(snapshot -> snapshot.count() == 0);
+    exporter.export(snapshots);
+  }
+
+  private List<TimerSnapshot> snapshot(boolean reset) {
+    final List<TimerSnapshot> snapshots = new ArrayList<>(timers.size());
+    for (final Timer timer : timers.values()) {
+      snapshots.add(reset ? timer.snapshotAndReset() : timer.snapshot());
+    }
+    snapshots.sort(Comparator.comparing(TimerSnapshot::name));
+    return snapshots;
+  }
+}
@@ -0,0 +1,97 @@
+package io.avaje.inject.timed;
+
+/**
+ * Snapshot of the durations recorded by a {@link Timer}.
+ * <p>
+ * Durations are in nanoseconds. Percentiles are the highest value of the histogram bucket the
+ * percentile falls into (capped at the max) and have a relative precision of about 6%.
+ */
+public final class TimerSnapshot {
+
+  private final String name;
+  private final long[] buckets;
+  private final long count;
+  private final long totalNanos;
+  private final long maxNanos;
+  private final long errorCount;
+
+  TimerSnapshot(String name, long[] buckets, long totalNanos, long maxNanos, long errorCount) {
+    this.name = name;
+    this.buckets = buckets;
+    this.totalNanos = totalNanos;
+    this.maxNanos = maxNanos;
+    this.errorCount = errorCount;
+    long sum = 0;
+    for (final long bucket : buckets) {
+      sum += bucket;
+    }
+    this.count = sum;
+  }
+
+  /**
+   * Return the name of the timer.
+   */
+  public String name() {
+    return name;
+  }
+
+  /**
+   * Return the number of recorded calls.
+   */
+  public long count() {
+    return count;
+  }
+
+  /**
+   * Return the number of recorded calls that failed with an exception.
+   */
+  public long errorCount() {
+    return errorCount;
+  }
+
+  /**
+   * Return the total duration of the recorded calls.
+   */
+  public long totalNanos() {
+    return totalNanos;
+  }
+
+  /**
+   * Return the maximum duration recorded.
+   */
+  public long maxNanos() {
+    return maxNanos;
+  }
+
+  /**
+   * Return the mean duration or 0 when there are no recorded calls.
+   */
+  public long meanNanos() {
+    return count == 0 ? 0 : totalNanos / count;
+  }
+
+  /**
+   * Return the duration at the given percentile (between 0 and 100) or 0 when there are no
+   * recorded calls.
+   */
+  public long percentileNanos(double percentile) {
+    if (count == 0) {
+      return 0;
+    }
+    final long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * count));
+    long seen = 0;
+    for (int i = 0; i < buckets.length; i++) {
+      seen += buckets[i];
+      if (seen >= target) {
+        return Math.min(Histogram.highestValue(i), maxNanos);
+      }
+    }
+    return maxNanos;
+  }
+
+  @Override
+  public String toString() {
+    return name + " count:" + count + " errors:" + errorCount + " mean:" + meanNanos()
+      + " p50:" + percentileNanos(50) + " p99:" + percentileNanos(99) + " max:" + maxNanos;
+  }
+}
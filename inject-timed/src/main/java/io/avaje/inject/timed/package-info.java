@@ -0,0 +1,4 @@
+/**
+ * Timed aspect recording the duration of method calls into lock-free histograms.
+ */
+package io.avaje.inject.timed;
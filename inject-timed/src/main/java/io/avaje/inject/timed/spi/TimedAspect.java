@@ -0,0 +1,29 @@
+package io.avaje.inject.timed.spi;
+
+import java.lang.reflect.Method;
+
+import io.avaje.inject.aop.AspectProvider;
+import io.avaje.inject.aop.MethodInterceptor;
+import io.avaje.inject.timed.Timed;
+import io.avaje.inject.timed.TimerRegistry;
+
+/**
+ * Aspect provider for {@link Timed} resolving the timer of the method once when the proxy is
+ * created.
+ */
+public final class TimedAspect implements AspectProvider<Timed> {
+
+  private final TimerRegistry registry;
+
+  public TimedAspect(TimerRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public MethodInterceptor interceptor(Method method, Timed timed) {
+    final String name = timed.value().isEmpty()
+      ? method.getDeclaringClass().getSimpleName() + "." + method.getName()
+      : timed.value();
+    return new TimedInterceptor(registry.timer(name));
+  }
+}
@@ -0,0 +1,45 @@
+package io.avaje.inject.timed.spi;
+
+import io.avaje.inject.aop.AsyncMethodInterceptor;
+import io.avaje.inject.aop.Invocation;
+import io.avaje.inject.timed.Timer;
+
+/**
+ * Records the duration of the invocation into the timer.
+ * <p>
+ * Synchronous invocations do not allocate. For async invocations the duration is recorded when
+ * the returned stage completes.
+ */
+final class TimedInterceptor implements AsyncMethodInterceptor {
+
+  private final Timer timer;
+
+  TimedInterceptor(Timer timer) {
+    this.timer = timer;
+  }
+
+  @Override
+  public void invoke(Invocation invocation) throws Throwable {
+    final long start = System.nanoTime();
+    try {
+      invocation.invoke();
+    } catch (Throwable e) {
+      timer.recordError(System.nanoTime() - start);
+      throw e;
+    }
+    timer.record(System.nanoTime() - start);
+  }
+
+  @Override
+  public Completion begin(Invocation invocation) {
+    final long start = System.nanoTime();
+    return (result, error) -> {
+      final long nanos = System.nanoTime() - start;
+      if (error == null) {
+        timer.record(nanos);
+      } else {
+        timer.recordError(nanos);
+      }
+    };
+  }
+}
@@ -0,0 +1,36 @@
+package io.avaje.inject.timed.spi;
+
+import io.avaje.inject.BeanScopeBuilder;
+import io.avaje.inject.aop.AspectProvider;
+import io.avaje.inject.spi.GenericType;
+import io.avaje.inject.spi.InjectPlugin;
+import io.avaje.inject.spi.PluginProvides;
+import io.avaje.inject.timed.Timed;
+import io.avaje.inject.timed.TimerRegistry;
+import io.avaje.spi.ServiceProvider;
+
+/** Plugin for avaje inject that provides the {@link Timed} aspect and the TimerRegistry. */
+@ServiceProvider
+@PluginProvides(
+  value = TimerRegistry.class,
+  providesStrings = "io.avaje.inject.aop.AspectProvider<io.avaje.inject.timed.Timed>",
+  providesAspects = Timed.class)
+public final class TimedPlugin implements InjectPlugin {
+
+  @Override
+  public Class<?>[] provides() {
+    return new Class<?>[] {TimerRegistry.class};
+  }
+
+  @Override
+  public Class<?>[] providesAspects() {
+    return new Class<?>[] {Timed.class};
+  }
+
+  @Override
+  public void apply(BeanScopeBuilder builder) {
+    final var registry = new TimerRegistry();
+    builder.provideDefault(null, TimerRegistry.class, () -> registry);
+    builder.provideDefault(null, new GenericType<AspectProvider<Timed>>() {}.type(), () -> new TimedAspect(registry));
+  }
+}
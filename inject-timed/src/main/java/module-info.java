@@ -0,0 +1,9 @@
+module io.avaje.inject.timed {
+
+  exports io.avaje.inject.timed;
+
+  requires transitive io.avaje.inject;
+  requires transitive io.avaje.inject.aop;
+  requires static io.avaje.spi;
+  provides io.avaje.inject.spi.InjectExtension with io.avaje.inject.timed.spi.TimedPlugin;
+}
@@ -0,0 +1,97 @@
+package io.avaje.inject.timed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+class TimerTest {
+
+  private final TimerRegistry registry = new TimerRegistry();
+
+  @Test
+  void index_bucketsAreContiguous() {
+    assertThat(Histogram.index(-1)).isEqualTo(0);
+    assertThat(Histogram.index(Long.MAX_VALUE)).isEqualTo(Histogram.BUCKETS - 1);
+    for (int i = 1; i < Histogram.BUCKETS; i++) {
+      final long lowest = Histogram.highestValue(i - 1) + 1;
+      assertThat(Histogram.index(lowest)).isEqualTo(i);
+      assertThat(Histogram.index(Histogram.highestValue(i))).isEqualTo(i);
+    }
+  }
+
+  @Test
+  void snapshot() {
+    final Timer timer = registry.timer("a");
+    assertThat(registry.timer("a")).isSameAs(timer);
+    for (int i = 1; i <= 100; i++) {
+      timer.record(i * 1_000_000L);
+    }
+    timer.recordError(500_000L);
+
+    final TimerSnapshot snapshot = timer.snapshot();
+    assertThat(snapshot.name()).isEqualTo("a");
+    assertThat(snapshot.count()).isEqualTo(101);
+    assertThat(snapshot.errorCount()).isEqualTo(1);
+    assertThat(snapshot.totalNanos()).isEqualTo(5050_000_000L + 500_000L);
+    assertThat(snapshot.maxNanos()).isEqualTo(100_000_000L);
+    assertThat(snapshot.percentileNanos(0)).isBetween(500_000L, 530_000L);
+    assertThat(snapshot.percentileNanos(50)).isBetween(50_000_000L, 53_000_000L);
+    assertThat(snapshot.percentileNanos(99)).isBetween(99_000_000L, 100_000_000L);
+    assertThat(snapshot.percentileNanos(100)).isEqualTo(100_000_000L);
+  }
+
+  @Test
+  void snapshot_empty() {
+    final TimerSnapshot snapshot = registry.timer("empty").snapshot();
+    assertThat(snapshot.count()).isZero();
+    assertThat(snapshot.meanNanos()).isZero();
+    assertThat(snapshot.percentileNanos(99)).isZero();
+  }
+
+  @Test
+  void record_concurrent_expect_noneLost() throws Exception {
+    final Timer timer = registry.timer("concurrent");
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      final List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        futures.add(executor.submit(() -> {
+          for (int i = 1; i <= 10_000; i++) {
+            timer.record(i);
+          }
+        }));
+      }
+      for (final Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    final TimerSnapshot snapshot = timer.snapshot();
+    assertThat(snapshot.count()).isEqualTo(80_000);
+    assertThat(snapshot.totalNanos()).isEqualTo(8 * 50_005_000L);
+    assertThat(snapshot.maxNanos()).isEqualTo(10_000);
+  }
+
+  @Test
+  void export_resetsAndExcludesUnused() {
+    registry.timer("b").record(10);
+    registry.timer("a").record(20);
+    registry.timer("unused");
+
+    final List<TimerSnapshot> exported = new ArrayList<>();
+    registry.export(exported::addAll);
+    assertThat(exported).extracting(TimerSnapshot::name).containsExactly("a", "b");
+
+    exported.clear();
+    registry.export(exported::addAll);
+    assertThat(exported).isEmpty();
+    assertThat(registry.snapshot()).extracting(TimerSnapshot::count).containsExactly(0L, 0L, 0L);
+  }
+}
@@ -0,0 +1,74 @@
+package io.avaje.inject.timed.spi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import io.avaje.inject.aop.AsyncMethodInterceptor;
+import io.avaje.inject.aop.Invocation;
+import io.avaje.inject.aop.MethodInterceptor;
+import io.avaje.inject.timed.Timed;
+import io.avaje.inject.timed.TimerRegistry;
+import io.avaje.inject.timed.TimerSnapshot;
+
+class TimedAspectTest {
+
+  private final TimerRegistry registry = new TimerRegistry();
+  private final TimedAspect aspect = new TimedAspect(registry);
+
+  @Timed
+  public String find() {
+    return "found";
+  }
+
+  @Timed("custom")
+  public CompletableFuture<String> fetch() {
+    return null;
+  }
+
+  @Test
+  void interceptor_defaultName() throws Throwable {
+    final MethodInterceptor interceptor = interceptor("find");
+    final var call = new Invocation.Call<>(this::find);
+    interceptor.invoke(call);
+
+    assertThat(call.finalResult()).isEqualTo("found");
+    final TimerSnapshot snapshot = registry.timer("TimedAspectTest.find").snapshot();
+    assertThat(snapshot.count()).isEqualTo(1);
+    assertThat(snapshot.errorCount()).isZero();
+  }
+
+  @Test
+  void interceptor_error() throws Throwable {
+    final MethodInterceptor interceptor = interceptor("find");
+    final var call = new Invocation.Call<String>(() -> {
+      throw new IllegalStateException("fail");
+    });
+    assertThatThrownBy(() -> interceptor.invoke(call)).hasMessage("fail");
+
+    final TimerSnapshot snapshot = registry.timer("TimedAspectTest.find").snapshot();
+    assertThat(snapshot.count()).isEqualTo(1);
+    assertThat(snapshot.errorCount()).isEqualTo(1);
+  }
+
+  @Test
+  void interceptor_async_recordedOnCompletion() throws Throwable {
+    final var interceptor = (AsyncMethodInterceptor) interceptor("fetch");
+    final AsyncMethodInterceptor.Completion completion = interceptor.begin(new Invocation.Call<>(this::fetch));
+    assertThat(registry.timer("custom").snapshot().count()).isZero();
+
+    completion.complete(null, new IllegalStateException());
+    final TimerSnapshot snapshot = registry.timer("custom").snapshot();
+    assertThat(snapshot.count()).isEqualTo(1);
+    assertThat(snapshot.errorCount()).isEqualTo(1);
+  }
+
+  private MethodInterceptor interceptor(String name) throws NoSuchMethodException {
+    final Method method = TimedAspectTest.class.getDeclaredMethod(name);
+    return aspect.interceptor(method, method.getAnnotation(Timed.class));
+  }
+}
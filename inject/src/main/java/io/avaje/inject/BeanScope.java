@@ -173,6 +173,10 @@ public interface BeanScope extends AutoCloseable {
    *   List<Object> controllers = beanScope.listByAnnotation(Controller.class);
    *
    * }</pre>
+   * <p>
+   * The matching beans are found using an index of the type level annotations built when the
+   * beans are registered, so only the matching beans are created. The result is cached (unless
+   * prototype beans are included) and each call returns a new list that the caller owns.
    *
    * @param annotation An annotation class.
    */
@@ -200,6 +204,9 @@ public interface BeanScope extends AutoCloseable {
 
   /**
    * Return the list of beans that implement the interface sorting by priority.
+   * <p>
+   * The sorted list is cached (unless prototype beans are included) and each call
+   * returns a new list that the caller owns.
    */
   <T> List<T> listByPriority(Class<T> type);
 
@@ -1,6 +1,7 @@
 package io.avaje.inject;
 
 import java.lang.reflect.Type;
+import java.time.Duration;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -8,6 +9,7 @@ import org.jspecify.annotations.Nullable;
 
 import io.avaje.inject.spi.AvajeModule;
 import io.avaje.inject.spi.ConfigPropertyPlugin;
+import io.avaje.inject.spi.WiringListener;
 
 /**
  * Build a bean scope with options for shutdown hook and supplying external dependencies.
@@ -54,6 +56,65 @@ public interface BeanScopeBuilder {
    */
   BeanScopeBuilder shutdownHook(boolean shutdownHook);
 
+  /**
+   * Build modules that do not depend on each other concurrently (defaults to false).
+   * <p>
+   * Modules are wired in dependency order. With {@code parallelBuild(true)} consecutive
+   * modules that do not depend on each other (via {@code @InjectModule} requires and provides)
+   * are built concurrently, each into a separate segment. The segments are then merged in
+   * module order. This can reduce the startup time when beans do expensive work in their
+   * constructors such as creating connection pools.
+   * <p>
+   * Beans in modules that are built concurrently do not see each other while wiring, so
+   * modules must declare their dependencies on other modules. Modules are built in order
+   * when there are supplied beans, mocks or spies.
+   * <p>
+   * This includes bean conditions and {@code @Secondary} beans. A {@code @RequiresBean}
+   * condition only sees the beans of its own module and of the modules built before its group,
+   * and a {@code @Secondary} bean of an earlier module is only replaced by the bean of another
+   * module in the group once the group is built. So these can resolve differently than when
+   * the modules are built in order. Declare the other module's types via
+   * {@code @InjectModule(requires = ...)} such that the modules are built in separate groups,
+   * or do not use parallelBuild.
+   *
+   * <pre>{@code
+   *
+   *   BeanScope scope = BeanScope.builder()
+   *     .parallelBuild(true)
+   *     .build());
+   *
+   * }</pre>
+   *
+   * @return This BeanScopeBuilder
+   */
+  BeanScopeBuilder parallelBuild(boolean parallelBuild);
+
+  /**
+   * Create the singletons on first use rather than when the scope is built (defaults to false).
+   * <p>
+   * With {@code lazyAll(true)} the eligible singletons of the modules generated with
+   * {@code @InjectModule(lazyAll = true)} are registered as providers that create the bean
+   * (and transitively the beans it depends on) when it is first obtained from the scope or
+   * injected into a bean that is created. This suits CLI tools, batch jobs and tests
+   * that only use a few of the beans of a large scope.
+   * <p>
+   * PostConstruct methods run when the bean is created, after the beans it depends on have been
+   * created. PreDestroy methods are only run for the beans that were created. Beans that use
+   * field or method injection, observe events, are factories or have async PostConstruct
+   * methods are still created when the scope is built, as are all beans when there are spies.
+   *
+   * <pre>{@code
+   *
+   *   BeanScope scope = BeanScope.builder()
+   *     .lazyAll(true)
+   *     .build());
+   *
+   * }</pre>
+   *
+   * @return This BeanScopeBuilder
+   */
+  BeanScopeBuilder lazyAll(boolean lazyAll);
+
   /**
    * Specify the modules to include in dependency injection.
    * <p>
@@ -245,6 +306,54 @@ public interface BeanScopeBuilder {
    */
   BeanScopeBuilder addPreDestroy(AutoCloseable preDestroyHook, int priority);
 
+  /**
+   * Close the PreDestroy methods that have the same priority in parallel when the scope is closed.
+   * <p>
+   * The priorities are still closed in order, PreDestroy methods with a higher priority value
+   * start once all the methods with a lower value have completed or timed out. A PreDestroy
+   * method that does not complete within the closeTimeout is logged and left running. Once the
+   * deadline has passed the remaining PreDestroy methods are not run. The time taken by each
+   * PreDestroy method is logged at DEBUG level.
+   *
+   * <pre>{@code
+   *
+   *   BeanScope scope = BeanScope.builder()
+   *     .shutdownHook(true)
+   *     .parallelPreDestroy(Duration.ofSeconds(5), Duration.ofSeconds(20))
+   *     .build());
+   *
+   * }</pre>
+   *
+   * @param closeTimeout The maximum time to wait for each PreDestroy method
+   * @param deadline     The maximum time to wait for all the PreDestroy methods
+   * @return This BeanScopeBuilder
+   */
+  BeanScopeBuilder parallelPreDestroy(Duration closeTimeout, Duration deadline);
+
+  /**
+   * Set a listener that is notified with the time taken by each step of building the scope.
+   * <p>
+   * This times the ServiceLoader loading of each extension, applying each plugin, ordering
+   * the modules, building each module, creating each bean and running each PostConstruct
+   * method. Use {@link io.avaje.inject.spi.WiringReport} to collect the timings into a report or
+   * {@link io.avaje.inject.spi.JfrWiringListener} to record them as JFR events.
+   *
+   * <pre>{@code
+   *
+   *   var report = new WiringReport();
+   *   BeanScope scope = BeanScope.builder()
+   *     .wiringListener(report)
+   *     .build());
+   *
+   *   System.out.println(report);
+   *
+   * }</pre>
+   *
+   * @param wiringListener The listener notified with the timings
+   * @return This BeanScopeBuilder
+   */
+  BeanScopeBuilder wiringListener(WiringListener wiringListener);
+
   /**
    * Set the ClassLoader to use when loading modules.
    *
@@ -2,11 +2,18 @@ package io.avaje.inject;
 
 import static java.lang.System.Logger.Level.DEBUG;
 import static java.lang.System.Logger.Level.INFO;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.emptySet;
+import static java.util.Objects.requireNonNull;
 
 import java.lang.System.Logger.Level;
 import java.lang.reflect.Type;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -20,6 +27,7 @@ import io.avaje.inject.spi.ConfigPropertyPlugin;
 import io.avaje.inject.spi.EnrichBean;
 import io.avaje.inject.spi.ModuleOrdering;
 import io.avaje.inject.spi.SuppliedBean;
+import io.avaje.inject.spi.WiringListener;
 import jakarta.inject.Provider;
 
 /** Build a bean scope with options for shutdown hook and supplying test doubles. */
@@ -37,6 +45,11 @@ final class DBeanScopeBuilder implements BeanScopeBuilder.ForTesting {
   private BeanScope parent;
   private boolean parentOverride = true;
   private boolean shutdownHook;
+  private boolean parallelBuild;
+  private boolean lazyAll;
+  private Duration closeTimeout;
+  private Duration closeDeadline;
+  private WiringListener wiringListener;
   private ClassLoader classLoader;
   private ConfigPropertyPlugin propertyPlugin;
   private Set<String> profiles;
@@ -55,6 +68,18 @@ final class DBeanScopeBuilder implements BeanScopeBuilder.ForTesting {
     return this;
   }
 
+  @Override
+  public BeanScopeBuilder parallelBuild(boolean parallelBuild) {
+    this.parallelBuild = parallelBuild;
+    return this;
+  }
+
+  @Override
+  public BeanScopeBuilder lazyAll(boolean lazyAll) {
+    this.lazyAll = lazyAll;
+    return this;
+  }
+
   @Override
   public BeanScopeBuilder modules(AvajeModule... modules) {
     this.includeModules.addAll(Arrays.asList(modules));
@@ -129,6 +154,19 @@ final class DBeanScopeBuilder implements BeanScopeBuilder.ForTesting {
     return this;
   }
 
+  @Override
+  public BeanScopeBuilder parallelPreDestroy(Duration closeTimeout, Duration deadline) {
+    this.closeTimeout = requireNonNull(closeTimeout);
+    this.closeDeadline = requireNonNull(deadline);
+    return this;
+  }
+
+  @Override
+  public BeanScopeBuilder wiringListener(WiringListener wiringListener) {
+    this.wiringListener = requireNonNull(wiringListener);
+    return this;
+  }
+
   @Override
   public BeanScopeBuilder addPreDestroy(AutoCloseable preDestroyHook) {
     return addPreDestroy(preDestroyHook, 1000);
@@ -239,18 +277,27 @@ final class DBeanScopeBuilder implements BeanScopeBuilder.ForTesting {
   @Override
   public BeanScope build() {
     final var start = System.currentTimeMillis();
+    final var startNanos = System.nanoTime();
     // load and apply plugins first
     initClassLoader();
 
-    var serviceLoader = new DServiceLoader(classLoader);
+    var serviceLoader = new DServiceLoader(classLoader, wiringListener);
     if (propertyPlugin == null) {
       propertyPlugin = serviceLoader.propertyPlugin().orElseGet(this::defaultPropertyPlugin);
     }
 
-    serviceLoader.plugins().forEach(plugin -> plugin.apply(this));
+    for (final var plugin : serviceLoader.plugins()) {
+      final long pluginStart = System.nanoTime();
+      plugin.apply(this);
+      if (wiringListener != null) {
+        wiringListener.pluginApplied(plugin, System.nanoTime() - pluginStart);
+      }
+    }
 
     // sort factories by dependsOn
-    ModuleOrdering factoryOrder = new FactoryOrder(parent, includeModules, !suppliedBeans.isEmpty());
+    final long orderStart = System.nanoTime();
+    ModuleOrdering factoryOrder = ModuleOrdering.byRequires(parent, !suppliedBeans.isEmpty());
+    includeModules.forEach(factoryOrder::add);
 
     if (includeModules.isEmpty()) {
       var modules = serviceLoader.modules();
@@ -262,15 +309,28 @@ final class DBeanScopeBuilder implements BeanScopeBuilder.ForTesting {
     }
 
     final var moduleNames = factoryOrder.orderModules();
+    if (wiringListener != null) {
+      wiringListener.modulesOrdered(moduleNames, System.nanoTime() - orderStart);
+    }
 
     final var level = propertyPlugin.contains("printModules") ? INFO : DEBUG;
     initProfiles();
     log.log(level, "building with avaje modules {0} profiles {1}", moduleNames, profiles);
 
     final var builder = Builder.newBuilder(profiles, propertyPlugin, suppliedBeans, enrichBeans, parent, parentOverride);
-    for (final var factory : factoryOrder.factories()) {
-      builder.currentModule(factory.getClass());
-      factory.build(builder);
+    if (wiringListener != null) {
+      builder.wiringListener(wiringListener);
+    }
+    if (lazyAll) {
+      builder.lazyAll();
+    }
+    final List<AvajeModule> modules = deferModules(builder, factoryOrder.factories());
+    if (parallelBuild) {
+      buildParallel(builder, modules);
+    } else {
+      for (final var factory : modules) {
+        buildModule(builder, factory);
+      }
     }
 
     if (moduleNames.isEmpty()) {
@@ -287,256 +347,189 @@ final class DBeanScopeBuilder implements BeanScopeBuilder.ForTesting {
     for (var closePair : preDestroyList) {
       builder.addPreDestroy(closePair.closeable(), closePair.priority());
     }
-    return builder.build(shutdownHook, start);
-  }
-
-  /** Return the type that we map the supplied bean to. */
-  private static Class<?> superOf(Class<?> suppliedClass) {
-    final Class<?> suppliedSuper = suppliedClass.getSuperclass();
-    if (Object.class.equals(suppliedSuper)) {
-      return suppliedClass;
+    if (closeTimeout != null) {
+      builder.parallelPreDestroy(closeTimeout, closeDeadline);
     }
-  // prefer to use the super type of the supplied bean (test double)
-    return suppliedSuper;
+    final var scope = builder.build(shutdownHook, start);
+    if (wiringListener != null) {
+      wiringListener.built(System.nanoTime() - startNanos);
+    }
+    return scope;
   }
 
-  /** Helper to order the BeanContextFactory based on dependsOn. */
-  static class FactoryOrder implements ModuleOrdering {
-
-    private final BeanScope parent;
-    private final boolean suppliedBeans;
-    private final Set<String> moduleNames = new LinkedHashSet<>();
-    private final List<AvajeModule> factories = new ArrayList<>();
-    private final List<FactoryState> queue = new ArrayList<>();
-    private final List<FactoryState> queueNoDependencies = new ArrayList<>();
-    private final Map<String, FactoryList> providesMap = new HashMap<>();
-
-    FactoryOrder(BeanScope parent, Set<AvajeModule> includeModules, boolean suppliedBeans) {
-      this.parent = parent;
-      this.suppliedBeans = suppliedBeans;
-      for (final AvajeModule includeModule : includeModules) {
-        add(includeModule);
-      }
+  /**
+   * Register the deferred modules with the builder and return the modules to build now.
+   */
+  private List<AvajeModule> deferModules(Builder builder, List<AvajeModule> modules) {
+    if (!suppliedBeans.isEmpty() || !enrichBeans.isEmpty()) {
+      // test doubles apply to the beans of all the modules
+      return modules;
     }
-
-    @Override
-    public void add(AvajeModule module) {
-      final var factoryState = new FactoryState(module);
-      providesMap
-        .computeIfAbsent(module.getClass().getTypeName(), s -> new FactoryList())
-        .add(factoryState);
-
-      addFactoryProvides(factoryState, module.provides());
-      addFactoryProvides(factoryState, module.autoProvides());
-      addFactoryProvides(factoryState, module.autoProvidesAspects());
-
-      if (factoryState.isRequiresEmpty()) {
-        if (factoryState.explicitlyProvides()) {
-          // push immediately when explicitly 'provides' with no 'requires'
-          push(factoryState);
-        } else {
-          // hold until after all the explicitly 'provides' modules are added
-          queueNoDependencies.add(factoryState);
-        }
-      } else {
-        // queue it to process by dependency ordering
-        queue.add(factoryState);
-      }
+    final Set<AvajeModule> deferred = deferredModules(modules);
+    if (deferred.isEmpty()) {
+      return modules;
     }
-
-    private void addFactoryProvides(FactoryState factoryState, Type[] provides) {
-      for (final var feature : provides) {
-        providesMap.computeIfAbsent(feature.getTypeName(), s -> new FactoryList()).add(factoryState);
+    final List<AvajeModule> build = new ArrayList<>(modules.size());
+    for (final AvajeModule module : modules) {
+      if (deferred.contains(module)) {
+        log.log(DEBUG, "deferred module {0}", module.getClass().getName());
+        builder.deferModule(module, parent -> buildDeferred(module, parent));
+      } else {
+        build.add(module);
       }
     }
-
-    /** Push the factory onto the build order (the wiring order for modules). */
-    private void push(FactoryState factory) {
-      factory.setPushed();
-      factories.add(factory.factory());
-      moduleNames.add(factory.factory().getClass().getName());
-    }
-
-    @Override
-    public Set<String> orderModules() {
-      // push the 'no dependency' modules after the 'provides only' ones
-      // as this is more intuitive for the simple (only provides modules case)
-      for (final FactoryState factoryState : queueNoDependencies) {
-        push(factoryState);
+    return build;
+  }
+
+  /**
+   * Build the deferred module into a scope that has the given scope as its parent.
+   * <p>
+   * The beans of the module are registered even when the parent scope has beans of the same
+   * type (parentOverride true).
+   */
+  private BeanScope buildDeferred(AvajeModule module, BeanScope parent) {
+    final var builder = Builder.newBuilder(profiles, propertyPlugin, emptyList(), emptyList(), parent, true);
+    if (wiringListener != null) {
+      builder.wiringListener(wiringListener);
+    }
+    if (lazyAll) {
+      builder.lazyAll();
+    }
+    buildModule(builder, module);
+    return builder.build(false, System.currentTimeMillis());
+  }
+
+  /**
+   * Return the deferred modules that none of the modules that are built depend on.
+   */
+  static Set<AvajeModule> deferredModules(List<AvajeModule> modules) {
+    final Set<AvajeModule> deferred = Collections.newSetFromMap(new IdentityHashMap<>());
+    final Set<String> required = new HashSet<>();
+    // modules only depend on the modules ordered before them
+    for (int i = modules.size() - 1; i >= 0; i--) {
+      final AvajeModule module = modules.get(i);
+      if (module.deferred() && !isRequired(module, required)) {
+        deferred.add(module);
+      } else {
+        addTypeNames(required, module.requires());
+        addTypeNames(required, module.requiresPackages());
+        addTypeNames(required, module.autoRequires());
+        addTypeNames(required, module.autoRequiresAspects());
       }
-      processQueue();
-      return moduleNames;
     }
+    return deferred;
+  }
 
-    @Override
-    public List<AvajeModule> factories() {
-      return factories;
-    }
+  private static boolean isRequired(AvajeModule module, Set<String> required) {
+    final Set<String> provides = new HashSet<>();
+    provides.add(module.getClass().getTypeName());
+    addTypeNames(provides, module.provides());
+    addTypeNames(provides, module.autoProvides());
+    addTypeNames(provides, module.autoProvidesAspects());
+    provides.retainAll(required);
+    return !provides.isEmpty();
+  }
 
-    /** Process the queue pushing the factories in order to satisfy dependencies. */
-    private void processQueue() {
-      int count;
-      do {
-        count = processQueuedFactories();
-      } while (count > 0);
-
-      if (suppliedBeans) {
-        // just push everything left assuming supplied beans
-        // will satisfy the required dependencies
-        for (final FactoryState factoryState : queue) {
-          push(factoryState);
-        }
-      } else if (!queue.isEmpty()) {
-        final var sb = new StringBuilder();
-        for (final FactoryState factory : queue) {
-          sb.append("Module [").append(factory).append("] has unsatisfied");
-          unsatisfiedRequires(sb, factory.requires(), "requires");
-          unsatisfiedRequires(sb, factory.requiresPackages(), "requiresPackages");
-          unsatisfiedRequires(sb, factory.autoRequires(), "autoRequires");
-        }
-        sb.append(" - none of the loaded modules ").append(moduleNames).append(" have this in their @InjectModule( provides = ... ). ");
-        if (parent != null) {
-          sb.append("The parent BeanScope ").append(parent).append(" also does not provide this dependency. ");
-        }
-        sb.append("Either @InjectModule requires/provides are not aligned? or add external dependencies via BeanScopeBuilder.bean()?");
-        throw new IllegalStateException(sb.toString());
-      }
+  private void buildModule(Builder builder, AvajeModule factory) {
+    builder.currentModule(factory.getClass());
+    if (wiringListener == null) {
+      factory.build(builder);
+    } else {
+      final long moduleStart = System.nanoTime();
+      factory.build(builder);
+      wiringListener.moduleBuilt(factory.getClass(), System.nanoTime() - moduleStart);
     }
+  }
 
-    private void unsatisfiedRequires(StringBuilder sb, Type[] requiredType, String requires) {
-      for (final var depModuleName : requiredType) {
-        if (notProvided(depModuleName.getTypeName())) {
-          sb.append(String.format(" %s [%s]", requires, depModuleName.getTypeName()));
+  /** Build the groups of independent modules concurrently. */
+  private void buildParallel(Builder builder, List<AvajeModule> modules) {
+    final ExecutorService executor = Executors.newCachedThreadPool(new BuildThreadFactory());
+    try {
+      for (final List<AvajeModule> group : parallelGroups(modules)) {
+        if (group.size() == 1) {
+          buildModule(builder, group.get(0));
+        } else {
+          log.log(DEBUG, "building modules concurrently {0}", group);
+          builder.buildModules(group, executor);
         }
       }
-    }
-
-    private boolean notProvided(String dependency) {
-      if (parent != null && parent.contains(dependency)) {
-        return false;
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Split the ordered modules into groups of consecutive modules that do not depend on
+   * each other, such that each group can be built concurrently.
+   */
+  static List<List<AvajeModule>> parallelGroups(List<AvajeModule> modules) {
+    final List<List<AvajeModule>> groups = new ArrayList<>();
+    final Set<String> groupProvides = new HashSet<>();
+    List<AvajeModule> group = new ArrayList<>();
+    for (final AvajeModule module : modules) {
+      if (dependsOn(module, groupProvides)) {
+        groups.add(group);
+        group = new ArrayList<>();
+        groupProvides.clear();
       }
-      final var factoryList = providesMap.get(dependency);
-      return factoryList == null || !factoryList.allPushed();
+      group.add(module);
+      groupProvides.add(module.getClass().getTypeName());
+      addTypeNames(groupProvides, module.provides());
+      addTypeNames(groupProvides, module.autoProvides());
+      addTypeNames(groupProvides, module.autoProvidesAspects());
     }
-
-    /**
-     * Process the queued factories pushing them when all their (module) dependencies are satisfied.
-     *
-     * <p>This returns the number of factories added so once this returns 0 it is done.
-     */
-    private int processQueuedFactories() {
-      int count = 0;
-      final var it = queue.iterator();
-      while (it.hasNext()) {
-        final FactoryState factory = it.next();
-        if (satisfiedDependencies(factory)) {
-          // push the factory onto the build order
-          it.remove();
-          push(factory);
-          count++;
-        }
-      }
-      return count;
+    if (!group.isEmpty()) {
+      groups.add(group);
     }
+    return groups;
+  }
 
-    /** Return true if the (module) requires dependencies are satisfied for this factory. */
-    private boolean satisfiedDependencies(FactoryState factory) {
-      return satisfiedDependencies(factory.requires())
-        && satisfiedDependencies(factory.requiresPackages())
-        && satisfiedDependencies(factory.autoRequiresAspects())
-        && satisfiedDependencies(factory.autoRequires());
-    }
+  private static boolean dependsOn(AvajeModule module, Set<String> provides) {
+    return dependsOn(module.requires(), provides)
+      || dependsOn(module.requiresPackages(), provides)
+      || dependsOn(module.autoRequires(), provides)
+      || dependsOn(module.autoRequiresAspects(), provides);
+  }
 
-    private boolean satisfiedDependencies(Type[] requires) {
-      for (final var dependency : requires) {
-        if (notProvided(dependency.getTypeName())) {
-          return false;
+  private static boolean dependsOn(@Nullable Type[] requires, Set<String> provides) {
+    if (requires != null) {
+      for (final Type type : requires) {
+        if (provides.contains(type.getTypeName())) {
+          return true;
         }
       }
-      return true;
-    }
-
-    @Override
-    public boolean isEmpty() {
-      return factories.isEmpty();
     }
+    return false;
   }
 
-  /** Wrapper on Factory holding the pushed state. */
-  private static class FactoryState {
-
-    private final AvajeModule factory;
-    private boolean pushed;
-
-    private FactoryState(AvajeModule factory) {
-      this.factory = factory;
-    }
-
-    /** Set when factory is pushed onto the build/wiring order. */
-    void setPushed() {
-      this.pushed = true;
-    }
-
-    boolean isPushed() {
-      return pushed;
-    }
-
-    AvajeModule factory() {
-      return factory;
-    }
-
-    Type[] requires() {
-      return factory.requires();
-    }
-
-    Type[] requiresPackages() {
-      return factory.requiresPackages();
+  private static void addTypeNames(Set<String> names, @Nullable Type[] types) {
+    if (types != null) {
+      for (final Type type : types) {
+        names.add(type.getTypeName());
+      }
     }
+  }
 
-    Type[] autoRequires() {
-      return factory.autoRequires();
-    }
+  /** Daemon threads used to build modules concurrently. */
+  private static final class BuildThreadFactory implements ThreadFactory {
 
-    Type[] autoRequiresAspects() {
-      return factory.autoRequiresAspects();
-    }
+    private final AtomicInteger count = new AtomicInteger();
 
     @Override
-    public String toString() {
-      return factory.getClass().getTypeName();
-    }
-
-    boolean isRequiresEmpty() {
-      return isEmpty(factory.requires()) && isEmpty(factory.requiresPackages())
-        && isEmpty(factory.autoRequires()) && isEmpty(factory.autoRequiresAspects());
-    }
-
-    boolean explicitlyProvides() {
-      return !isEmpty(factory.provides());
-    }
-
-    private boolean isEmpty(@Nullable Type[] values) {
-      return values == null || values.length == 0;
+    public Thread newThread(Runnable runnable) {
+      final var thread = new Thread(runnable, "avaje-inject-build-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
     }
   }
 
-  /** List of factories for a given name or feature. */
-  private static class FactoryList {
-
-    private final List<FactoryState> factories = new ArrayList<>();
-
-    void add(FactoryState factory) {
-      factories.add(factory);
-    }
-
-    /** Return true if all factories here have been pushed onto the build order. */
-    boolean allPushed() {
-      for (final FactoryState factory : factories) {
-        if (!factory.isPushed()) {
-          return false;
-        }
-      }
-      return true;
+  /** Return the type that we map the supplied bean to. */
+  private static Class<?> superOf(Class<?> suppliedClass) {
+    final Class<?> suppliedSuper = suppliedClass.getSuperclass();
+    if (Object.class.equals(suppliedSuper)) {
+      return suppliedClass;
     }
+  // prefer to use the super type of the supplied bean (test double)
+    return suppliedSuper;
   }
 }
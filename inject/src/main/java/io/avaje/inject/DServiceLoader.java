@@ -1,24 +1,124 @@
 package io.avaje.inject;
 
+import static java.lang.System.Logger.Level.DEBUG;
+import static java.lang.System.Logger.Level.WARNING;
+
+import io.avaje.applog.AppLog;
 import io.avaje.inject.spi.*;
 
+import java.io.IOException;
+import java.net.URL;
 import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.Set;
 
 /**
  * Load all the services using the common service interface.
+ * <p>
+ * When there is a generated {@link ModuleRegistry} for the service entries in the classpath
+ * this is used instead of ServiceLoader.
  */
 final class DServiceLoader {
 
+  private static final System.Logger log = AppLog.getLogger("io.avaje.inject");
+  private static final String SERVICES = "META-INF/services/" + InjectExtension.class.getName();
+
   private final List<InjectPlugin> plugins = new ArrayList<>();
   private final List<AvajeModule> modules = new ArrayList<>();
   private ModuleOrdering moduleOrdering;
   private ConfigPropertyPlugin propertyPlugin;
 
-  DServiceLoader(ClassLoader classLoader) {
-    for (var spi : ServiceLoader.load(InjectExtension.class, classLoader)) {
+  DServiceLoader(ClassLoader classLoader, WiringListener listener) {
+    if (!loadRegistry(classLoader)) {
+      loadServices(classLoader, listener);
+    }
+  }
+
+  /**
+   * Load the modules and plugins from the generated registry returning false if there is no registry.
+   */
+  private boolean loadRegistry(ClassLoader classLoader) {
+    if ("false".equals(System.getProperty("avaje.inject.registry"))) {
+      return false;
+    }
+    final Class<?> registryClass;
+    try {
+      registryClass = Class.forName(ModuleRegistry.NAME, true, classLoader);
+    } catch (ClassNotFoundException e) {
+      return false;
+    }
+    try {
+      final var registry = (ModuleRegistry) registryClass.getConstructor().newInstance();
+      if (!matchesClasspath(classLoader, registry.serviceLocations())) {
+        // a jar added since the registry was generated (e.g. the test classpath)
+        return false;
+      }
+      final List<AvajeModule> registryModules = registry.modules();
+      final List<InjectPlugin> registryPlugins = registry.plugins();
+      modules.addAll(registryModules);
+      plugins.addAll(registryPlugins);
+      propertyPlugin = registry.propertyPlugin();
+      moduleOrdering = new RegistryOrder(registryModules);
+      log.log(DEBUG, "using avaje-inject module registry");
+      return true;
+    } catch (ReflectiveOperationException | IOException | LinkageError | RuntimeException e) {
+      log.log(WARNING, "Ignoring stale avaje-inject module registry, using ServiceLoader instead - {0}", String.valueOf(e));
+      return false;
+    }
+  }
+
+  /**
+   * Return true if the service files in the classpath are in the application classes holding the
+   * registry or in the recorded locations the registry was generated for.
+   * <p>
+   * The service files are only located and not read. A location that is recorded but no longer in
+   * the classpath is detected when the registry fails to load the classes it refers to.
+   */
+  static boolean matchesClasspath(ClassLoader classLoader, List<String> serviceLocations) throws IOException {
+    final String registryResource = ModuleRegistry.NAME.replace('.', '/') + ".class";
+    final URL registryUrl = classLoader.getResource(registryResource);
+    final String application = registryUrl == null ? null : location(registryUrl, registryResource);
+    final Set<String> recorded = new HashSet<>(serviceLocations);
+    final Enumeration<URL> resources = classLoader.getResources(SERVICES);
+    while (resources.hasMoreElements()) {
+      final String location = location(resources.nextElement(), SERVICES);
+      if (!location.equals(application) && !recorded.contains(location)) {
+        log.log(DEBUG, "avaje-inject module registry not generated for {0}, using ServiceLoader instead", location);
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Return the file name of the jar or the URI of the directory holding the resource.
+   */
+  static String location(URL url, String resource) {
+    final String path = url.toString();
+    final int jarEnd = path.lastIndexOf("!/");
+    if (jarEnd < 0) {
+      return path.substring(0, path.length() - resource.length());
+    }
+    final String jar = path.substring(0, jarEnd);
+    return jar.substring(jar.lastIndexOf('/') + 1);
+  }
+
+  private void loadServices(ClassLoader classLoader, WiringListener listener) {
+    final var iterator = ServiceLoader.load(InjectExtension.class, classLoader).iterator();
+    long start = System.nanoTime();
+    while (iterator.hasNext()) {
+      final var spi = iterator.next();
+      if (listener != null) {
+        // the extension is located and instantiated lazily by the iterator
+        final long now = System.nanoTime();
+        listener.extensionLoaded(spi, now - start);
+        start = now;
+      }
       if (spi instanceof InjectPlugin) {
         plugins.add((InjectPlugin) spi);
       } else if (spi instanceof AvajeModule) {
@@ -46,4 +146,40 @@ final class DServiceLoader {
   Optional<ConfigPropertyPlugin> propertyPlugin() {
     return Optional.ofNullable(propertyPlugin);
   }
+
+  /**
+   * The module ordering that was computed when the registry was generated.
+   */
+  private static final class RegistryOrder implements ModuleOrdering {
+
+    private final List<AvajeModule> factories;
+    private final Set<String> moduleNames = new LinkedHashSet<>();
+
+    RegistryOrder(List<AvajeModule> factories) {
+      this.factories = factories;
+      for (final AvajeModule module : factories) {
+        moduleNames.add(module.getClass().getName());
+      }
+    }
+
+    @Override
+    public void add(AvajeModule module) {
+      // already ordered
+    }
+
+    @Override
+    public Set<String> orderModules() {
+      return moduleNames;
+    }
+
+    @Override
+    public List<AvajeModule> factories() {
+      return factories;
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return factories.isEmpty();
+    }
+  }
 }
@@ -60,6 +60,71 @@ public @interface InjectModule {
    */
   boolean strictWiring() default false;
 
+  /**
+   * Wire the beans of this module passing dependencies provided by other beans of this
+   * module directly rather than looking them up.
+   * <p>
+   * The beans are still registered so they can be obtained from the BeanScope. Lookups
+   * are still used when the BeanScope has a parent scope or test doubles (mocks, spies)
+   * that could override beans, and for dependencies that are not uniquely provided by
+   * a bean of this module.
+   *
+   * <p>Set true if your project:
+   *
+   * <ol>
+   *   <li>Is not a library
+   *   <li>Does not dynamically provide beans at runtime that override the beans of this module
+   * </ol>
+   */
+  boolean directWiring() default false;
+
+  /**
+   * Only build the beans of this module when a lookup on the BeanScope first hits one of
+   * the types this module provides (explicitly or automatically).
+   *
+   * <p>Until then only the types the module provides are registered. The module is built
+   * into a scope that has the BeanScope as its parent. It is built with the BeanScope when
+   * other modules that are built depend on it, or when there are test doubles.
+   *
+   * <p>Set true for optional feature modules that are rarely used.
+   */
+  boolean deferred() default false;
+
+  /**
+   * Generate the code that creates the singletons of this module on first use when the
+   * BeanScope is built with {@code lazyAll(true)}.
+   *
+   * <p>This adds a second registration of each eligible singleton to the generated code so it
+   * is only generated when set. Without it the beans of this module are created when the
+   * BeanScope is built regardless of {@code lazyAll}.
+   *
+   * <p>Set true for modules used by CLI tools, batch jobs or tests that only use a few beans.
+   */
+  boolean lazyAll() default false;
+
+  /**
+   * Generate the build code of up to this number of beans of the same package into a single
+   * class rather than a {@code $DI} class per bean. Zero (the default) generates a class per bean.
+   *
+   * <p>This reduces the number of classes loaded when the scope is built which is useful for
+   * large modules. Beans with factory methods, aspects or request scope, and beans whose
+   * generated code imports types that clash by short name keep their own class.
+   */
+  int consolidateBeans() default 0;
+
+  /**
+   * The entry points of this module used to leave unreachable beans out of the module build.
+   *
+   * <p>When specified the beans of this module that are not reachable via their dependencies
+   * from a bean providing one of these types (or one of the {@link #provides()} types) are not
+   * built. Beans with lifecycle methods (PostConstruct, PreDestroy, Closeable) or that observe
+   * events are always built. The beans that are removed are reported as compiler notes.
+   *
+   * <p>Types that are obtained programmatically from the BeanScope (including via an injected
+   * BeanScope) need to be included as roots.
+   */
+  Class<?>[] roots() default {};
+
   /**
    * Explicitly specify the name of the module.
    */
@@ -29,4 +29,18 @@ import java.lang.annotation.Target;
 @Target(METHOD)
 @Retention(RUNTIME)
 public @interface PostConstruct {
+
+  /**
+   * Run the method asynchronously on a virtual thread (defaults to false).
+   * <p>
+   * The method runs after the PostConstruct methods of the beans it depends on have
+   * completed, and the PostConstruct methods of beans that depend on this bean wait for
+   * it. This is useful for slow initialisation like loading caches or validating
+   * connections. {@code BeanScopeBuilder.build()} returns once all the async methods have
+   * completed and throws if any of them fail.
+   * <p>
+   * Dependencies are those used to construct the bean (constructor and factory method
+   * parameters). This is not supported for prototype or lazy beans.
+   */
+  boolean async() default false;
 }
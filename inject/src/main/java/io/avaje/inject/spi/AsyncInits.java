@@ -0,0 +1,137 @@
+package io.avaje.inject.spi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+import io.avaje.inject.BeanScope;
+
+/**
+ * The PostConstruct methods that run asynchronously (on virtual threads when available).
+ * <p>
+ * Each init waits for the async inits of the beans that it depends on before it runs.
+ * The BeanScope is only returned once all the async inits have completed.
+ */
+final class AsyncInits {
+
+  private final List<Init> inits = new ArrayList<>();
+  private volatile boolean empty = true;
+  private ExecutorService executor;
+
+  boolean isEmpty() {
+    return empty;
+  }
+
+  /**
+   * Add an async init that runs after the given dependencies.
+   */
+  Init add(Consumer<BeanScope> invoke, List<Init> dependsOn, boolean consumer) {
+    final var init = new Init(this, invoke, dependsOn, consumer);
+    synchronized (inits) {
+      inits.add(init);
+    }
+    empty = false;
+    return init;
+  }
+
+  private synchronized ExecutorService executor() {
+    if (executor == null) {
+      executor = TaskExecutors.newPerTask("avaje-inject-init-");
+    }
+    return executor;
+  }
+
+  /**
+   * Wait for all the async inits to complete throwing the first failure.
+   */
+  void await() {
+    try {
+      for (final Init init : inits) {
+        init.await();
+      }
+    } finally {
+      if (executor != null) {
+        executor.shutdown();
+      }
+    }
+  }
+
+  /**
+   * Wait for each of the inits to complete.
+   */
+  static void await(List<Init> inits) {
+    for (final Init init : inits) {
+      init.await();
+    }
+  }
+
+  /**
+   * Return the inits that a Runnable (rather than BeanScope consumer) init can wait on.
+   * <p>
+   * The consumer inits run after all the Runnable inits so are excluded.
+   */
+  static List<Init> runnableOnly(List<Init> inits) {
+    final List<Init> result = new ArrayList<>(inits.size());
+    for (final Init init : inits) {
+      if (!init.consumer) {
+        result.add(init);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * An async PostConstruct init.
+   */
+  static final class Init implements Runnable, Consumer<BeanScope> {
+
+    private final AsyncInits owner;
+    private final Consumer<BeanScope> invoke;
+    private final List<Init> dependsOn;
+    private final boolean consumer;
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+    private Init(AsyncInits owner, Consumer<BeanScope> invoke, List<Init> dependsOn, boolean consumer) {
+      this.owner = owner;
+      this.invoke = invoke;
+      this.dependsOn = dependsOn;
+      this.consumer = consumer;
+    }
+
+    @Override
+    public void run() {
+      accept(null);
+    }
+
+    @Override
+    public void accept(BeanScope scope) {
+      owner.executor().execute(() -> {
+        try {
+          AsyncInits.await(dependsOn);
+          invoke.accept(scope);
+          future.complete(null);
+        } catch (Throwable e) {
+          future.completeExceptionally(e);
+        }
+      });
+    }
+
+    void await() {
+      try {
+        future.join();
+      } catch (CompletionException e) {
+        final Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+          throw (Error) cause;
+        }
+        throw new IllegalStateException(cause);
+      }
+    }
+  }
+}
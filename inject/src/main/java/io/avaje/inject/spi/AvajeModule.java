@@ -72,6 +72,17 @@ public interface AvajeModule extends InjectExtension {
     return EMPTY_CLASSES;
   }
 
+  /**
+   * Return true if this module is only built when a lookup first hits one of the types
+   * it {@link #provides()} or {@link #autoProvides()}.
+   *
+   * <p>The module is built as part of the BeanScope when other modules that are built
+   * depend on it.
+   */
+  default boolean deferred() {
+    return false;
+  }
+
   /**
    * Return public classes of the beans that would be registered by this module.
    *
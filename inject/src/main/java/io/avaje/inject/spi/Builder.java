@@ -4,11 +4,14 @@ import io.avaje.inject.BeanScope;
 import jakarta.inject.Provider;
 
 import java.lang.reflect.Type;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Mutable builder object used when building a bean scope.
@@ -78,6 +81,19 @@ public interface Builder {
    */
   <T> void registerProvider(Provider<T> provider);
 
+  /**
+   * Register a lazy bean along with a proxy that defers creating the bean until
+   * the first method call on the proxy.
+   * <p>
+   * The proxy is registered for the types that it implements such that injecting
+   * the bean via those types does not create the bean. The provider is registered
+   * for the other types (like the concrete type when the proxy implements interfaces).
+   *
+   * @param provider The provider that creates the bean
+   * @param proxy    Creates the proxy given the provider of the single bean instance
+   */
+  <T> void registerLazyProxy(Provider<T> provider, Function<Provider<T>, ?> proxy);
+
 
   /**
    * Register the bean instance into the context.
@@ -86,6 +102,28 @@ public interface Builder {
    */
   <T> T register(T bean);
 
+  /**
+   * Return true if the beans of a module can be wired passing their dependencies directly.
+   * <p>
+   * This is false when there is a parent scope or test doubles that could override
+   * the beans and in that case the dependencies are obtained via {@link #get(Type, String)}.
+   */
+  boolean isDirectWiring();
+
+  /**
+   * Return true if the eligible singletons are registered as providers that create the
+   * bean on first use rather than created when the scope is built.
+   */
+  boolean isLazyAll();
+
+  /**
+   * Register the bean instance that was created with its dependencies passed directly.
+   *
+   * @param bean         The bean instance that has been created.
+   * @param dependencies The dependencies the bean was created with.
+   */
+  <T> T registerDirect(T bean, Object... dependencies);
+
   /**
    * Register the externally provided bean.
    *
@@ -104,6 +142,46 @@ public interface Builder {
    */
   void addPostConstruct(Consumer<BeanScope> consumer);
 
+  /**
+   * Add lifecycle PostConstruct method that runs asynchronously on a virtual thread.
+   * <p>
+   * It runs after the PostConstruct methods of the beans it depends on have completed.
+   */
+  void addPostConstructAsync(Runnable runnable);
+
+  /**
+   * Add lifecycle PostConstruct method that runs asynchronously on a virtual thread.
+   * <p>
+   * It runs after the PostConstruct methods of the beans it depends on have completed.
+   */
+  void addPostConstructAsync(Consumer<BeanScope> consumer);
+
+  /**
+   * Close the PreDestroy methods with the same priority in parallel when the scope is closed.
+   *
+   * @param closeTimeout The maximum time to wait for each PreDestroy method
+   * @param deadline     The maximum time to wait for all the PreDestroy methods
+   */
+  void parallelPreDestroy(Duration closeTimeout, Duration deadline);
+
+  /**
+   * Set the listener that is notified with the time taken to wire each bean and run each PostConstruct method.
+   */
+  void wiringListener(WiringListener listener);
+
+  /**
+   * Register the eligible singletons as providers that create the bean on first use.
+   */
+  void lazyAll();
+
+  /**
+   * Defer building the module until a lookup first hits one of the types it provides.
+   *
+   * @param module The module that is deferred
+   * @param build  Builds the module into a scope that has the given scope as its parent
+   */
+  void deferModule(AvajeModule module, Function<BeanScope, BeanScope> build);
+
   /**
    * Add lifecycle PreDestroy method.
    */
@@ -114,6 +192,22 @@ public interface Builder {
    */
   void addPreDestroy(AutoCloseable closeable, int priority);
 
+  /**
+   * Add lifecycle PreDestroy method of the given bean.
+   * <p>
+   * The type of the bean identifies the PreDestroy method in logs.
+   */
+  default void addPreDestroy(Object bean, AutoCloseable closeable) {
+    addPreDestroy(closeable);
+  }
+
+  /**
+   * Add lifecycle PreDestroy method of the given bean with a given priority.
+   */
+  default void addPreDestroy(Object bean, AutoCloseable closeable, int priority) {
+    addPreDestroy(closeable, priority);
+  }
+
   /**
    * Check if the instance is AutoCloseable and if so register it with PreDestroy.
    *
@@ -274,6 +368,15 @@ public interface Builder {
    */
   ConfigPropertyPlugin property();
 
+  /**
+   * Build the modules concurrently using the given executor.
+   * <p>
+   * Each module is built into a separate segment and the segments are merged
+   * in the order of the modules. The modules must not depend on each other, including via
+   * bean conditions, as a segment only sees its own beans and those built before the modules.
+   */
+  void buildModules(List<AvajeModule> modules, Executor executor);
+
   /**
    * Build and return the bean scope.
    */
@@ -4,10 +4,19 @@ public final /*value*/ class ClosePair implements Comparable<ClosePair> {
 
   private final int priority;
   private final AutoCloseable closeable;
+  private final String name;
 
   public ClosePair(int priority, AutoCloseable closeable) {
+    this(priority, closeable, null);
+  }
+
+  /**
+   * Create with the name (typically the bean type) used to identify the closeable in logs.
+   */
+  public ClosePair(int priority, AutoCloseable closeable, String name) {
     this.priority = priority;
     this.closeable = closeable;
+    this.name = name;
   }
 
   public int priority() {
@@ -18,6 +27,13 @@ public final /*value*/ class ClosePair implements Comparable<ClosePair> {
     return closeable;
   }
 
+  /**
+   * Return the name used in logs defaulting to the class that registered the closeable.
+   */
+  public String name() {
+    return name != null ? name : ParallelClose.name(closeable);
+  }
+
   @Override
   public int compareTo(ClosePair o) {
     return Integer.compare(priority, o.priority);
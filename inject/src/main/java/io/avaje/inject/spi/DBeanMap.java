@@ -4,25 +4,36 @@ import io.avaje.inject.BeanEntry;
 import io.avaje.inject.BeanScope;
 import jakarta.inject.Provider;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Map of types (class types, interfaces and annotations) to a DContextEntry where the
  * entry holds a list of bean instances for that type.
+ * <p>
+ * While building the entries are keyed by type name. Once built the map is frozen and
+ * lookups use a read optimised index keyed by Class identity and by Type for generic types.
  */
 final class DBeanMap {
   private static final Optional<Object> EMPTY = Optional.empty();
   private final Map<String, DContextEntry> beans = new LinkedHashMap<>();
+  private final Map<Type, DContextEntry> registeredTypes = new HashMap<>();
   private final Set<String> qualifiers = new HashSet<>();
+  private final Map<Class<? extends Annotation>, List<DContextEntryBean>> byAnnotation = new HashMap<>();
 
   private NextBean nextBean;
+  private TypeIndex index;
   private Class<? extends AvajeModule> currentModule;
 
   DBeanMap() {
@@ -32,11 +43,70 @@ final class DBeanMap {
     this.currentModule = currentModule;
   }
 
+  Class<? extends AvajeModule> currentModule() {
+    return currentModule;
+  }
+
   @Override
   public String toString() {
     return "BeanMap{" + beans + '}';
   }
 
+  /**
+   * Build the read optimised index used for lookups once the bean scope is built.
+   */
+  void freeze() {
+    for (DContextEntry entry : beans.values()) {
+      entry.freeze(currentModule);
+    }
+    final var classes = new IdentityHashMap<Class<?>, DContextEntry>(registeredTypes.size());
+    final var types = new HashMap<Type, DContextEntry>();
+    for (Map.Entry<Type, DContextEntry> entry : registeredTypes.entrySet()) {
+      Type type = TypeIndex.canonical(entry.getKey());
+      if (type instanceof Class) {
+        classes.put((Class<?>) type, entry.getValue());
+      } else {
+        types.put(type, entry.getValue());
+      }
+    }
+    index = new TypeIndex(classes, types, beans);
+  }
+
+  /**
+   * Add the beans registered into a segment, a module that was built concurrently.
+   */
+  void merge(DBeanMap segment) {
+    for (Map.Entry<String, DContextEntry> entry : segment.beans.entrySet()) {
+      DContextEntry target = beans.computeIfAbsent(entry.getKey(), s -> new DContextEntry());
+      for (DContextEntryBean entryBean : entry.getValue().entries()) {
+        target.add(entryBean);
+      }
+    }
+    for (Type type : segment.registeredTypes.keySet()) {
+      registeredTypes.putIfAbsent(type, beans.get(type.getTypeName()));
+    }
+    qualifiers.addAll(segment.qualifiers);
+    for (Map.Entry<Class<? extends Annotation>, List<DContextEntryBean>> entry : segment.byAnnotation.entrySet()) {
+      byAnnotation.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).addAll(entry.getValue());
+    }
+  }
+
+  /**
+   * Return the entry for the type creating it if necessary.
+   */
+  private DContextEntry entryFor(Type type) {
+    DContextEntry entry = beans.computeIfAbsent(type.getTypeName(), s -> new DContextEntry());
+    registeredTypes.putIfAbsent(type, entry);
+    return entry;
+  }
+
+  /**
+   * Return the entry for the type or null when there are no beans for the type.
+   */
+  private DContextEntry entry(Type type) {
+    return index != null ? index.get(type) : beans.get(type.getTypeName());
+  }
+
   /**
    * Add to the map of entries.
    */
@@ -61,10 +131,11 @@ final class DBeanMap {
     Type suppliedType = supplied.type();
     qualifiers.add(supplied.name());
     DContextEntryBean entryBean = DContextEntryBean.supplied(supplied.source(), supplied.name(), supplied.priority());
-    beans.computeIfAbsent(suppliedType.getTypeName(), s -> new DContextEntry()).add(entryBean);
+    entryFor(suppliedType).add(entryBean);
+    indexAnnotations(supplied.source(), suppliedType, entryBean);
     if (!suppliedType.getTypeName().startsWith("java.lang")) {
       for (Class<?> anInterface : supplied.interfaces()) {
-        beans.computeIfAbsent(anInterface.getTypeName(), s -> new DContextEntry()).add(entryBean);
+        entryFor(anInterface).add(entryBean);
       }
     }
   }
@@ -77,15 +148,49 @@ final class DBeanMap {
     qualifiers.add(name);
     var entryBean = DContextEntryBean.of(bean, name, nextBean.priority, currentModule);
     for (Type type : nextBean.types) {
-      beans.computeIfAbsent(type.getTypeName(), s -> new DContextEntry()).add(entryBean);
+      entryFor(type).add(entryBean);
     }
+    indexAnnotations(bean, nextBean.firstType(), entryBean);
   }
 
   void register(Provider<?> provider) {
     qualifiers.add(nextBean.name);
     var entryBean = DContextEntryBean.provider(nextBean.prototype, provider, nextBean.name, nextBean.priority, currentModule);
     for (Type type : nextBean.types) {
-      beans.computeIfAbsent(type.getTypeName(), s -> new DContextEntry()).add(entryBean);
+      entryFor(type).add(entryBean);
+    }
+    indexAnnotations(provider, nextBean.firstType(), entryBean);
+  }
+
+  /**
+   * Register the lazy bean provider with the proxy registered for the types it implements.
+   */
+  @SuppressWarnings("unchecked")
+  <T> void registerLazyProxy(Provider<T> provider, Function<Provider<T>, ?> proxyFactory) {
+    qualifiers.add(nextBean.name);
+    var providerEntry = DContextEntryBean.provider(false, provider, nextBean.name, nextBean.priority, currentModule);
+    var proxy = proxyFactory.apply((Provider<T>) providerEntry.provider());
+    var proxyEntry = DContextEntryBean.of(proxy, nextBean.name, nextBean.priority, currentModule);
+    for (Type type : nextBean.types) {
+      entryFor(type).add(RawType.of(type).isInstance(proxy) ? proxyEntry : providerEntry);
+    }
+    indexAnnotations(provider, nextBean.firstType(), providerEntry);
+  }
+
+  /**
+   * Index the entry by the type level annotations of the bean class such that
+   * listByAnnotation() does not need to create the beans to find matches.
+   * <p>
+   * For a Provider the bean class is not known until the bean is created so the
+   * annotations of the first registered type (the bean type) are used.
+   */
+  private void indexAnnotations(Object source, Type beanType, DContextEntryBean entryBean) {
+    if (source instanceof Provider && beanType == null) {
+      return;
+    }
+    Class<?> beanClass = source instanceof Provider ? RawType.of(beanType) : source.getClass();
+    for (Annotation annotation : beanClass.getAnnotations()) {
+      byAnnotation.computeIfAbsent(annotation.annotationType(), k -> new ArrayList<>()).add(entryBean);
     }
   }
 
@@ -93,7 +198,7 @@ final class DBeanMap {
    * Get with a strict match on name for the single entry case.
    */
   Object getStrict(Type type, String name) {
-    DContextEntry entry = beans.get(type.getTypeName());
+    DContextEntry entry = entry(type);
     if (entry == null) {
       return null;
     }
@@ -105,25 +210,32 @@ final class DBeanMap {
   }
 
   boolean contains(Type type) {
-    return beans.containsKey(type.getTypeName());
+    return entry(type) != null;
   }
 
   boolean containsQualifier(String type) {
     return qualifiers.contains(type);
   }
 
-  @SuppressWarnings("unchecked")
   <T> T get(Type type, String name) {
-    DContextEntry entry = beans.get(type.getTypeName());
+    return get(type, name, currentModule);
+  }
+
+  /**
+   * Get the bean using the given module to resolve multiple matches.
+   */
+  @SuppressWarnings("unchecked")
+  <T> T get(Type type, String name, Class<? extends AvajeModule> module) {
+    DContextEntry entry = entry(type);
     if (entry == null) {
       return null;
     }
-    return (T) entry.get(name, currentModule);
+    return (T) entry.get(name, module);
   }
 
   @SuppressWarnings("unchecked")
   <T> Provider<T> provider(Type type, String name) {
-    DContextEntry entry = beans.get(type.getTypeName());
+    DContextEntry entry = entry(type);
     if (entry == null) {
       return null;
     }
@@ -134,10 +246,38 @@ final class DBeanMap {
    * Return all bean instances matching the given type.
    */
   List<Object> all(Type type) {
-    DContextEntry entry = beans.get(type.getTypeName());
+    DContextEntry entry = entry(type);
     return entry != null ? entry.all() : List.of();
   }
 
+  /**
+   * Add the beans that have the given type level annotation.
+   *
+   * @return false if any of the matching beans are prototype scoped
+   */
+  boolean addByAnnotation(Class<? extends Annotation> annotation, List<Object> values) {
+    List<DContextEntryBean> entries = byAnnotation.get(annotation);
+    if (entries == null) {
+      return true;
+    }
+    boolean cacheable = true;
+    for (DContextEntryBean entry : entries) {
+      values.add(entry.bean());
+      if (entry.isPrototype()) {
+        cacheable = false;
+      }
+    }
+    return cacheable;
+  }
+
+  /**
+   * Return true if any of the beans matching the given type are prototype scoped.
+   */
+  boolean hasPrototype(Type type) {
+    DContextEntry entry = entry(type);
+    return entry != null && entry.hasPrototype();
+  }
+
   /**
    * Return a map of bean instances keyed by qualifier name.
    */
@@ -157,8 +297,8 @@ final class DBeanMap {
     return result;
   }
 
-  private Map<String, Object> map(Type type) {
-    DContextEntry entry = beans.get(type.getTypeName());
+  Map<String, Object> map(Type type) {
+    DContextEntry entry = entry(type);
     return entry != null ? entry.map() : Map.of();
   }
 
@@ -168,7 +308,7 @@ final class DBeanMap {
   boolean isSupplied(String qualifierName, Type... types) {
     if (types != null) {
       for (Type type : types) {
-        DContextEntry entry = beans.get(type.getTypeName());
+        DContextEntry entry = entry(type);
         if (entry != null) {
           DContextEntryBean suppliedBean = entry.supplied(qualifierName);
           if (suppliedBean != null) {
@@ -190,7 +330,7 @@ final class DBeanMap {
   private void addSuppliedFor(Type matchType, Type[] types, DContextEntryBean suppliedBean) {
     for (Type type : types) {
       if (type != matchType && type instanceof ParameterizedType) {
-        beans.computeIfAbsent(type.getTypeName(), s -> new DContextEntry()).add(suppliedBean);
+        entryFor(type).add(suppliedBean);
       }
     }
   }
@@ -223,6 +363,45 @@ final class DBeanMap {
     return nextBean;
   }
 
+  /**
+   * Frozen index of the entries by Class identity and by (generic) Type.
+   */
+  static final class TypeIndex {
+
+    private final Map<Class<?>, DContextEntry> classes;
+    private final Map<Type, DContextEntry> types;
+    private final Map<String, DContextEntry> byName;
+
+    TypeIndex(Map<Class<?>, DContextEntry> classes, Map<Type, DContextEntry> types, Map<String, DContextEntry> byName) {
+      this.classes = classes;
+      this.types = types;
+      this.byName = byName;
+    }
+
+    /**
+     * Return the underlying type when wrapped by GenericType.
+     */
+    static Type canonical(Type type) {
+      return type instanceof GenericType ? ((GenericType<?>) type).type() : type;
+    }
+
+    DContextEntry get(Type type) {
+      if (type instanceof Class) {
+        return classes.get(type);
+      }
+      type = canonical(type);
+      if (type instanceof Class) {
+        return classes.get(type);
+      }
+      DContextEntry entry = types.get(type);
+      if (entry != null) {
+        return entry;
+      }
+      // fallback for Type implementations with different equals/hashCode
+      return byName.get(type.getTypeName());
+    }
+  }
+
   static class NextBean {
     final String name;
     final Type[] types;
@@ -233,5 +412,12 @@ final class DBeanMap {
       this.name = name;
       this.types = types;
     }
+
+    /**
+     * Return the bean type (the first of the types) or null when there are no types.
+     */
+    Type firstType() {
+      return types.length > 0 ? types[0] : null;
+    }
   }
 }
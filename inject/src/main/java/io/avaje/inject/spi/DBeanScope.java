@@ -9,13 +9,14 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
@@ -31,27 +32,39 @@ final class DBeanScope implements BeanScope {
   private static final System.Logger log = AppLog.getLogger("io.avaje.inject");
 
   private final ReentrantLock lock = new ReentrantLock();
+  private final ReentrantLock preDestroyLock = new ReentrantLock();
   private final List<Runnable> postConstruct;
   private final List<Consumer<BeanScope>> postConstructConsumers;
-  private final List<AutoCloseable> preDestroy;
+  private final AsyncInits asyncInits;
+  private final List<ClosePair> preDestroy;
+  private final ParallelClose parallelClose;
   private final DBeanMap beans;
   private final ShutdownHook shutdownHook;
   private final BeanScope parent;
+  private final @Nullable DeferredModules deferred;
+  private final Map<Class<?>, Map<Class<? extends Annotation>, List<?>>> priorityLists = new ConcurrentHashMap<>();
+  private final Map<Class<? extends Annotation>, List<Object>> annotationLists = new ConcurrentHashMap<>();
   private boolean shutdown;
   private boolean closed;
 
   DBeanScope(
       boolean withShutdownHook,
-      List<AutoCloseable> preDestroy,
+      List<ClosePair> preDestroy,
+      ParallelClose parallelClose,
       List<Runnable> postConstruct,
       List<Consumer<BeanScope>> postConstructConsumers,
+      AsyncInits asyncInits,
       DBeanMap beans,
-      BeanScope parent) {
+      BeanScope parent,
+      @Nullable DeferredModules deferred) {
     this.preDestroy = preDestroy;
+    this.parallelClose = parallelClose;
     this.postConstruct = postConstruct;
     this.postConstructConsumers = postConstructConsumers;
+    this.asyncInits = asyncInits;
     this.beans = beans;
     this.parent = parent;
+    this.deferred = deferred;
     if (withShutdownHook) {
       this.shutdownHook = new ShutdownHook(this);
       Runtime.getRuntime().addShutdownHook(shutdownHook);
@@ -72,6 +85,11 @@ final class DBeanScope implements BeanScope {
       ((DBeanScope) parent).addAll(map);
     }
     addAll(map);
+    if (deferred != null) {
+      for (final DBeanScope deferredScope : deferred.scopes(this)) {
+        deferredScope.addAll(map);
+      }
+    }
     return new ArrayList<>(map.values());
   }
 
@@ -81,12 +99,44 @@ final class DBeanScope implements BeanScope {
 
   @Override
   public boolean contains(String type) {
-    return beans.contains(type);
+    return beans.contains(type) || deferred != null && deferred.contains(type);
   }
 
   @Override
   public boolean contains(Type type) {
-    return beans.contains(type);
+    return beans.contains(type) || deferred != null && deferred.contains(type.getTypeName());
+  }
+
+  /**
+   * Return the scopes of the deferred modules that provide the type, building them on first use.
+   */
+  private List<DBeanScope> deferredScopes(Type type) {
+    return deferred == null ? Collections.emptyList() : deferred.scopes(type, this);
+  }
+
+  /**
+   * Return the bean from the deferred modules that provide the type preferring the module with
+   * a bean of that name.
+   */
+  @SuppressWarnings("unchecked")
+  @Nullable
+  private <T> T deferredBean(Type type, @Nullable String name) {
+    final List<DBeanScope> deferredScopes = deferredScopes(type);
+    if (name != null && deferredScopes.size() > 1) {
+      for (final DBeanScope deferredScope : deferredScopes) {
+        final Object match = deferredScope.beans.getStrict(type, name);
+        if (match != null) {
+          return (T) match;
+        }
+      }
+    }
+    for (final DBeanScope deferredScope : deferredScopes) {
+      final T bean = deferredScope.beans.get(type, name);
+      if (bean != null) {
+        return bean;
+      }
+    }
+    return null;
   }
 
   @Override
@@ -109,6 +159,10 @@ final class DBeanScope implements BeanScope {
     if (bean != null) {
       return bean;
     }
+    final T deferredBean = deferredBean(type, name);
+    if (deferredBean != null) {
+      return deferredBean;
+    }
     if (parent == null) {
       throw new NoSuchElementException("No bean found for type: " + type + " name: " + name);
     }
@@ -148,6 +202,10 @@ final class DBeanScope implements BeanScope {
     if (bean != null) {
       return Optional.of(bean);
     }
+    final T deferredBean = deferredBean(type, name);
+    if (deferredBean != null) {
+      return Optional.of(deferredBean);
+    }
     if (parent == null) {
       return Optional.empty();
     }
@@ -157,7 +215,16 @@ final class DBeanScope implements BeanScope {
   @SuppressWarnings("unchecked")
   @Override
   public <T> Map<String, T> map(Type type) {
-    return (Map<String, T>) beans.map(type, parent);
+    final Map<String, Object> map = beans.map(type, parent);
+    final List<DBeanScope> deferredScopes = deferredScopes(type);
+    if (deferredScopes.isEmpty()) {
+      return (Map<String, T>) map;
+    }
+    final Map<String, Object> result = new LinkedHashMap<>(map);
+    for (final DBeanScope deferredScope : deferredScopes) {
+      deferredScope.beans.map(type).forEach(result::putIfAbsent);
+    }
+    return (Map<String, T>) result;
   }
 
   @Override
@@ -173,6 +240,9 @@ final class DBeanScope implements BeanScope {
   @SuppressWarnings("unchecked")
   private <T> List<T> listOf(Type type) {
     List<T> values = (List<T>) beans.all(type);
+    for (final DBeanScope deferredScope : deferredScopes(type)) {
+      values = combine(values, (List<T>) deferredScope.beans.all(type));
+    }
     if (parent == null) {
       return values;
     }
@@ -195,10 +265,41 @@ final class DBeanScope implements BeanScope {
     return listByPriority(type, Priority.class);
   }
 
+  @SuppressWarnings("unchecked")
   @Override
   public <T> List<T> listByPriority(Class<T> type, Class<? extends Annotation> priorityAnnotation) {
+    final var byAnnotation = priorityLists.computeIfAbsent(type, k -> new ConcurrentHashMap<>());
+    final List<T> cached = (List<T>) byAnnotation.get(priorityAnnotation);
+    if (cached != null) {
+      // callers own the returned list
+      return new ArrayList<>(cached);
+    }
     List<T> list = list(type);
-    return list.size() > 1 ? sortByPriority(list, priorityAnnotation) : list;
+    List<T> sorted = list.size() > 1 ? sortByPriority(list, priorityAnnotation) : list;
+    if (hasPrototype(type)) {
+      // new instances on each call so the list can not be cached
+      return sorted;
+    }
+    byAnnotation.put(priorityAnnotation, List.copyOf(sorted));
+    return sorted;
+  }
+
+  /**
+   * Return true if any of the beans for the type (including the parent scope) are prototype scoped.
+   */
+  boolean hasPrototype(Type type) {
+    if (beans.hasPrototype(type)) {
+      return true;
+    }
+    for (final DBeanScope deferredScope : deferredScopes(type)) {
+      if (deferredScope.beans.hasPrototype(type)) {
+        return true;
+      }
+    }
+    if (parent == null) {
+      return false;
+    }
+    return !(parent instanceof DBeanScope) || ((DBeanScope) parent).hasPrototype(type);
   }
 
   private <T> List<T> sortByPriority(List<T> list, final Class<? extends Annotation> priorityAnnotation) {
@@ -226,14 +327,40 @@ final class DBeanScope implements BeanScope {
 
   @Override
   public List<Object> listByAnnotation(Class<? extends Annotation> annotation) {
-    final List<Object> values = all().stream()
-    	      .filter(entry -> entry.type().isAnnotationPresent(annotation))
-    	      .map(BeanEntry::bean)
-    	      .collect(Collectors.toList());
+    final List<Object> cached = annotationLists.get(annotation);
+    if (cached != null) {
+      // callers own the returned list
+      return new ArrayList<>(cached);
+    }
+    final List<Object> values = new ArrayList<>();
+    if (addByAnnotation(annotation, values)) {
+      // otherwise includes prototype beans so the list can not be cached
+      annotationLists.put(annotation, List.copyOf(values));
+    }
+    return values;
+  }
+
+  /**
+   * Add the beans with the annotation including those from the deferred modules (which are
+   * built) and the parent scope.
+   *
+   * @return false if the result can not be cached as it includes prototype beans
+   */
+  private boolean addByAnnotation(Class<? extends Annotation> annotation, List<Object> values) {
+    boolean cacheable = beans.addByAnnotation(annotation, values);
+    if (deferred != null) {
+      for (final DBeanScope deferredScope : deferred.scopes(this)) {
+        cacheable &= deferredScope.beans.addByAnnotation(annotation, values);
+      }
+    }
     if (parent == null) {
-      return values;
+      return cacheable;
+    }
+    if (parent instanceof DBeanScope) {
+      return ((DBeanScope) parent).addByAnnotation(annotation, values) && cacheable;
     }
-    return combine(values, parent.listByAnnotation(annotation));
+    values.addAll(parent.listByAnnotation(annotation));
+    return false;
   }
 
   DBeanScope start(long start) {
@@ -249,10 +376,32 @@ final class DBeanScope implements BeanScope {
     } finally {
       lock.unlock();
     }
+    if (!asyncInits.isEmpty()) {
+      // not holding the lock as an async init can create lazy beans that add PreDestroy methods
+      log.log(TRACE, "waiting for async postConstruct");
+      asyncInits.await();
+    }
     log.log(INFO, "Wired beans in {0}ms", (System.currentTimeMillis() - start));
     return this;
   }
 
+  /**
+   * Add the PreDestroy method of a bean created on first use after the scope was built.
+   */
+  void addPreDestroy(ClosePair closePair) {
+    preDestroyLock.lock();
+    try {
+      // keep the priority order, after the methods of the same priority
+      int pos = preDestroy.size();
+      while (pos > 0 && preDestroy.get(pos - 1).priority() > closePair.priority()) {
+        pos--;
+      }
+      preDestroy.add(pos, closePair);
+    } finally {
+      preDestroyLock.unlock();
+    }
+  }
+
   @Override
   public void close() {
     lock.lock();
@@ -263,13 +412,16 @@ final class DBeanScope implements BeanScope {
       if (!closed) {
         // we only allow one call to preDestroy
         closed = true;
+        if (deferred != null) {
+          // the deferred modules depend on this scope
+          deferred.close();
+        }
         log.log(TRACE, "firing preDestroy");
-        for (final AutoCloseable closeable : preDestroy) {
-          try {
-            closeable.close();
-          } catch (final Exception e) {
-            log.log(Level.ERROR, "Error during PreDestroy lifecycle method", e);
-          }
+        preDestroyLock.lock();
+        try {
+          firePreDestroy();
+        } finally {
+          preDestroyLock.unlock();
         }
       }
     } finally {
@@ -277,6 +429,20 @@ final class DBeanScope implements BeanScope {
     }
   }
 
+  private void firePreDestroy() {
+    if (parallelClose != null) {
+      parallelClose.close(preDestroy);
+      return;
+    }
+    for (final ClosePair pair : preDestroy) {
+      try {
+        pair.closeable().close();
+      } catch (final Exception e) {
+        log.log(Level.ERROR, "Error during PreDestroy lifecycle method", e);
+      }
+    }
+  }
+
   private void shutdown() {
     lock.lock();
     try {
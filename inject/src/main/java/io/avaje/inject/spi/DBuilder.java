@@ -5,9 +5,13 @@ import io.avaje.inject.BeanScope;
 import jakarta.inject.Provider;
 
 import java.lang.reflect.Type;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 import static io.avaje.inject.spi.DBeanScope.combine;
 
@@ -27,6 +31,16 @@ class DBuilder implements Builder {
 
   protected final BeanScope parent;
   protected final boolean parentOverride;
+  /** The builder this segment is merged into, null unless building modules concurrently. */
+  private final DBuilder base;
+  /** The async PostConstruct methods, shared with segments. */
+  private final AsyncInits asyncInits;
+  /** The async inits that each bean depends on (including its own), only used when there are async inits. */
+  private final Map<Object, List<AsyncInits.Init>> asyncDepends = new IdentityHashMap<>();
+  /** The beans obtained while wiring the current bean, only used when there are async inits. */
+  private final List<Object> wiredWith = new ArrayList<>();
+  /** The bean last registered, that PostConstruct methods are added for. */
+  private Object lastBean;
   /** Bean provided by the parent scope that we are not overriding. */
   protected Object parentMatch;
   /** Debug of the current bean being wired - used in injection errors. */
@@ -35,12 +49,39 @@ class DBuilder implements Builder {
   private boolean runningPostConstruct;
 
   private DBeanScopeProxy beanScopeProxy;
+  private ParallelClose parallelClose;
+  /** Listener notified with the wiring timings, null unless instrumenting. */
+  private WiringListener listener;
+  /** The nanoTime the current bean started wiring, only used with a listener. */
+  private long beanStart;
+  /** Flag set when eligible singletons are created on first use. */
+  private boolean lazyAll;
+  /** The scope that was built, PreDestroy methods of beans created on first use are added to it. */
+  private volatile DBeanScope scope;
+  /** The modules that are built on first lookup, null unless there are deferred modules. */
+  private DeferredModules deferredModules;
 
   DBuilder(Set<String> profiles, ConfigPropertyPlugin propertyPlugin, BeanScope parent, boolean parentOverride) {
+    this(profiles, propertyPlugin, parent, parentOverride, null);
+  }
+
+  /**
+   * Create a segment used to build a module concurrently with other modules.
+   */
+  private DBuilder(DBuilder base, Class<? extends AvajeModule> module) {
+    this(base.profiles, base.propertyPlugin, base.parent, base.parentOverride, base);
+    beanMap.currentModule(module);
+  }
+
+  private DBuilder(Set<String> profiles, ConfigPropertyPlugin propertyPlugin, BeanScope parent, boolean parentOverride, DBuilder base) {
     this.propertyPlugin = propertyPlugin;
     this.parent = parent;
     this.parentOverride = parentOverride;
     this.profiles = profiles;
+    this.base = base;
+    this.asyncInits = base == null ? new AsyncInits() : base.asyncInits;
+    this.listener = base == null ? null : base.listener;
+    this.lazyAll = base != null && base.lazyAll;
   }
 
   @Override
@@ -85,6 +126,11 @@ class DBuilder implements Builder {
   }
 
   protected final void next(String name, Type... types) {
+    if (listener != null) {
+      beanStart = System.nanoTime();
+    }
+    wiredWith.clear();
+    lastBean = null;
     injectTarget = firstOf(types);
     beanMap.nextBean(name, types);
   }
@@ -95,27 +141,30 @@ class DBuilder implements Builder {
 
   @Override
   public final <T> Set<T> set(Class<T> type) {
-    return new LinkedHashSet<>(listOf(type));
+    return new LinkedHashSet<>(wired(listOf(type)));
   }
 
   @Override
   public final <T> List<T> list(Class<T> type) {
-    return listOf(type);
+    return wired(listOf(type));
   }
 
   @Override
   public final <T> Set<T> set(Type type) {
-    return new LinkedHashSet<>(listOf(type));
+    return new LinkedHashSet<>(wired(listOf(type)));
   }
 
   @Override
   public final <T> List<T> list(Type type) {
-    return listOf(type);
+    return wired(listOf(type));
   }
 
   @SuppressWarnings({"unchecked"})
   private <T> List<T> listOf(Type type) {
     final List<T> values = (List<T>) beanMap.all(type);
+    if (base != null) {
+      return combine(values, base.listOf(type));
+    }
     if (parent == null) {
       return values;
     }
@@ -124,24 +173,92 @@ class DBuilder implements Builder {
 
   @Override
   public final <T> Map<String, T> map(Class<T> type) {
-    return mapOf(type);
+    return wired(mapOf(type));
   }
 
   @Override
   public final <T> Map<String, T> map(Type type) {
-    return mapOf(type);
+    return wired(mapOf(type));
   }
 
   @SuppressWarnings("unchecked")
   private <T> Map<String, T> mapOf(Type type) {
+    if (base != null) {
+      final Map<String, T> map = new LinkedHashMap<>(base.mapOf(type));
+      map.putAll((Map<String, T>) beanMap.map(type, null));
+      return map;
+    }
     return (Map<String, T>) beanMap.map(type, parent);
   }
 
   private <T> T getMaybe(Type type, String name) {
-    final T bean = beanMap.get(type, name);
+    final T bean = getMaybe(type, name, beanMap.currentModule());
+    if (bean != null && isTrackingAsync()) {
+      wiredWith.add(bean);
+    }
+    return bean;
+  }
+
+  /**
+   * Return true when tracking the beans used to wire the current bean (only with async inits).
+   */
+  private boolean isTrackingAsync() {
+    return !runningPostConstruct && !asyncInits.isEmpty();
+  }
+
+  private <T> List<T> wired(List<T> beans) {
+    if (isTrackingAsync()) {
+      wiredWith.addAll(beans);
+    }
+    return beans;
+  }
+
+  private <T> Map<String, T> wired(Map<String, T> beans) {
+    if (isTrackingAsync()) {
+      wiredWith.addAll(beans.values());
+    }
+    return beans;
+  }
+
+  /**
+   * Return the async inits the bean depends on, including its own.
+   */
+  private List<AsyncInits.Init> asyncDepends(Object bean) {
+    if (bean == null) {
+      return List.of();
+    }
+    final List<AsyncInits.Init> inits = asyncDepends.get(bean);
+    if (inits != null) {
+      return inits;
+    }
+    return base == null ? List.of() : base.asyncDepends(bean);
+  }
+
+  /**
+   * Register the async inits of the beans used to wire this bean as its dependencies.
+   */
+  private void addAsyncDepends(Object bean) {
+    if (wiredWith.isEmpty()) {
+      return;
+    }
+    final Set<AsyncInits.Init> inits = new LinkedHashSet<>();
+    for (final Object wired : wiredWith) {
+      inits.addAll(asyncDepends(wired));
+    }
+    wiredWith.clear();
+    if (!inits.isEmpty()) {
+      asyncDepends.put(bean, new ArrayList<>(inits));
+    }
+  }
+
+  private <T> T getMaybe(Type type, String name, Class<? extends AvajeModule> module) {
+    final T bean = beanMap.get(type, name, module);
     if (bean != null) {
       return bean;
     }
+    if (base != null) {
+      return base.getMaybe(type, name, module);
+    }
     return parent == null ? null : parent.<T>getOptional(type, name).orElse(null);
   }
 
@@ -153,11 +270,35 @@ class DBuilder implements Builder {
 
   @Override
   public final <T> T register(T bean) {
-    bean = enrich(bean, beanMap.next());
+    final DBeanMap.NextBean next = beanMap.next();
+    bean = enrich(bean, next);
     beanMap.register(bean);
+    if (listener != null && injectTarget != null) {
+      listener.beanWired(beanMap.currentModule(), next.name, injectTarget, System.nanoTime() - beanStart);
+    }
+    lastBean = bean;
+    addAsyncDepends(bean);
     return bean;
   }
 
+  @Override
+  public boolean isDirectWiring() {
+    return parent == null && !lazyAll;
+  }
+
+  @Override
+  public boolean isLazyAll() {
+    return lazyAll;
+  }
+
+  @Override
+  public final <T> T registerDirect(T bean, Object... dependencies) {
+    if (isTrackingAsync()) {
+      Collections.addAll(wiredWith, dependencies);
+    }
+    return register(bean);
+  }
+
   @Override
   public Builder asPrimary() {
     beanMap.nextPriority(BeanEntry.PRIMARY);
@@ -182,6 +323,12 @@ class DBuilder implements Builder {
     beanMap.register(provider);
   }
 
+  @Override
+  public final <T> void registerLazyProxy(Provider<T> provider, Function<Provider<T>, ?> proxy) {
+    // no enrichment
+    beanMap.registerLazyProxy(provider, proxy);
+  }
+
   @Override
   public final <T> void withBean(Class<T> type, T bean) {
     next(null, type);
@@ -191,12 +338,109 @@ class DBuilder implements Builder {
 
   @Override
   public final void addPostConstruct(Runnable invoke) {
-    postConstruct.add(invoke);
+    final Runnable timed = timed(invoke);
+    final List<AsyncInits.Init> dependsOn = AsyncInits.runnableOnly(asyncDepends(lastBean));
+    if (dependsOn.isEmpty()) {
+      postConstruct.add(timed);
+    } else {
+      postConstruct.add(() -> {
+        AsyncInits.await(dependsOn);
+        timed.run();
+      });
+    }
   }
 
   @Override
   public void addPostConstruct(Consumer<BeanScope> consumer) {
-    postConstructConsumers.add(consumer);
+    final Consumer<BeanScope> timed = timed(consumer);
+    final List<AsyncInits.Init> dependsOn = asyncDepends(lastBean);
+    if (dependsOn.isEmpty()) {
+      postConstructConsumers.add(timed);
+    } else {
+      postConstructConsumers.add(scope -> {
+        AsyncInits.await(dependsOn);
+        timed.accept(scope);
+      });
+    }
+  }
+
+  @Override
+  public final void addPostConstructAsync(Runnable invoke) {
+    final Runnable timed = timed(invoke);
+    final List<AsyncInits.Init> dependsOn = AsyncInits.runnableOnly(asyncDepends(lastBean));
+    final var init = asyncInits.add(scope -> timed.run(), dependsOn, false);
+    addAsyncInit(init);
+    postConstruct.add(init);
+  }
+
+  @Override
+  public final void addPostConstructAsync(Consumer<BeanScope> consumer) {
+    final var init = asyncInits.add(timed(consumer), asyncDepends(lastBean), true);
+    addAsyncInit(init);
+    postConstructConsumers.add(init);
+  }
+
+  /**
+   * Return the PostConstruct method wrapped to report its time when there is a listener.
+   */
+  private Runnable timed(Runnable invoke) {
+    if (listener == null) {
+      return invoke;
+    }
+    final WiringListener wiringListener = listener;
+    final String name = ParallelClose.name(invoke);
+    return () -> {
+      final long start = System.nanoTime();
+      invoke.run();
+      wiringListener.postConstruct(name, System.nanoTime() - start);
+    };
+  }
+
+  private Consumer<BeanScope> timed(Consumer<BeanScope> consumer) {
+    if (listener == null) {
+      return consumer;
+    }
+    final WiringListener wiringListener = listener;
+    final String name = ParallelClose.name(consumer);
+    return scope -> {
+      final long start = System.nanoTime();
+      consumer.accept(scope);
+      wiringListener.postConstruct(name, System.nanoTime() - start);
+    };
+  }
+
+  /**
+   * Add the async init such that beans that depend on the last bean wait for it.
+   */
+  private void addAsyncInit(AsyncInits.Init init) {
+    if (lastBean != null) {
+      final List<AsyncInits.Init> inits = new ArrayList<>(asyncDepends(lastBean));
+      inits.add(init);
+      asyncDepends.put(lastBean, inits);
+    }
+  }
+
+  @Override
+  public final void parallelPreDestroy(Duration closeTimeout, Duration deadline) {
+    this.parallelClose = new ParallelClose(closeTimeout, deadline);
+  }
+
+  @Override
+  public final void wiringListener(WiringListener listener) {
+    this.listener = listener;
+  }
+
+  @Override
+  public final void lazyAll() {
+    this.lazyAll = true;
+  }
+
+  @Override
+  public final void deferModule(AvajeModule module, Function<BeanScope, BeanScope> build) {
+    if (deferredModules == null) {
+      deferredModules = new DeferredModules();
+    }
+    deferredModules.add(module, build);
   }
 
   @Override
@@ -206,13 +450,33 @@ class DBuilder implements Builder {
 
   @Override
   public final void addPreDestroy(AutoCloseable invoke, int priority) {
-    preDestroy.add(new ClosePair(priority, invoke));
+    addPreDestroy(new ClosePair(priority, invoke));
+  }
+
+  @Override
+  public final void addPreDestroy(Object bean, AutoCloseable invoke) {
+    addPreDestroy(bean, invoke, 1000);
+  }
+
+  @Override
+  public final void addPreDestroy(Object bean, AutoCloseable invoke, int priority) {
+    addPreDestroy(new ClosePair(priority, invoke, bean.getClass().getName()));
   }
 
   @Override
   public final void addAutoClosable(Object maybeAutoCloseable) {
     if (maybeAutoCloseable instanceof AutoCloseable) {
-      preDestroy.add(new ClosePair(1000, (AutoCloseable) maybeAutoCloseable));
+      addPreDestroy(new ClosePair(1000, (AutoCloseable) maybeAutoCloseable, maybeAutoCloseable.getClass().getName()));
+    }
+  }
+
+  private void addPreDestroy(ClosePair closePair) {
+    final DBeanScope built = base == null ? scope : base.scope;
+    if (built != null) {
+      // a bean created on first use after the scope was built
+      built.addPreDestroy(closePair);
+    } else {
+      preDestroy.add(closePair);
     }
   }
 
@@ -296,6 +560,10 @@ class DBuilder implements Builder {
   }
 
   <T> Provider<T> obtainProvider(Type type, String name) {
+    if (base != null) {
+      // the injectors run after the segment has been merged
+      return base.obtainProvider(type, name);
+    }
     final Provider<T> provider = beanMap.provider(type, name);
     if (provider != null) {
       return provider;
@@ -359,17 +627,17 @@ class DBuilder implements Builder {
 
   @Override
   public boolean contains(String type) {
-    return beanMap.contains(type);
+    return beanMap.contains(type) || base != null && base.contains(type);
   }
 
   @Override
   public boolean contains(Type type) {
-    return beanMap.contains(type);
+    return beanMap.contains(type) || base != null && base.contains(type);
   }
 
   @Override
   public boolean containsQualifier(String name) {
-    return beanMap.containsQualifier(name);
+    return beanMap.containsQualifier(name) || base != null && base.containsQualifier(name);
   }
 
   @Override
@@ -390,6 +658,9 @@ class DBuilder implements Builder {
 
   @SuppressWarnings("unchecked")
   private <T> T injectBeanScope() {
+    if (base != null) {
+      return base.injectBeanScope();
+    }
     if (beanScopeProxy == null) {
       beanScopeProxy = new DBeanScopeProxy(this);
     }
@@ -414,6 +685,66 @@ class DBuilder implements Builder {
     return msg.toString();
   }
 
+  @Override
+  public void buildModules(List<AvajeModule> modules, Executor executor) {
+    // create the proxy up front as the segments share it
+    injectBeanScope();
+    final List<DBuilder> segments = new ArrayList<>(modules.size());
+    final List<CompletableFuture<Void>> futures = new ArrayList<>(modules.size());
+    for (final AvajeModule module : modules) {
+      final var segment = new DBuilder(this, module.getClass());
+      segments.add(segment);
+      futures.add(CompletableFuture.runAsync(() -> buildSegment(module, segment), executor));
+    }
+    RuntimeException error = null;
+    for (final CompletableFuture<Void> future : futures) {
+      try {
+        future.join();
+      } catch (CompletionException e) {
+        if (error == null) {
+          error = unwrap(e.getCause());
+        }
+      }
+    }
+    if (error != null) {
+      throw error;
+    }
+    // merge in module order such that the result is the same as building in order
+    for (final DBuilder segment : segments) {
+      merge(segment);
+    }
+  }
+
+  private void buildSegment(AvajeModule module, DBuilder segment) {
+    if (listener == null) {
+      module.build(segment);
+    } else {
+      final long start = System.nanoTime();
+      module.build(segment);
+      listener.moduleBuilt(module.getClass(), System.nanoTime() - start);
+    }
+  }
+
+  private static RuntimeException unwrap(Throwable cause) {
+    if (cause instanceof RuntimeException) {
+      return (RuntimeException) cause;
+    }
+    if (cause instanceof Error) {
+      throw (Error) cause;
+    }
+    return new IllegalStateException(cause);
+  }
+
+  private void merge(DBuilder segment) {
+    beanMap.merge(segment.beanMap);
+    beanMap.currentModule(segment.beanMap.currentModule());
+    postConstruct.addAll(segment.postConstruct);
+    postConstructConsumers.addAll(segment.postConstructConsumers);
+    preDestroy.addAll(segment.preDestroy);
+    injectors.addAll(segment.injectors);
+    asyncDepends.putAll(segment.asyncDepends);
+  }
+
   private void runInjectors() {
     runningPostConstruct = true;
     for (final Consumer<Builder> injector : injectors) {
@@ -424,20 +755,20 @@ class DBuilder implements Builder {
   @Override
   public final BeanScope build(boolean withShutdownHook, long start) {
     runInjectors();
-    final var scope = new DBeanScope(withShutdownHook, preDestroy(), postConstruct, postConstructConsumers, beanMap, parent);
+    beanMap.freeze();
+    final var scope = new DBeanScope(withShutdownHook, preDestroy(), parallelClose, postConstruct, postConstructConsumers, asyncInits, beanMap, parent, deferredModules);
     if (beanScopeProxy != null) {
       beanScopeProxy.inject(scope);
     }
+    this.scope = scope;
     return scope.start(start);
   }
 
   /**
    * Return the PreDestroy methods in priority order.
    */
-  private List<AutoCloseable> preDestroy() {
+  private List<ClosePair> preDestroy() {
     Collections.sort(preDestroy);
-    return preDestroy.stream()
-      .map(ClosePair::closeable)
-      .collect(Collectors.toList());
+    return preDestroy;
   }
 }
@@ -8,6 +8,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 /**
  * Extended builder that supports supplied beans (mocks) and enriching beans (spy).
@@ -18,6 +19,7 @@ final class DBuilderExtn extends DBuilder {
   private final Map<String, EnrichBean> enrichMap = new HashMap<>();
 
   private final boolean hasSuppliedBeans;
+  private final boolean hasTestDoubles;
 
   @SuppressWarnings("rawtypes")
   DBuilderExtn(Set<String> profiles, ConfigPropertyPlugin plugin, BeanScope parent, boolean parentOverride, List<SuppliedBean> suppliedBeans, List<EnrichBean> enrichBeans) {
@@ -26,6 +28,7 @@ final class DBuilderExtn extends DBuilder {
     if (hasSuppliedBeans) {
       beanMap.add(suppliedBeans);
     }
+    this.hasTestDoubles = hasTestDoubles(suppliedBeans, enrichBeans);
     if (enrichBeans != null && !enrichBeans.isEmpty()) {
       for (final EnrichBean spy : enrichBeans) {
         enrichMap.put(spy.key(), spy);
@@ -33,6 +36,35 @@ final class DBuilderExtn extends DBuilder {
     }
   }
 
+  /**
+   * Return true if there are supplied or enriched beans other than default (secondary) beans.
+   */
+  @SuppressWarnings("rawtypes")
+  private static boolean hasTestDoubles(List<SuppliedBean> suppliedBeans, List<EnrichBean> enrichBeans) {
+    if (enrichBeans != null && !enrichBeans.isEmpty()) {
+      return true;
+    }
+    if (suppliedBeans != null) {
+      for (final SuppliedBean suppliedBean : suppliedBeans) {
+        if (suppliedBean.priority() != BeanEntry.SECONDARY) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean isDirectWiring() {
+    return !hasTestDoubles && super.isDirectWiring();
+  }
+
+  @Override
+  public boolean isLazyAll() {
+    // spies are applied when the bean is registered
+    return enrichMap.isEmpty() && super.isLazyAll();
+  }
+
   @Override
   public boolean isBeanAbsent(String qualifierName, Type... types) {
     if (!super.isBeanAbsent(qualifierName, types)) {
@@ -45,6 +77,17 @@ final class DBuilderExtn extends DBuilder {
     return true;
   }
 
+  /**
+   * Supplied and enriched beans are matched against the one bean map so build the modules in order.
+   */
+  @Override
+  public void buildModules(List<AvajeModule> modules, Executor executor) {
+    for (final AvajeModule module : modules) {
+      currentModule(module.getClass());
+      module.build(this);
+    }
+  }
+
   /**
    * If we have a parentMatch (e.g. test scope bean) but we want to enrich it (Mockito Spy),
    * then enrich the parentMatch bean and register that into this scope.
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Entry for a given key (bean class, interface class or annotation class).
@@ -15,6 +16,7 @@ import java.util.Map;
 final class DContextEntry {
 
   private final List<DContextEntryBean> entries = new ArrayList<>(5);
+  private Resolved resolved;
 
   @Override
   public String toString() {
@@ -29,11 +31,21 @@ final class DContextEntry {
     entries.add(entryBean);
   }
 
+  /**
+   * No more entries will be added so cache the resolved matches for the given module.
+   */
+  void freeze(Class<? extends AvajeModule> currentModule) {
+    if (entries.size() > 1) {
+      resolved = new Resolved(currentModule);
+    }
+  }
+
   Provider<?> provider(String name, Class<? extends AvajeModule> currentModule) {
     if (entries.size() == 1) {
       return entries.get(0).provider();
     }
-    return new EntryMatcher(name, currentModule).provider(entries);
+    DContextEntryBean match = match(name, currentModule);
+    return match == null ? null : match.provider();
   }
 
   /**
@@ -50,7 +62,15 @@ final class DContextEntry {
     if (entries.size() == 1) {
       return entries.get(0).bean();
     }
-    return new EntryMatcher(name, currentModule).match(entries);
+    DContextEntryBean match = match(name, currentModule);
+    return match == null ? null : match.bean();
+  }
+
+  private DContextEntryBean match(String name, Class<? extends AvajeModule> currentModule) {
+    if (resolved != null && resolved.module == currentModule) {
+      return resolved.match(name, entries);
+    }
+    return new EntryMatcher(name, currentModule).findMatch(entries);
   }
 
   /**
@@ -64,6 +84,18 @@ final class DContextEntry {
     return list;
   }
 
+  /**
+   * Return true if any of the entries are prototype scoped.
+   */
+  boolean hasPrototype() {
+    for (DContextEntryBean entry : entries) {
+      if (entry.isPrototype()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Return a map of beans keyed by qualifier name.
    */
@@ -92,6 +124,45 @@ final class DContextEntry {
     return null;
   }
 
+  /**
+   * Cache of the resolved match by qualifier name for the module used after the scope is built.
+   * <p>
+   * Only matches on the qualifier names of the entries are cached such that the cache is bounded
+   * by the entries regardless of the names callers ask for. Failed matches (ambiguous beans) are
+   * not cached such that the same error is thrown each time.
+   */
+  static final class Resolved {
+
+    private static final DContextEntryBean NO_MATCH = DContextEntryBean.of(Resolved.class, null, 0, null);
+
+    private final Class<? extends AvajeModule> module;
+    private final Map<String, DContextEntryBean> named = new ConcurrentHashMap<>();
+    private volatile DContextEntryBean unnamed;
+
+    Resolved(Class<? extends AvajeModule> module) {
+      this.module = module;
+    }
+
+    DContextEntryBean match(String name, List<DContextEntryBean> entries) {
+      if (name == null) {
+        DContextEntryBean match = unnamed;
+        if (match == null) {
+          match = new EntryMatcher(null, module).findMatch(entries);
+          unnamed = match == null ? NO_MATCH : match;
+        }
+        return match == NO_MATCH ? null : match;
+      }
+      DContextEntryBean match = named.get(name);
+      if (match == null) {
+        match = new EntryMatcher(name, module).findMatch(entries);
+        if (match != null && match.isNameEqual(name.startsWith("!") ? name.substring(1) : name)) {
+          named.put(name, match);
+        }
+      }
+      return match;
+    }
+  }
+
   static final class EntryMatcher {
 
     private final String name;
@@ -111,11 +182,6 @@ final class DContextEntry {
       }
     }
 
-    private Provider<?> provider(List<DContextEntryBean> entries) {
-      DContextEntryBean foundMatch = findMatch(entries);
-      return foundMatch == null ? null : foundMatch.provider();
-    }
-
     private Object match(List<DContextEntryBean> entries) {
       DContextEntryBean foundMatch = findMatch(entries);
       return foundMatch == null ? null : foundMatch.bean();
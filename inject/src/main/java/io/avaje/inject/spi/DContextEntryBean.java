@@ -3,6 +3,9 @@ package io.avaje.inject.spi;
 import io.avaje.inject.BeanEntry;
 
 import jakarta.inject.Provider;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -115,6 +118,13 @@ class DContextEntryBean {
     return flag == BeanEntry.SUPPLIED && (qualifierName == null || qualifierName.equals(name));
   }
 
+  /**
+   * Return true if each call to bean() can return a new instance.
+   */
+  boolean isPrototype() {
+    return false;
+  }
+
   /**
    * Prototype scope Provider based entry.
    */
@@ -136,13 +146,31 @@ class DContextEntryBean {
     Object bean() {
       return provider.get();
     }
+
+    @Override
+    boolean isPrototype() {
+      return true;
+    }
   }
 
   /**
    * Single instance scoped Provider based entry.
+   * <p>
+   * Once the bean is created it is read without locking, the lock is only used
+   * to create the bean.
    */
   static final class OnceProvider extends DContextEntryBean {
 
+    private static final VarHandle BEAN;
+
+    static {
+      try {
+        BEAN = MethodHandles.lookup().findVarHandle(OnceProvider.class, "bean", Object.class);
+      } catch (ReflectiveOperationException e) {
+        throw new ExceptionInInitializerError(e);
+      }
+    }
+
     private final ReentrantLock lock = new ReentrantLock();
     private final Provider<?> provider;
     private Object bean;
@@ -154,12 +182,18 @@ class DContextEntryBean {
 
     @Override
     Object bean() {
+      Object created = BEAN.getAcquire(this);
+      if (created != null) {
+        return created;
+      }
       lock.lock();
       try {
-        if (bean == null) {
-          bean = provider.get();
+        created = bean;
+        if (created == null) {
+          created = provider.get();
+          BEAN.setRelease(this, created);
         }
-        return bean;
+        return created;
       } finally {
         lock.unlock();
       }
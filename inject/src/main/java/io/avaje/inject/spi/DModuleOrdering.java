@@ -0,0 +1,250 @@
+package io.avaje.inject.spi;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jspecify.annotations.Nullable;
+
+import io.avaje.inject.BeanScope;
+
+/** Orders the modules based on their provides and requires. */
+final class DModuleOrdering implements ModuleOrdering {
+
+  private final @Nullable BeanScope parent;
+  private final boolean suppliedBeans;
+  private final Set<String> moduleNames = new LinkedHashSet<>();
+  private final List<AvajeModule> factories = new ArrayList<>();
+  private final List<FactoryState> queue = new ArrayList<>();
+  private final List<FactoryState> queueNoDependencies = new ArrayList<>();
+  private final Map<String, FactoryList> providesMap = new HashMap<>();
+
+  DModuleOrdering(@Nullable BeanScope parent, boolean suppliedBeans) {
+    this.parent = parent;
+    this.suppliedBeans = suppliedBeans;
+  }
+
+  @Override
+  public void add(AvajeModule module) {
+    final var factoryState = new FactoryState(module);
+    providesMap
+      .computeIfAbsent(module.getClass().getTypeName(), s -> new FactoryList())
+      .add(factoryState);
+
+    addFactoryProvides(factoryState, module.provides());
+    addFactoryProvides(factoryState, module.autoProvides());
+    addFactoryProvides(factoryState, module.autoProvidesAspects());
+
+    if (factoryState.isRequiresEmpty()) {
+      if (factoryState.explicitlyProvides()) {
+        // push immediately when explicitly 'provides' with no 'requires'
+        push(factoryState);
+      } else {
+        // hold until after all the explicitly 'provides' modules are added
+        queueNoDependencies.add(factoryState);
+      }
+    } else {
+      // queue it to process by dependency ordering
+      queue.add(factoryState);
+    }
+  }
+
+  private void addFactoryProvides(FactoryState factoryState, Type[] provides) {
+    for (final var feature : provides) {
+      providesMap.computeIfAbsent(feature.getTypeName(), s -> new FactoryList()).add(factoryState);
+    }
+  }
+
+  /** Push the factory onto the build order (the wiring order for modules). */
+  private void push(FactoryState factory) {
+    factory.setPushed();
+    factories.add(factory.factory());
+    moduleNames.add(factory.factory().getClass().getName());
+  }
+
+  @Override
+  public Set<String> orderModules() {
+    // push the 'no dependency' modules after the 'provides only' ones
+    // as this is more intuitive for the simple (only provides modules case)
+    for (final FactoryState factoryState : queueNoDependencies) {
+      push(factoryState);
+    }
+    processQueue();
+    return moduleNames;
+  }
+
+  @Override
+  public List<AvajeModule> factories() {
+    return factories;
+  }
+
+  /** Process the queue pushing the factories in order to satisfy dependencies. */
+  private void processQueue() {
+    int count;
+    do {
+      count = processQueuedFactories();
+    } while (count > 0);
+
+    if (suppliedBeans) {
+      // just push everything left assuming supplied beans
+      // will satisfy the required dependencies
+      for (final FactoryState factoryState : queue) {
+        push(factoryState);
+      }
+    } else if (!queue.isEmpty()) {
+      final var sb = new StringBuilder();
+      for (final FactoryState factory : queue) {
+        sb.append("Module [").append(factory).append("] has unsatisfied");
+        unsatisfiedRequires(sb, factory.requires(), "requires");
+        unsatisfiedRequires(sb, factory.requiresPackages(), "requiresPackages");
+        unsatisfiedRequires(sb, factory.autoRequires(), "autoRequires");
+      }
+      sb.append(" - none of the loaded modules ").append(moduleNames).append(" have this in their @InjectModule( provides = ... ). ");
+      if (parent != null) {
+        sb.append("The parent BeanScope ").append(parent).append(" also does not provide this dependency. ");
+      }
+      sb.append("Either @InjectModule requires/provides are not aligned? or add external dependencies via BeanScopeBuilder.bean()?");
+      throw new IllegalStateException(sb.toString());
+    }
+  }
+
+  private void unsatisfiedRequires(StringBuilder sb, Type[] requiredType, String requires) {
+    for (final var depModuleName : requiredType) {
+      if (notProvided(depModuleName.getTypeName())) {
+        sb.append(String.format(" %s [%s]", requires, depModuleName.getTypeName()));
+      }
+    }
+  }
+
+  private boolean notProvided(String dependency) {
+    if (parent != null && parent.contains(dependency)) {
+      return false;
+    }
+    final var factoryList = providesMap.get(dependency);
+    return factoryList == null || !factoryList.allPushed();
+  }
+
+  /**
+   * Process the queued factories pushing them when all their (module) dependencies are satisfied.
+   *
+   * <p>This returns the number of factories added so once this returns 0 it is done.
+   */
+  private int processQueuedFactories() {
+    int count = 0;
+    final var it = queue.iterator();
+    while (it.hasNext()) {
+      final FactoryState factory = it.next();
+      if (satisfiedDependencies(factory)) {
+        // push the factory onto the build order
+        it.remove();
+        push(factory);
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /** Return true if the (module) requires dependencies are satisfied for this factory. */
+  private boolean satisfiedDependencies(FactoryState factory) {
+    return satisfiedDependencies(factory.requires())
+      && satisfiedDependencies(factory.requiresPackages())
+      && satisfiedDependencies(factory.autoRequiresAspects())
+      && satisfiedDependencies(factory.autoRequires());
+  }
+
+  private boolean satisfiedDependencies(Type[] requires) {
+    for (final var dependency : requires) {
+      if (notProvided(dependency.getTypeName())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return factories.isEmpty();
+  }
+
+  /** Wrapper on Factory holding the pushed state. */
+  private static class FactoryState {
+
+    private final AvajeModule factory;
+    private boolean pushed;
+
+    private FactoryState(AvajeModule factory) {
+      this.factory = factory;
+    }
+
+    /** Set when factory is pushed onto the build/wiring order. */
+    void setPushed() {
+      this.pushed = true;
+    }
+
+    boolean isPushed() {
+      return pushed;
+    }
+
+    AvajeModule factory() {
+      return factory;
+    }
+
+    Type[] requires() {
+      return factory.requires();
+    }
+
+    Type[] requiresPackages() {
+      return factory.requiresPackages();
+    }
+
+    Type[] autoRequires() {
+      return factory.autoRequires();
+    }
+
+    Type[] autoRequiresAspects() {
+      return factory.autoRequiresAspects();
+    }
+
+    @Override
+    public String toString() {
+      return factory.getClass().getTypeName();
+    }
+
+    boolean isRequiresEmpty() {
+      return isEmpty(factory.requires()) && isEmpty(factory.requiresPackages())
+        && isEmpty(factory.autoRequires()) && isEmpty(factory.autoRequiresAspects());
+    }
+
+    boolean explicitlyProvides() {
+      return !isEmpty(factory.provides());
+    }
+
+    private boolean isEmpty(@Nullable Type[] values) {
+      return values == null || values.length == 0;
+    }
+  }
+
+  /** List of factories for a given name or feature. */
+  private static class FactoryList {
+
+    private final List<FactoryState> factories = new ArrayList<>();
+
+    void add(FactoryState factory) {
+      factories.add(factory);
+    }
+
+    /** Return true if all factories here have been pushed onto the build order. */
+    boolean allPushed() {
+      for (final FactoryState factory : factories) {
+        if (!factory.isPushed()) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package io.avaje.inject.spi;
+
+import static java.lang.System.Logger.Level.DEBUG;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import io.avaje.applog.AppLog;
+import io.avaje.inject.BeanScope;
+
+/**
+ * The modules that are only built when a lookup first hits one of the types they provide.
+ * <p>
+ * Until then only the types that the modules provide are registered. Each module is built
+ * into a scope that has the scope that was built as its parent. Lookups by type build all the
+ * modules that provide the type, lookups that are not by type (all and by annotation) build
+ * all the modules.
+ */
+@NullMarked
+final class DeferredModules {
+
+  private static final System.Logger log = AppLog.getLogger("io.avaje.inject");
+
+  private final List<Deferred> modules = new ArrayList<>();
+  private final Map<String, List<Deferred>> byType = new HashMap<>();
+
+  void add(AvajeModule module, Function<BeanScope, BeanScope> build) {
+    final var deferred = new Deferred(module, build);
+    modules.add(deferred);
+    addTypes(deferred, module.provides());
+    addTypes(deferred, module.autoProvides());
+  }
+
+  private void addTypes(Deferred deferred, @Nullable Type[] types) {
+    if (types != null) {
+      for (final Type type : types) {
+        final var providers = byType.computeIfAbsent(type.getTypeName(), k -> new ArrayList<>(1));
+        if (!providers.contains(deferred)) {
+          providers.add(deferred);
+        }
+      }
+    }
+  }
+
+  /**
+   * Return true if a deferred module provides the type.
+   */
+  boolean contains(String type) {
+    return byType.containsKey(type);
+  }
+
+  /**
+   * Return the scopes of the modules that provide the type, building the modules on first use.
+   */
+  List<DBeanScope> scopes(Type type, BeanScope parent) {
+    final List<Deferred> providers = byType.get(type.getTypeName());
+    return providers == null ? Collections.emptyList() : scopes(providers, parent);
+  }
+
+  /**
+   * Return the scopes of all the modules, building the modules on first use.
+   */
+  List<DBeanScope> scopes(BeanScope parent) {
+    return scopes(modules, parent);
+  }
+
+  private static List<DBeanScope> scopes(List<Deferred> deferred, BeanScope parent) {
+    final List<DBeanScope> scopes = new ArrayList<>(deferred.size());
+    for (final Deferred module : deferred) {
+      final DBeanScope scope = module.scope(parent);
+      if (scope != null) {
+        scopes.add(scope);
+      }
+    }
+    return scopes;
+  }
+
+  /**
+   * Close the modules that were built in reverse order.
+   */
+  void close() {
+    for (int i = modules.size() - 1; i >= 0; i--) {
+      modules.get(i).close();
+    }
+  }
+
+  private static final class Deferred {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AvajeModule module;
+    private final Function<BeanScope, BeanScope> build;
+    private volatile @Nullable DBeanScope scope;
+
+    Deferred(AvajeModule module, Function<BeanScope, BeanScope> build) {
+      this.module = module;
+      this.build = build;
+    }
+
+    @Nullable
+    DBeanScope scope(BeanScope parent) {
+      DBeanScope built = scope;
+      if (built != null) {
+        return built;
+      }
+      lock.lock();
+      try {
+        if (scope == null && lock.getHoldCount() == 1) {
+          // not a lookup made while building the module
+          log.log(DEBUG, "building deferred module {0}", module.getClass().getName());
+          scope = (DBeanScope) build.apply(parent);
+        }
+        return scope;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void close() {
+      final DBeanScope built = scope;
+      if (built != null) {
+        built.close();
+      }
+    }
+  }
+}
@@ -32,6 +32,11 @@ public @interface DependencyMeta {
    */
   String method() default "";
 
+  /**
+   * The generated class with the build methods when the bean is consolidated with other beans.
+   */
+  String buildClass() default "";
+
   /**
    * The aspect this component provides.
    */
@@ -0,0 +1,131 @@
+package io.avaje.inject.spi;
+
+import java.lang.reflect.Type;
+import java.util.Set;
+
+import org.jspecify.annotations.Nullable;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A WiringListener that commits the timings as JFR events.
+ * <p>
+ * The events are in the "Avaje Inject" category and are only recorded when a JFR
+ * recording is running. With the module path this requires the {@code jdk.jfr} module.
+ *
+ * <pre>{@code
+ *
+ *   BeanScope scope = BeanScope.builder()
+ *     .wiringListener(new JfrWiringListener())
+ *     .build();
+ *
+ * }</pre>
+ */
+public final class JfrWiringListener implements WiringListener {
+
+  @Override
+  public void extensionLoaded(InjectExtension extension, long nanos) {
+    commit(new ExtensionLoaded(), extension.getClass().getTypeName(), nanos);
+  }
+
+  @Override
+  public void pluginApplied(InjectPlugin plugin, long nanos) {
+    commit(new PluginApplied(), plugin.getClass().getTypeName(), nanos);
+  }
+
+  @Override
+  public void modulesOrdered(Set<String> moduleNames, long nanos) {
+    commit(new ModulesOrdered(), moduleNames.toString(), nanos);
+  }
+
+  @Override
+  public void moduleBuilt(Class<? extends AvajeModule> module, long nanos) {
+    commit(new ModuleBuilt(), module.getTypeName(), nanos);
+  }
+
+  @Override
+  public void beanWired(@Nullable Class<? extends AvajeModule> module, @Nullable String name, Type type, long nanos) {
+    final var event = new BeanWired();
+    if (event.isEnabled()) {
+      event.module = module == null ? null : module.getTypeName();
+      event.qualifier = name;
+      commit(event, type.getTypeName(), nanos);
+    }
+  }
+
+  @Override
+  public void postConstruct(String name, long nanos) {
+    commit(new PostConstruct(), name, nanos);
+  }
+
+  @Override
+  public void built(long nanos) {
+    commit(new ScopeBuilt(), "BeanScope", nanos);
+  }
+
+  private static void commit(WiringEvent event, String name, long nanos) {
+    if (event.isEnabled()) {
+      event.name = name;
+      event.nanos = nanos;
+      event.commit();
+    }
+  }
+
+  @Category({"Avaje Inject"})
+  @StackTrace(false)
+  abstract static class WiringEvent extends Event {
+
+    @Label("Name")
+    String name;
+
+    @Label("Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long nanos;
+  }
+
+  @Name("io.avaje.inject.ExtensionLoaded")
+  @Label("Extension Loaded")
+  static final class ExtensionLoaded extends WiringEvent {
+  }
+
+  @Name("io.avaje.inject.PluginApplied")
+  @Label("Plugin Applied")
+  static final class PluginApplied extends WiringEvent {
+  }
+
+  @Name("io.avaje.inject.ModulesOrdered")
+  @Label("Modules Ordered")
+  static final class ModulesOrdered extends WiringEvent {
+  }
+
+  @Name("io.avaje.inject.ModuleBuilt")
+  @Label("Module Built")
+  static final class ModuleBuilt extends WiringEvent {
+  }
+
+  @Name("io.avaje.inject.BeanWired")
+  @Label("Bean Wired")
+  static final class BeanWired extends WiringEvent {
+
+    @Label("Module")
+    String module;
+
+    @Label("Qualifier")
+    String qualifier;
+  }
+
+  @Name("io.avaje.inject.PostConstruct")
+  @Label("PostConstruct")
+  static final class PostConstruct extends WiringEvent {
+  }
+
+  @Name("io.avaje.inject.ScopeBuilt")
+  @Label("BeanScope Built")
+  static final class ScopeBuilt extends WiringEvent {
+  }
+}
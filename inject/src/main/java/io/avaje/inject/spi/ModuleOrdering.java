@@ -3,11 +3,29 @@ package io.avaje.inject.spi;
 import java.util.List;
 import java.util.Set;
 
+import org.jspecify.annotations.Nullable;
+
+import io.avaje.inject.BeanScope;
+
 /**
  * Determines Multi-Module wiring order.
  */
 public interface ModuleOrdering extends InjectExtension {
 
+  /**
+   * Return the ordering of modules by their provides and requires that the BeanScopeBuilder
+   * uses when there is no generated ordering.
+   * <p>
+   * Build tooling uses this to precompute the wiring order of the modules.
+   *
+   * @param parent        The parent scope that can provide required types (or null)
+   * @param suppliedBeans When true modules with unsatisfied requires are still ordered
+   *                      assuming supplied beans (test doubles) provide the dependencies
+   */
+  static ModuleOrdering byRequires(@Nullable BeanScope parent, boolean suppliedBeans) {
+    return new DModuleOrdering(parent, suppliedBeans);
+  }
+
   /**
    * Return true if ordering supports the modules passed in.
    */
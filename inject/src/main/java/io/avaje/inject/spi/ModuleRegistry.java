@@ -0,0 +1,53 @@
+package io.avaje.inject.spi;
+
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Registry of the modules and plugins generated at package time by the avaje-inject
+ * maven and gradle plugins.
+ * <p>
+ * When the registry is present the BeanScope is built using it rather than using
+ * ServiceLoader to discover the modules and plugins and then ordering the modules.
+ * The registry records the classpath entries holding InjectExtension service files that it was
+ * generated for. When another classpath entry holds a service file (for example a jar added
+ * after packaging or the test classpath) or a class that the registry refers to cannot be
+ * loaded the registry is treated as stale and ServiceLoader is used instead. The service files
+ * are located but not read so this check does not scan the classpath. Set the system property
+ * {@code avaje.inject.registry=false} to ignore the registry.
+ * <p>
+ * The registry should only be generated for the application, not for libraries.
+ */
+public interface ModuleRegistry {
+
+  /**
+   * The name of the generated registry class.
+   */
+  String NAME = "io.avaje.inject.registry.AvajeModuleRegistry";
+
+  /**
+   * Return the classpath entries holding InjectExtension service files that the registry was
+   * generated for, not including the application classes that hold the registry.
+   * <p>
+   * A jar is recorded by its file name (as the directory differs when it is copied into a
+   * container image) and a directory by its URI.
+   */
+  List<String> serviceLocations();
+
+  /**
+   * Return the modules in the order they should be built.
+   */
+  List<AvajeModule> modules();
+
+  /**
+   * Return the plugins.
+   */
+  List<InjectPlugin> plugins();
+
+  /**
+   * Return the config property plugin if there is one.
+   */
+  @Nullable
+  ConfigPropertyPlugin propertyPlugin();
+}
@@ -0,0 +1,138 @@
+package io.avaje.inject.spi;
+
+import static java.lang.System.Logger.Level.DEBUG;
+import static java.lang.System.Logger.Level.ERROR;
+import static java.lang.System.Logger.Level.WARNING;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.avaje.applog.AppLog;
+
+/**
+ * Closes the PreDestroy methods that have the same priority in parallel.
+ * <p>
+ * The priority tiers are closed in order, a tier starts after the prior tier has
+ * completed or timed out. Each closeable has a timeout and there is an overall
+ * deadline after which the remaining tiers are not closed.
+ */
+final class ParallelClose {
+
+  private static final System.Logger log = AppLog.getLogger("io.avaje.inject");
+
+  private final long closeTimeoutNanos;
+  private final long deadlineNanos;
+
+  ParallelClose(Duration closeTimeout, Duration deadline) {
+    this.closeTimeoutNanos = closeTimeout.toNanos();
+    this.deadlineNanos = deadline.toNanos();
+  }
+
+  /**
+   * Close the closeables which are sorted by priority.
+   */
+  void close(List<ClosePair> preDestroy) {
+    final long deadline = System.nanoTime() + deadlineNanos;
+    final ExecutorService executor = TaskExecutors.newPerTask("avaje-inject-close-");
+    try {
+      int start = 0;
+      while (start < preDestroy.size()) {
+        final int end = tierEnd(preDestroy, start);
+        if (System.nanoTime() - deadline >= 0) {
+          for (final ClosePair pair : preDestroy.subList(start, preDestroy.size())) {
+            log.log(WARNING, "PreDestroy {0} not run as the shutdown deadline has passed", pair.name());
+          }
+          return;
+        }
+        if (!closeTier(preDestroy.subList(start, end), deadline, executor)) {
+          return;
+        }
+        start = end;
+      }
+    } finally {
+      // do not wait for closeables that have timed out
+      executor.shutdown();
+    }
+  }
+
+  private static int tierEnd(List<ClosePair> preDestroy, int start) {
+    final int priority = preDestroy.get(start).priority();
+    int end = start + 1;
+    while (end < preDestroy.size() && preDestroy.get(end).priority() == priority) {
+      end++;
+    }
+    return end;
+  }
+
+  /**
+   * Close the tier returning false if interrupted.
+   */
+  private boolean closeTier(List<ClosePair> tier, long deadline, ExecutorService executor) {
+    final long tierStart = System.nanoTime();
+    final List<Closing> closing = new ArrayList<>(tier.size());
+    for (final ClosePair pair : tier) {
+      closing.add(new Closing(pair, executor));
+    }
+    final long tierTimeout = tierStart + closeTimeoutNanos;
+    final long timeout = tierTimeout - deadline < 0 ? tierTimeout : deadline;
+    for (final Closing close : closing) {
+      try {
+        close.future.get(Math.max(timeout - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        log.log(DEBUG, "PreDestroy {0} took {1}ms", close.name, close.millis);
+      } catch (TimeoutException e) {
+        log.log(WARNING, "PreDestroy {0} did not complete within {1}ms", close.name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - tierStart));
+      } catch (ExecutionException e) {
+        log.log(ERROR, "Error during PreDestroy lifecycle method " + close.name, e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        log.log(WARNING, "Interrupted waiting for PreDestroy {0}", close.name);
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Return a name for the closeable (or PostConstruct hook) for logging.
+   * <p>
+   * For method references like {@code $bean::close} in generated code this is the
+   * class that registered it. Generated PreDestroy methods instead use the bean type
+   * held by the {@link ClosePair}.
+   */
+  static String name(Object closeable) {
+    final String name = closeable.getClass().getName();
+    final int pos = name.indexOf("$$Lambda");
+    return pos > 0 ? name.substring(0, pos) : name;
+  }
+
+  private static final class Closing {
+
+    private final String name;
+    private final CompletableFuture<Void> future;
+    private volatile long millis;
+
+    Closing(ClosePair pair, ExecutorService executor) {
+      final AutoCloseable closeable = pair.closeable();
+      this.name = pair.name();
+      this.future = CompletableFuture.runAsync(() -> {
+        final long start = System.nanoTime();
+        try {
+          closeable.close();
+        } catch (RuntimeException e) {
+          throw e;
+        } catch (Exception e) {
+          throw new CompletionException(e);
+        } finally {
+          millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+      }, executor);
+    }
+  }
+}
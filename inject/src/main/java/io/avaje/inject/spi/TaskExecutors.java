@@ -0,0 +1,52 @@
+package io.avaje.inject.spi;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the executors used for async PostConstruct and parallel PreDestroy.
+ * <p>
+ * Uses a virtual thread per task executor when running on Java 21+ (looked up reflectively as
+ * the baseline is Java 11) and otherwise a cached pool of daemon platform threads.
+ */
+final class TaskExecutors {
+
+  private static final MethodHandle VIRTUAL = virtualExecutor();
+
+  private TaskExecutors() {
+  }
+
+  private static MethodHandle virtualExecutor() {
+    try {
+      return MethodHandles.publicLookup()
+        .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Return a new executor that runs each task on its own (virtual if available) thread.
+   *
+   * @param name The prefix of the platform thread names
+   */
+  static ExecutorService newPerTask(String name) {
+    if (VIRTUAL != null) {
+      try {
+        return (ExecutorService) VIRTUAL.invokeExact();
+      } catch (Throwable e) {
+        // fall back to platform threads
+      }
+    }
+    final var count = new AtomicInteger();
+    return Executors.newCachedThreadPool(runnable -> {
+      final var thread = new Thread(runnable, name + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+}
@@ -0,0 +1,88 @@
+package io.avaje.inject.spi;
+
+import static java.lang.System.Logger.Level.INFO;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import io.avaje.applog.AppLog;
+import io.avaje.inject.BeanScope;
+
+/**
+ * Main class of the training JVM run by the avaje-inject maven and gradle plugins to record
+ * a class data sharing archive or AOT cache.
+ * <p>
+ * Builds the BeanScope, runs the optional warm-up entry point and closes the scope so that the
+ * classes loaded (and with the AOT cache, linked and profiled) by the startup of the
+ * application are recorded by the JVM as it exits.
+ * <p>
+ * The warm-up entry point is given as {@code className} or {@code className#methodName} where
+ * the method defaults to {@code run}. The method takes no arguments or the BeanScope. An
+ * instance method is invoked on the bean of that type when it is in the scope, otherwise on an
+ * instance created via the no-arg constructor.
+ */
+final class TrainingRun {
+
+  private static final System.Logger log = AppLog.getLogger("io.avaje.inject");
+
+  private TrainingRun() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    final String warmup = args.length > 0 && !args[0].isBlank() ? args[0] : null;
+    final long start = System.nanoTime();
+    try (BeanScope scope = BeanScope.builder().build()) {
+      if (warmup != null) {
+        warmup(scope, warmup);
+      }
+    }
+    log.log(INFO, "Training run completed in {0}ms", (System.nanoTime() - start) / 1_000_000);
+  }
+
+  /**
+   * Invoke the warm-up entry point.
+   */
+  static void warmup(BeanScope scope, String entryPoint) throws Exception {
+    final int pos = entryPoint.indexOf('#');
+    final String className = pos == -1 ? entryPoint : entryPoint.substring(0, pos);
+    final String methodName = pos == -1 ? "run" : entryPoint.substring(pos + 1);
+
+    final Class<?> type = Class.forName(className, true, Thread.currentThread().getContextClassLoader());
+    final Method method = method(type, methodName);
+    method.setAccessible(true);
+    final Object target = Modifier.isStatic(method.getModifiers()) ? null : instance(scope, type);
+    try {
+      if (method.getParameterCount() == 0) {
+        method.invoke(target);
+      } else {
+        method.invoke(target, scope);
+      }
+    } catch (InvocationTargetException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof Exception) {
+        throw (Exception) cause;
+      }
+      throw e;
+    }
+  }
+
+  private static Method method(Class<?> type, String methodName) throws NoSuchMethodException {
+    for (final Method method : type.getDeclaredMethods()) {
+      if (method.getName().equals(methodName) && method.getParameterCount() == 0) {
+        return method;
+      }
+    }
+    return type.getDeclaredMethod(methodName, BeanScope.class);
+  }
+
+  private static Object instance(BeanScope scope, Class<?> type) throws ReflectiveOperationException {
+    final var bean = scope.getOptional(type);
+    if (bean.isPresent()) {
+      return bean.get();
+    }
+    final var constructor = type.getDeclaredConstructor();
+    constructor.setAccessible(true);
+    return constructor.newInstance();
+  }
+}
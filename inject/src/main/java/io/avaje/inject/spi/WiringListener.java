@@ -0,0 +1,78 @@
+package io.avaje.inject.spi;
+
+import java.lang.reflect.Type;
+import java.util.Set;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Listener notified with the time taken by each step of building a BeanScope.
+ * <p>
+ * Registered via {@link io.avaje.inject.BeanScopeBuilder#wiringListener(WiringListener)}
+ * and used to find what is slow at startup. All the timings are in nanoseconds.
+ * <p>
+ * When modules are built in parallel or PostConstruct methods run asynchronously the
+ * listener is called from multiple threads so implementations must be thread safe.
+ *
+ * @see WiringReport
+ * @see JfrWiringListener
+ */
+public interface WiringListener {
+
+  /**
+   * An extension was loaded by ServiceLoader.
+   */
+  default void extensionLoaded(InjectExtension extension, long nanos) {
+    // do nothing by default
+  }
+
+  /**
+   * The plugin was applied to the BeanScopeBuilder.
+   */
+  default void pluginApplied(InjectPlugin plugin, long nanos) {
+    // do nothing by default
+  }
+
+  /**
+   * The modules were ordered to satisfy their dependencies.
+   */
+  default void modulesOrdered(Set<String> moduleNames, long nanos) {
+    // do nothing by default
+  }
+
+  /**
+   * The module was built, this includes the time taken to wire all its beans.
+   */
+  default void moduleBuilt(Class<? extends AvajeModule> module, long nanos) {
+    // do nothing by default
+  }
+
+  /**
+   * The bean was created via its constructor or factory method and registered.
+   *
+   * @param module The module the bean is in
+   * @param name   The qualifier name of the bean
+   * @param type   The type of the bean
+   * @param nanos  The time taken to create the bean including its injection
+   */
+  default void beanWired(@Nullable Class<? extends AvajeModule> module, @Nullable String name, Type type, long nanos) {
+    // do nothing by default
+  }
+
+  /**
+   * The PostConstruct method was run.
+   *
+   * @param name  The bean type or the class that registered the PostConstruct hook
+   * @param nanos The time taken to run the PostConstruct method
+   */
+  default void postConstruct(String name, long nanos) {
+    // do nothing by default
+  }
+
+  /**
+   * The BeanScope was built and started.
+   */
+  default void built(long nanos) {
+    // do nothing by default
+  }
+}
@@ -0,0 +1,200 @@
+package io.avaje.inject.spi;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A WiringListener that collects the timings into a report.
+ *
+ * <pre>{@code
+ *
+ *   var report = new WiringReport();
+ *   try (BeanScope scope = BeanScope.builder().wiringListener(report).build()) {
+ *     System.out.println(report);
+ *     List<WiringReport.Entry> slowBeans = report.slowest(WiringReport.Kind.BEAN, 10);
+ *     ...
+ *   }
+ *
+ * }</pre>
+ */
+public final class WiringReport implements WiringListener {
+
+  /**
+   * The kind of step that was timed.
+   */
+  public enum Kind {
+    EXTENSION,
+    PLUGIN,
+    ORDERING,
+    MODULE,
+    BEAN,
+    POST_CONSTRUCT,
+    BUILD
+  }
+
+  private final List<Entry> entries = new ArrayList<>();
+
+  private void add(Kind kind, String name, long nanos) {
+    synchronized (entries) {
+      entries.add(new Entry(kind, name, nanos));
+    }
+  }
+
+  @Override
+  public void extensionLoaded(InjectExtension extension, long nanos) {
+    add(Kind.EXTENSION, extension.getClass().getTypeName(), nanos);
+  }
+
+  @Override
+  public void pluginApplied(InjectPlugin plugin, long nanos) {
+    add(Kind.PLUGIN, plugin.getClass().getTypeName(), nanos);
+  }
+
+  @Override
+  public void modulesOrdered(Set<String> moduleNames, long nanos) {
+    add(Kind.ORDERING, moduleNames.toString(), nanos);
+  }
+
+  @Override
+  public void moduleBuilt(Class<? extends AvajeModule> module, long nanos) {
+    add(Kind.MODULE, module.getTypeName(), nanos);
+  }
+
+  @Override
+  public void beanWired(@Nullable Class<? extends AvajeModule> module, @Nullable String name, Type type, long nanos) {
+    add(Kind.BEAN, name == null ? type.getTypeName() : type.getTypeName() + ":" + name, nanos);
+  }
+
+  @Override
+  public void postConstruct(String name, long nanos) {
+    add(Kind.POST_CONSTRUCT, name, nanos);
+  }
+
+  @Override
+  public void built(long nanos) {
+    add(Kind.BUILD, "total", nanos);
+  }
+
+  /**
+   * Return all the entries in the order they were reported.
+   */
+  public List<Entry> entries() {
+    synchronized (entries) {
+      return new ArrayList<>(entries);
+    }
+  }
+
+  /**
+   * Return the entries of the given kind in the order they were reported.
+   */
+  public List<Entry> entries(Kind kind) {
+    final List<Entry> result = new ArrayList<>();
+    for (final Entry entry : entries()) {
+      if (entry.kind == kind) {
+        result.add(entry);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Return the slowest entries of the given kind, slowest first.
+   */
+  public List<Entry> slowest(Kind kind, int max) {
+    final List<Entry> result = entries(kind);
+    result.sort(Comparator.comparingLong(Entry::nanos).reversed());
+    return result.size() > max ? new ArrayList<>(result.subList(0, max)) : result;
+  }
+
+  /**
+   * Return the total time in nanos for the entries of the given kind.
+   */
+  public long totalNanos(Kind kind) {
+    long total = 0;
+    for (final Entry entry : entries(kind)) {
+      total += entry.nanos;
+    }
+    return total;
+  }
+
+  /**
+   * Return the report with the total time per kind and the slowest modules and beans.
+   */
+  @Override
+  public String toString() {
+    final var sb = new StringBuilder("WiringReport");
+    for (final Kind kind : Kind.values()) {
+      final List<Entry> kindEntries = entries(kind);
+      if (!kindEntries.isEmpty()) {
+        sb.append("\n  ").append(kind).append(" count:").append(kindEntries.size())
+          .append(" total:").append(micros(totalNanos(kind))).append("us");
+      }
+    }
+    appendSlowest(sb, Kind.MODULE);
+    appendSlowest(sb, Kind.BEAN);
+    appendSlowest(sb, Kind.POST_CONSTRUCT);
+    return sb.toString();
+  }
+
+  private void appendSlowest(StringBuilder sb, Kind kind) {
+    final List<Entry> slowest = slowest(kind, 10);
+    if (!slowest.isEmpty()) {
+      sb.append("\n  slowest ").append(kind);
+      for (final Entry entry : slowest) {
+        sb.append("\n    ").append(entry);
+      }
+    }
+  }
+
+  private static long micros(long nanos) {
+    return TimeUnit.NANOSECONDS.toMicros(nanos);
+  }
+
+  /**
+   * A timed step of building the BeanScope.
+   */
+  public static final class Entry {
+
+    private final Kind kind;
+    private final String name;
+    private final long nanos;
+
+    Entry(Kind kind, String name, long nanos) {
+      this.kind = kind;
+      this.name = name;
+      this.nanos = nanos;
+    }
+
+    /**
+     * Return the kind of step.
+     */
+    public Kind kind() {
+      return kind;
+    }
+
+    /**
+     * Return the name of the extension, plugin, module or bean.
+     */
+    public String name() {
+      return name;
+    }
+
+    /**
+     * Return the time taken in nanos.
+     */
+    public long nanos() {
+      return nanos;
+    }
+
+    @Override
+    public String toString() {
+      return name + " " + micros(nanos) + "us";
+    }
+  }
+}
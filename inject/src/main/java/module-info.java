@@ -8,6 +8,7 @@ module io.avaje.inject {
   requires static io.avaje.config;
   requires static org.mockito;
   requires static io.avaje.spi;
+  requires static jdk.jfr;
 
   requires static transitive org.jspecify;
 
@@ -10,6 +10,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
@@ -17,13 +18,15 @@ import org.junit.jupiter.api.Test;
 import io.avaje.inject.spi.AvajeModule;
 import io.avaje.inject.spi.Builder;
 import io.avaje.inject.spi.GenericType;
+import io.avaje.inject.spi.ModuleOrdering;
+import io.avaje.inject.spi.WiringReport;
 
 @SuppressWarnings("all")
 class BeanScopeBuilderTest {
 
   @Test
   void depends_providedByParent() {
-    DBeanScopeBuilder.FactoryOrder factoryOrder = new DBeanScopeBuilder.FactoryOrder(new TDBeanScope(MyFeature.class), Collections.emptySet(), false);
+    ModuleOrdering factoryOrder = ModuleOrdering.byRequires(new TDBeanScope(MyFeature.class), false);
     factoryOrder.add(bc("1", EMPTY_CLASSES, of(MyFeature.class)));
     factoryOrder.orderModules();
 
@@ -32,7 +35,7 @@ class BeanScopeBuilderTest {
 
   @Test
   void depends_notProvidedByParent_expect_IllegalStateException() {
-    DBeanScopeBuilder.FactoryOrder factoryOrder = new DBeanScopeBuilder.FactoryOrder(new TDBeanScope(FeatureA.class), Collections.emptySet(), false);
+    ModuleOrdering factoryOrder = ModuleOrdering.byRequires(new TDBeanScope(FeatureA.class), false);
     factoryOrder.add(bc("1", EMPTY_CLASSES, of(MyFeature.class)));
     assertThatThrownBy(factoryOrder::orderModules)
       .isInstanceOf(IllegalStateException.class)
@@ -41,7 +44,7 @@ class BeanScopeBuilderTest {
 
   @Test
   void noDepends() {
-    DBeanScopeBuilder.FactoryOrder factoryOrder = new DBeanScopeBuilder.FactoryOrder(null, Collections.emptySet(), true);
+    ModuleOrdering factoryOrder = ModuleOrdering.byRequires(null, true);
     factoryOrder.add(bc("1", EMPTY_CLASSES, EMPTY_CLASSES));
     factoryOrder.add(bc("2", EMPTY_CLASSES, EMPTY_CLASSES));
     factoryOrder.add(bc("3", EMPTY_CLASSES, EMPTY_CLASSES));
@@ -52,7 +55,7 @@ class BeanScopeBuilderTest {
 
   @Test
   void providedFirst() {
-    DBeanScopeBuilder.FactoryOrder factoryOrder = new DBeanScopeBuilder.FactoryOrder(null, Collections.emptySet(), true);
+    ModuleOrdering factoryOrder = ModuleOrdering.byRequires(null, true);
     factoryOrder.add(bc("two", EMPTY_CLASSES, EMPTY_CLASSES));
     factoryOrder.add(bc("one", of(Mod3.class), EMPTY_CLASSES));
     factoryOrder.orderModules();
@@ -62,7 +65,7 @@ class BeanScopeBuilderTest {
 
   @Test
   void name_depends() {
-    DBeanScopeBuilder.FactoryOrder factoryOrder = new DBeanScopeBuilder.FactoryOrder(null, Collections.emptySet(), true);
+    ModuleOrdering factoryOrder = ModuleOrdering.byRequires(null, true);
     factoryOrder.add(bc("two", EMPTY_CLASSES, of(Mod3.class)));
     factoryOrder.add(bc("one", EMPTY_CLASSES, EMPTY_CLASSES));
     factoryOrder.orderModules();
@@ -72,7 +75,7 @@ class BeanScopeBuilderTest {
 
   @Test
   void name_depends4() {
-    DBeanScopeBuilder.FactoryOrder factoryOrder = new DBeanScopeBuilder.FactoryOrder(null, Collections.emptySet(), true);
+    ModuleOrdering factoryOrder = ModuleOrdering.byRequires(null, true);
     factoryOrder.add(bc("1", EMPTY_CLASSES, of(Mod3.class)));
     factoryOrder.add(bc("2", EMPTY_CLASSES, of(Mod4.class)));
     factoryOrder.add(bc("3", of(Mod3.class), of(Mod4.class)));
@@ -85,7 +88,7 @@ class BeanScopeBuilderTest {
 
   @Test
   void nameFeature_depends() {
-    DBeanScopeBuilder.FactoryOrder factoryOrder = new DBeanScopeBuilder.FactoryOrder(null, Collections.emptySet(), true);
+    ModuleOrdering factoryOrder = ModuleOrdering.byRequires(null, true);
     factoryOrder.add(bc("1", of(FeatureA.class), of(Mod3.class)));
     factoryOrder.add(bc("2", EMPTY_CLASSES, of(Mod4.class, FeatureA.class)));
     factoryOrder.add(bc("3", of(Mod3.class), of(Mod4.class)));
@@ -98,7 +101,7 @@ class BeanScopeBuilderTest {
 
   @Test
   void feature_depends() {
-    DBeanScopeBuilder.FactoryOrder factoryOrder = new DBeanScopeBuilder.FactoryOrder(null, Collections.emptySet(), true);
+    ModuleOrdering factoryOrder = ModuleOrdering.byRequires(null, true);
     factoryOrder.add(bc("two", EMPTY_CLASSES, of(MyFeature.class)));
     factoryOrder.add(bc("one", of(MyFeature.class), null));
     factoryOrder.orderModules();
@@ -108,7 +111,7 @@ class BeanScopeBuilderTest {
 
   @Test
   void feature_depends_generic() {
-    DBeanScopeBuilder.FactoryOrder factoryOrder = new DBeanScopeBuilder.FactoryOrder(null, Collections.emptySet(), true);
+    ModuleOrdering factoryOrder = ModuleOrdering.byRequires(null, true);
     factoryOrder.add(bc("two", EMPTY_CLASSES, of(new GenericType<Map<String, MyFeature>>() {})));
     factoryOrder.add(bc("one", of(new GenericType<Map<String, MyFeature>>() {}), EMPTY_CLASSES));
     factoryOrder.add(bc("three", of(new GenericType<Map<String, MyFeature>>() {}), EMPTY_CLASSES));
@@ -120,7 +123,7 @@ class BeanScopeBuilderTest {
 
   @Test
   void feature_depends2() {
-    DBeanScopeBuilder.FactoryOrder factoryOrder = new DBeanScopeBuilder.FactoryOrder(null, Collections.emptySet(), true);
+    ModuleOrdering factoryOrder = ModuleOrdering.byRequires(null, true);
     factoryOrder.add(bc("two", EMPTY_CLASSES, of(MyFeature.class)));
     factoryOrder.add(bc("one", of(MyFeature.class), EMPTY_CLASSES));
     factoryOrder.add(bc("three", of(MyFeature.class), EMPTY_CLASSES));
@@ -131,7 +134,7 @@ class BeanScopeBuilderTest {
 
   @Test
   void name_requiresPackage() {
-    DBeanScopeBuilder.FactoryOrder factoryOrder = new DBeanScopeBuilder.FactoryOrder(null, Collections.emptySet(), true);
+    ModuleOrdering factoryOrder = ModuleOrdering.byRequires(null, true);
     factoryOrder.add(bc("1", EMPTY_CLASSES, new Class[0], of(Mod3.class)));
     factoryOrder.add(bc("2", EMPTY_CLASSES, new Class[0], of(Mod4.class)));
     factoryOrder.add(bc("3", of(Mod3.class), new Class[0], of(Mod4.class)));
@@ -144,7 +147,7 @@ class BeanScopeBuilderTest {
 
   @Test
   void name_requiresPackage_mixed() {
-    DBeanScopeBuilder.FactoryOrder factoryOrder = new DBeanScopeBuilder.FactoryOrder(null, Collections.emptySet(), true);
+    ModuleOrdering factoryOrder = ModuleOrdering.byRequires(null, true);
     factoryOrder.add(bc("1", EMPTY_CLASSES, new Class[0], of(Mod3.class)));
     factoryOrder.add(bc("2", EMPTY_CLASSES, of(Mod4.class), new Class[0]));
     factoryOrder.add(bc("3", of(Mod3.class), new Class[0], of(Mod4.class)));
@@ -157,7 +160,7 @@ class BeanScopeBuilderTest {
 
   @Test
   void missingRequiresPackage_expect_unsatisfiedRequiresPackages() {
-    DBeanScopeBuilder.FactoryOrder factoryOrder = new DBeanScopeBuilder.FactoryOrder(null, Collections.emptySet(), false);
+    ModuleOrdering factoryOrder = ModuleOrdering.byRequires(null, false);
     factoryOrder.add(bc("1", EMPTY_CLASSES, new Class[0], of(Mod3.class)));
     factoryOrder.add(bc("2", EMPTY_CLASSES, of(Mod4.class), new Class[0]));
     factoryOrder.add(bc("4", of(Mod4.class), new Class[0]));
@@ -169,7 +172,7 @@ class BeanScopeBuilderTest {
 
   @Test
   void missingRequires_expect_unsatisfiedRequires() {
-    DBeanScopeBuilder.FactoryOrder factoryOrder = new DBeanScopeBuilder.FactoryOrder(null, Collections.emptySet(), false);
+    ModuleOrdering factoryOrder = ModuleOrdering.byRequires(null, false);
     factoryOrder.add(bc("1", EMPTY_CLASSES, of(Mod3.class), new Class[0]));
     factoryOrder.add(bc("2", EMPTY_CLASSES, of(Mod4.class), new Class[0]));
     factoryOrder.add(bc("4", of(Mod4.class), new Class[0]));
@@ -179,6 +182,165 @@ class BeanScopeBuilderTest {
       .hasMessageContaining("has unsatisfied requires [io.avaje.inject.BeanScopeBuilderTest$Mod3] ");
   }
 
+  @Test
+  void parallelGroups() {
+    List<AvajeModule> modules = List.of(
+      bc("4", of(Mod4.class), null),
+      bc("2", EMPTY_CLASSES, of(Mod4.class)),
+      bc("3", of(Mod3.class), of(Mod4.class)),
+      bc("1", EMPTY_CLASSES, of(Mod3.class)));
+
+    List<List<AvajeModule>> groups = DBeanScopeBuilder.parallelGroups(modules);
+    assertThat(groups).hasSize(3);
+    assertThat(names(groups.get(0))).containsExactly("4");
+    assertThat(names(groups.get(1))).containsExactly("2", "3");
+    assertThat(names(groups.get(2))).containsExactly("1");
+  }
+
+  @Test
+  void deferredModules() {
+    TDModule mod4 = bc("4", of(Mod4.class), null).asDeferred();
+    TDModule mod3 = bc("3", of(Mod3.class), of(Mod4.class)).asDeferred();
+    TDModule mod1 = bc("1", EMPTY_CLASSES, of(Mod3.class));
+    TDModule feature = bc("feature", of(FeatureA.class), of(Mod4.class)).asDeferred();
+
+    Set<AvajeModule> deferred = DBeanScopeBuilder.deferredModules(List.of(mod4, mod3, mod1, feature));
+    assertThat(deferred).containsExactly(feature);
+  }
+
+  @Test
+  void deferred_expect_builtOnFirstLookup() {
+    ReportModule reportModule = new ReportModule();
+    Report report;
+    try (BeanScope scope = BeanScope.builder()
+      .modules(new NameModule("a"), reportModule)
+      .build()) {
+
+      assertThat(reportModule.built).isZero();
+      assertThat(scope.contains(Report.class)).isTrue();
+      assertThat(scope.get(String.class, "a")).isEqualTo("a");
+      assertThat(reportModule.built).isZero();
+
+      report = scope.get(Report.class);
+      assertThat(report.name).isEqualTo("a");
+      assertThat(scope.get(Report.class)).isSameAs(report);
+      assertThat(scope.list(Report.class)).containsExactly(report);
+      assertThat(reportModule.built).isEqualTo(1);
+      assertThat(report.closed).isFalse();
+    }
+    assertThat(report.closed).isTrue();
+  }
+
+  @Test
+  void deferred_notUsed_expect_notBuilt() {
+    ReportModule reportModule = new ReportModule();
+    try (BeanScope scope = BeanScope.builder()
+      .modules(new NameModule("a"), reportModule)
+      .build()) {
+
+      assertThat(scope.list(String.class)).containsExactly("a");
+    }
+    assertThat(reportModule.built).isZero();
+  }
+
+  @Test
+  void deferred_withTestDoubles_expect_built() {
+    ReportModule reportModule = new ReportModule();
+    try (BeanScope scope = BeanScope.builder()
+      .bean("b", String.class, "b")
+      .modules(new NameModule("a"), reportModule)
+      .build()) {
+
+      assertThat(reportModule.built).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void deferred_multipleModulesForType_expect_allBuilt() {
+    ReportModule one = new ReportModule("one", true);
+    ReportModule two = new ReportModule("two", true);
+    try (BeanScope scope = BeanScope.builder()
+      .modules(new NameModule("a"), one, two)
+      .build()) {
+
+      assertThat(scope.get(Report.class, "two").name).isEqualTo("two");
+      assertThat(scope.get(Report.class, "one").name).isEqualTo("one");
+      assertThat(scope.list(Report.class)).extracting(report -> report.name).containsExactlyInAnyOrder("one", "two");
+      assertThat(one.built).isEqualTo(1);
+      assertThat(two.built).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void deferred_mapAllAndByAnnotation_expect_includeDeferredBeans() {
+    try (BeanScope scope = BeanScope.builder()
+      .modules(new NameModule("a"), new ReportModule("one", true), new ReportModule("two", true))
+      .build()) {
+
+      Map<String, Report> map = scope.map(Report.class);
+      assertThat(map.keySet()).containsExactlyInAnyOrder("one", "two");
+      assertThat(scope.listByAnnotation(Priority.class)).containsExactlyInAnyOrderElementsOf(map.values());
+      assertThat(scope.all()).extracting(BeanEntry::bean).contains("a").containsAll(map.values());
+    }
+  }
+
+  @Test
+  void deferred_listByAnnotation_expect_deferredModulesBuilt() {
+    ReportModule reportModule = new ReportModule("one", true);
+    try (BeanScope scope = BeanScope.builder()
+      .modules(new NameModule("a"), reportModule)
+      .build()) {
+
+      assertThat(scope.listByAnnotation(Priority.class)).hasSize(1);
+      assertThat(scope.listByAnnotation(Priority.class)).hasSize(1);
+      assertThat(reportModule.built).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void deferred_sameTypeInScope_expect_deferredBeanRegistered() {
+    try (BeanScope scope = BeanScope.builder()
+      .modules(new NameModule("a"), new ReportModule("main", false), new ReportModule())
+      .build()) {
+
+      assertThat(scope.list(Report.class)).extracting(report -> report.name).containsExactlyInAnyOrder("main", "a");
+    }
+  }
+
+  @Test
+  void parallelBuild_expect_moduleOrder() {
+    try (BeanScope scope = BeanScope.builder()
+      .parallelBuild(true)
+      .modules(new NameModule("a"), new NameModule("b"), new NameModule("c"))
+      .build()) {
+
+      assertThat(scope.list(String.class)).containsExactly("a", "b", "c");
+      assertThat(scope.get(String.class, "b")).isEqualTo("b");
+    }
+  }
+
+  @Test
+  void wiringListener_expect_report() {
+    final var report = new WiringReport();
+    try (BeanScope scope = BeanScope.builder()
+      .wiringListener(report)
+      .modules(new NameModule("a"), new NameModule("b"))
+      .addPostConstruct(() -> {})
+      .build()) {
+
+      assertThat(scope.list(String.class)).containsExactly("a", "b");
+    }
+    assertThat(report.entries(WiringReport.Kind.ORDERING)).hasSize(1);
+    assertThat(report.entries(WiringReport.Kind.MODULE)).hasSize(2);
+    assertThat(report.entries(WiringReport.Kind.BEAN))
+      .extracting(WiringReport.Entry::name)
+      .containsExactly("java.lang.String:a", "java.lang.String:b");
+    assertThat(report.entries(WiringReport.Kind.POST_CONSTRUCT)).hasSize(1);
+    assertThat(report.entries(WiringReport.Kind.BUILD)).hasSize(1);
+    assertThat(report.totalNanos(WiringReport.Kind.BUILD)).isGreaterThanOrEqualTo(report.totalNanos(WiringReport.Kind.BEAN));
+    assertThat(report.toString()).contains("slowest BEAN");
+  }
+
   private List<String> names(List<AvajeModule> factories) {
     return factories.stream()
       .map(AvajeModule::toString)
@@ -199,6 +361,7 @@ class BeanScopeBuilderTest {
     final Type[] provides;
     final Type[] requires;
     final Type[] requiresPackages;
+    boolean deferred;
 
     private TDModule(String name, Type[] provides, Type[] requires, Type[] requiresPackages) {
       this.name = name;
@@ -207,11 +370,21 @@ class BeanScopeBuilderTest {
       this.requiresPackages = requiresPackages;
     }
 
+    TDModule asDeferred() {
+      this.deferred = true;
+      return this;
+    }
+
     @Override
     public String toString() {
       return name;
     }
 
+    @Override
+    public boolean deferred() {
+      return deferred;
+    }
+
     @Override
     public Type[] provides() {
       return provides;
@@ -238,6 +411,85 @@ class BeanScopeBuilderTest {
     }
   }
 
+  /** Module that registers its name as a String bean. */
+  private static class NameModule implements AvajeModule {
+
+    final String name;
+
+    private NameModule(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public Class<?>[] classes() {
+      return new Class[0];
+    }
+
+    @Override
+    public void build(Builder builder) {
+      if (builder.isBeanAbsent(name, String.class)) {
+        builder.register(name);
+      }
+    }
+  }
+
+  /** Deferred module with a Report that depends on the bean named "a". */
+  private static class ReportModule implements AvajeModule {
+
+    final String qualifier;
+    final boolean deferred;
+    int built;
+
+    ReportModule() {
+      this(null, true);
+    }
+
+    ReportModule(String qualifier, boolean deferred) {
+      this.qualifier = qualifier;
+      this.deferred = deferred;
+    }
+
+    @Override
+    public boolean deferred() {
+      return deferred;
+    }
+
+    @Override
+    public Type[] provides() {
+      return new Type[]{Report.class};
+    }
+
+    @Override
+    public Class<?>[] classes() {
+      return new Class[]{Report.class};
+    }
+
+    @Override
+    public void build(Builder builder) {
+      built++;
+      if (builder.isBeanAbsent(qualifier, Report.class)) {
+        Report report = builder.register(new Report(qualifier == null ? builder.get(String.class, "a") : qualifier));
+        builder.addAutoClosable(report);
+      }
+    }
+  }
+
+  @Priority(1)
+  static class Report implements AutoCloseable {
+
+    final String name;
+    boolean closed;
+
+    Report(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+
   Type[] of(Type... cls) {
     return cls != null ? cls : new Type[0];
   }
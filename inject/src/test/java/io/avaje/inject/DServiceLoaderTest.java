@@ -0,0 +1,88 @@
+package io.avaje.inject;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DServiceLoaderTest {
+
+  private static final String SERVICES = "META-INF/services/io.avaje.inject.spi.InjectExtension";
+  private static final String REGISTRY = "io/avaje/inject/registry/AvajeModuleRegistry.class";
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void location_expect_jarNameOrDirectoryUri() throws IOException {
+    final Path jar = jar(dir.resolve("lib-1.0.jar"), SERVICES);
+    final Path classes = directory(dir.resolve("classes"), SERVICES);
+
+    try (var classLoader = classLoader(jar, classes)) {
+      final var urls = classLoader.getResources(SERVICES);
+      assertThat(DServiceLoader.location(urls.nextElement(), SERVICES)).isEqualTo("lib-1.0.jar");
+      assertThat(DServiceLoader.location(urls.nextElement(), SERVICES)).isEqualTo(classes.toFile().toURI().toString());
+    }
+  }
+
+  @Test
+  void matchesClasspath_when_recordedOrApplication_expect_true() throws IOException {
+    final Path application = jar(dir.resolve("app.jar"), REGISTRY, SERVICES);
+    final Path lib = jar(dir.resolve("lib-1.0.jar"), SERVICES);
+    final Path noServices = jar(dir.resolve("other-1.0.jar"), "META-INF/MANIFEST.MF");
+
+    try (var classLoader = classLoader(application, lib, noServices)) {
+      assertThat(DServiceLoader.matchesClasspath(classLoader, List.of("lib-1.0.jar"))).isTrue();
+      // a recorded jar that has been removed is detected by failing to load its classes
+      assertThat(DServiceLoader.matchesClasspath(classLoader, List.of("lib-1.0.jar", "removed-1.0.jar"))).isTrue();
+    }
+  }
+
+  @Test
+  void matchesClasspath_when_addedLocation_expect_false() throws IOException {
+    final Path application = jar(dir.resolve("app.jar"), REGISTRY, SERVICES);
+    final Path lib = jar(dir.resolve("lib-1.0.jar"), SERVICES);
+    final Path testClasses = directory(dir.resolve("test-classes"), SERVICES);
+
+    try (var classLoader = classLoader(application, lib, testClasses)) {
+      assertThat(DServiceLoader.matchesClasspath(classLoader, List.of("lib-1.0.jar"))).isFalse();
+    }
+    try (var classLoader = classLoader(application, jar(dir.resolve("lib-2.0.jar"), SERVICES))) {
+      assertThat(DServiceLoader.matchesClasspath(classLoader, List.of("lib-1.0.jar"))).isFalse();
+    }
+  }
+
+  private static Path jar(Path path, String... entries) throws IOException {
+    try (var out = new JarOutputStream(Files.newOutputStream(path))) {
+      for (String entry : entries) {
+        out.putNextEntry(new JarEntry(entry));
+        out.closeEntry();
+      }
+    }
+    return path;
+  }
+
+  private static Path directory(Path path, String file) throws IOException {
+    Files.createDirectories(path.resolve(file).getParent());
+    Files.createFile(path.resolve(file));
+    return path;
+  }
+
+  private static URLClassLoader classLoader(Path... paths) throws IOException {
+    final URL[] urls = new URL[paths.length];
+    for (int i = 0; i < paths.length; i++) {
+      urls[i] = paths[i].toUri().toURL();
+    }
+    // no parent such that only the resources of the given paths are found
+    return new URLClassLoader(urls, null);
+  }
+}
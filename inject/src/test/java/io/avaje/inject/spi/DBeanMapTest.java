@@ -0,0 +1,92 @@
+package io.avaje.inject.spi;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DBeanMapTest {
+
+  static final Type TYPE_ListString = new GenericType<List<String>>(){}.type();
+  static final Type TYPE_ListInteger = new GenericType<List<Integer>>(){}.type();
+
+  static class Foo {}
+  interface Bar {}
+  static class FooBar extends Foo implements Bar {}
+  @Deprecated
+  static class Lazy {}
+
+  private DBeanMap beanMap() {
+    DBeanMap map = new DBeanMap();
+    map.nextBean(null, new Type[]{FooBar.class, Foo.class, Bar.class});
+    map.register(new FooBar());
+    map.nextBean("strings", new Type[]{TYPE_ListString});
+    map.register(List.of("a"));
+    return map;
+  }
+
+  @Test
+  void get_beforeAndAfterFreeze() {
+    DBeanMap map = beanMap();
+    Object fooBar = map.get(Foo.class, null);
+    assertThat(fooBar).isInstanceOf(FooBar.class);
+    assertThat((Object) map.get(TYPE_ListString, null)).isEqualTo(List.of("a"));
+
+    map.freeze();
+    assertThat((Object) map.get(FooBar.class, null)).isSameAs(fooBar);
+    assertThat((Object) map.get(Foo.class, null)).isSameAs(fooBar);
+    assertThat((Object) map.get(Bar.class, null)).isSameAs(fooBar);
+    assertThat((Object) map.get(TYPE_ListString, null)).isEqualTo(List.of("a"));
+    assertThat((Object) map.get(TYPE_ListInteger, null)).isNull();
+    assertThat((Object) map.get(String.class, null)).isNull();
+  }
+
+  @Test
+  void get_afterFreeze_equalGenericType() {
+    DBeanMap map = beanMap();
+    map.freeze();
+
+    Type otherInstance = new GenericType<List<String>>(){}.type();
+    assertThat(otherInstance).isNotSameAs(TYPE_ListString);
+    assertThat((Object) map.get(otherInstance, null)).isEqualTo(List.of("a"));
+    assertThat((Object) map.get(new GenericType<List<String>>(){}, null)).isEqualTo(List.of("a"));
+    assertThat((Object) map.get(new GenericType<Foo>(){}, null)).isInstanceOf(FooBar.class);
+  }
+
+  @Test
+  void contains_afterFreeze() {
+    DBeanMap map = beanMap();
+    map.freeze();
+    assertThat(map.contains(Bar.class)).isTrue();
+    assertThat(map.contains(TYPE_ListString)).isTrue();
+    assertThat(map.contains(TYPE_ListInteger)).isFalse();
+    assertThat(map.contains(Bar.class.getTypeName())).isTrue();
+    assertThat(map.all(Foo.class)).hasSize(1);
+    assertThat(map.all(String.class)).isEmpty();
+  }
+
+  @Test
+  void addByAnnotation_expect_onlyMatchingProvidersCreated() {
+    AtomicInteger created = new AtomicInteger();
+    DBeanMap map = beanMap();
+    map.nextBean("lazy", new Type[]{Lazy.class});
+    map.register(() -> {
+      created.incrementAndGet();
+      return new Lazy();
+    });
+    map.freeze();
+
+    List<Object> values = new ArrayList<>();
+    assertThat(map.addByAnnotation(FunctionalInterface.class, values)).isTrue();
+    assertThat(values).isEmpty();
+    assertThat(created).hasValue(0);
+
+    assertThat(map.addByAnnotation(Deprecated.class, values)).isTrue();
+    assertThat(values).hasSize(1).first().isInstanceOf(Lazy.class);
+    assertThat(created).hasValue(1);
+  }
+}
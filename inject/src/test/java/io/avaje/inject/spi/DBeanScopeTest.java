@@ -1,9 +1,15 @@
 package io.avaje.inject.spi;
 
+import io.avaje.inject.BeanScope;
+import io.avaje.inject.Priority;
 import org.assertj.core.util.Arrays;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -27,6 +33,82 @@ class DBeanScopeTest {
     assertThat(result).containsExactly("A", "B", "C");
   }
 
+  @Test
+  void listByPriority_expect_sortedAndCached() {
+    try (BeanScope scope = BeanScope.builder()
+      .bean("low", Ordered.class, new Low())
+      .bean("high", Ordered.class, new High())
+      .build()) {
+
+      List<Ordered> sorted = scope.listByPriority(Ordered.class);
+      assertThat(sorted).extracting(Object::getClass).containsExactly(High.class, Low.class);
+      sorted.clear();
+
+      List<Ordered> again = scope.listByPriority(Ordered.class);
+      assertThat(again).isNotSameAs(sorted);
+      assertThat(again).extracting(Object::getClass).containsExactly(High.class, Low.class);
+      assertThat(scope.listByPriority(Ordered.class, Priority.class)).isEqualTo(again);
+    }
+  }
+
+  @Test
+  void listByAnnotation_expect_cached() {
+    try (BeanScope scope = BeanScope.builder()
+      .bean("low", Ordered.class, new Low())
+      .bean("high", Ordered.class, new High())
+      .build()) {
+
+      List<Object> beans = scope.listByAnnotation(Priority.class);
+      assertThat(beans).hasSize(2);
+      beans.clear();
+      assertThat(scope.listByAnnotation(Priority.class)).hasSize(2);
+      assertThat(scope.listByAnnotation(Deprecated.class)).isEmpty();
+    }
+  }
+
+  @Test
+  void parallelPreDestroy_expect_samePriorityInParallel_tiersInOrder() {
+    List<String> closed = new CopyOnWriteArrayList<>();
+    CyclicBarrier barrier = new CyclicBarrier(2);
+    AutoCloseable tierOne = () -> {
+      // both of the priority 10 closeables must be running at the same time
+      barrier.await(5, TimeUnit.SECONDS);
+      closed.add("one");
+    };
+    BeanScope scope = BeanScope.builder()
+      .parallelPreDestroy(Duration.ofSeconds(10), Duration.ofSeconds(30))
+      .addPreDestroy(() -> closed.add("two"), 20)
+      .addPreDestroy(tierOne, 10)
+      .addPreDestroy(tierOne, 10)
+      .build();
+
+    scope.close();
+    assertThat(closed).containsExactly("one", "one", "two");
+  }
+
+  @Test
+  void parallelPreDestroy_when_timeout_expect_nextTierRuns() {
+    List<String> closed = new CopyOnWriteArrayList<>();
+    BeanScope scope = BeanScope.builder()
+      .parallelPreDestroy(Duration.ofMillis(50), Duration.ofSeconds(30))
+      .addPreDestroy(() -> Thread.sleep(5_000), 10)
+      .addPreDestroy(() -> closed.add("two"), 20)
+      .build();
+
+    scope.close();
+    assertThat(closed).containsExactly("two");
+  }
+
+  interface Ordered {
+  }
+
+  @Priority(2)
+  static class Low implements Ordered {
+  }
+
+  @Priority(1)
+  static class High implements Ordered {
+  }
 
   List<Object> list(String... vals) {
     return Arrays.asList(vals);
@@ -0,0 +1,187 @@
+package io.avaje.inject.spi;
+
+import io.avaje.inject.BeanScope;
+import jakarta.inject.Provider;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class DBuilderTest {
+
+  @Test
+  void isDirectWiring() {
+    assertThat(builder(emptyList(), emptyList(), null).isDirectWiring()).isTrue();
+  }
+
+  @Test
+  void isDirectWiring_withParent_expect_false() {
+    try (BeanScope parent = BeanScope.builder().build()) {
+      assertThat(builder(emptyList(), emptyList(), parent).isDirectWiring()).isFalse();
+    }
+  }
+
+  @Test
+  void isDirectWiring_withSupplied_expect_false() {
+    List<SuppliedBean> supplied = List.of(SuppliedBean.of(String.class, "mock"));
+    assertThat(builder(supplied, emptyList(), null).isDirectWiring()).isFalse();
+  }
+
+  @Test
+  void isDirectWiring_withSpy_expect_false() {
+    List<EnrichBean> spies = List.of(new EnrichBean<>(String.class, null, null));
+    assertThat(builder(emptyList(), spies, null).isDirectWiring()).isFalse();
+  }
+
+  @Test
+  void isDirectWiring_withDefaultBean_expect_true() {
+    List<SuppliedBean> supplied = List.of(SuppliedBean.secondary(null, String.class, "default"));
+    assertThat(builder(supplied, emptyList(), null).isDirectWiring()).isTrue();
+  }
+
+  @Test
+  void registerDirect() {
+    Builder builder = builder(emptyList(), emptyList(), null);
+    if (builder.isBeanAbsent(Integer.class)) {
+      builder.register(42);
+    }
+    Integer dependency = builder.get(Integer.class);
+    if (builder.isBeanAbsent(String.class)) {
+      String bean = builder.registerDirect("direct" + dependency, dependency);
+      assertThat(bean).isEqualTo("direct42");
+    }
+    try (BeanScope scope = builder.build(false, System.currentTimeMillis())) {
+      assertThat(scope.get(String.class)).isEqualTo("direct42");
+    }
+  }
+
+  @Test
+  void registerLazyProxy_expect_createdOnFirstCall() {
+    AtomicInteger created = new AtomicInteger();
+    Builder builder = builder(emptyList(), emptyList(), null);
+    if (builder.isBeanAbsent(HeavySearch.class, Search.class)) {
+      builder.registerLazyProxy(() -> {
+        created.incrementAndGet();
+        return new HeavySearch();
+      }, SearchProxy::new);
+    }
+    Search search = builder.get(Search.class);
+    assertThat(search).isInstanceOf(SearchProxy.class);
+    assertThat(created).hasValue(0);
+
+    assertThat(search.find("a")).isEqualTo("found a");
+    assertThat(search.find("b")).isEqualTo("found b");
+    assertThat(created).hasValue(1);
+
+    try (BeanScope scope = builder.build(false, System.currentTimeMillis())) {
+      assertThat(scope.get(Search.class)).isSameAs(search);
+      assertThat(scope.get(HeavySearch.class)).isInstanceOf(HeavySearch.class);
+      assertThat(created).hasValue(1);
+    }
+  }
+
+  @Test
+  void lazyAll_expect_createdOnFirstGet() {
+    List<String> events = new ArrayList<>();
+    Builder builder = builder(emptyList(), emptyList(), null);
+    builder.lazyAll();
+    assertThat(builder.isLazyAll()).isTrue();
+    assertThat(builder.isDirectWiring()).isFalse();
+    if (builder.isBeanAbsent(Integer.class)) {
+      builder.registerProvider(() -> {
+        events.add("create 42");
+        builder.addPreDestroy(() -> events.add("close 42"));
+        return 42;
+      });
+    }
+    if (builder.isBeanAbsent(String.class)) {
+      builder.registerProvider(() -> {
+        String bean = "lazy" + builder.get(Integer.class);
+        events.add("create " + bean);
+        builder.addPreDestroy(() -> events.add("close " + bean));
+        return bean;
+      });
+    }
+    if (builder.isBeanAbsent(Long.class)) {
+      builder.registerProvider(() -> {
+        events.add("create 7");
+        builder.addPreDestroy(() -> events.add("close 7"));
+        return 7L;
+      });
+    }
+    try (BeanScope scope = builder.build(false, System.currentTimeMillis())) {
+      assertThat(events).isEmpty();
+      assertThat(scope.get(String.class)).isEqualTo("lazy42");
+      assertThat(scope.get(String.class)).isEqualTo("lazy42");
+      assertThat(events).containsExactly("create 42", "create lazy42");
+    }
+    assertThat(events).containsExactly("create 42", "create lazy42", "close 42", "close lazy42");
+  }
+
+  @Test
+  void lazyAll_createdByAsyncPostConstruct_expect_noDeadlock() {
+    List<String> events = new ArrayList<>();
+    Builder builder = builder(emptyList(), emptyList(), null);
+    builder.lazyAll();
+    if (builder.isBeanAbsent(Integer.class)) {
+      builder.registerProvider(() -> {
+        builder.addPreDestroy(() -> events.add("close 42"));
+        return 42;
+      });
+    }
+    Provider<Integer> provider = builder.getProvider(Integer.class);
+    if (builder.isBeanAbsent(String.class)) {
+      builder.register("warm");
+      builder.addPostConstructAsync(() -> events.add("warm " + provider.get()));
+    }
+    BeanScope scope = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> builder.build(false, System.currentTimeMillis()));
+    assertThat(events).containsExactly("warm 42");
+    scope.close();
+    assertThat(events).containsExactly("warm 42", "close 42");
+  }
+
+  @Test
+  void isLazyAll_withSpy_expect_false() {
+    List<EnrichBean> spies = List.of(new EnrichBean<>(String.class, null, null));
+    Builder builder = builder(emptyList(), spies, null);
+    builder.lazyAll();
+    assertThat(builder.isLazyAll()).isFalse();
+  }
+
+  interface Search {
+    String find(String query);
+  }
+
+  static class HeavySearch implements Search {
+    @Override
+    public String find(String query) {
+      return "found " + query;
+    }
+  }
+
+  static final class SearchProxy implements Search {
+
+    private final Provider<HeavySearch> lazy;
+
+    SearchProxy(Provider<HeavySearch> lazy) {
+      this.lazy = lazy;
+    }
+
+    @Override
+    public String find(String query) {
+      return lazy.get().find(query);
+    }
+  }
+
+  @SuppressWarnings("rawtypes")
+  private static Builder builder(List<SuppliedBean> supplied, List<EnrichBean> enrich, BeanScope parent) {
+    return Builder.newBuilder(Set.of(), null, supplied, enrich, parent, true);
+  }
+}
@@ -0,0 +1,64 @@
+package io.avaje.inject.spi;
+
+import io.avaje.inject.BeanEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DContextEntryBeanTest {
+
+  @Test
+  void onceProvider_expect_singleInstance() throws InterruptedException {
+    AtomicInteger created = new AtomicInteger();
+    DContextEntryBean entry = DContextEntryBean.provider(false, () -> "bean" + created.incrementAndGet(), null, BeanEntry.NORMAL, null);
+
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+    List<Object> beans = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      Thread thread = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        Object bean = entry.bean();
+        synchronized (beans) {
+          beans.add(bean);
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertThat(created.get()).isEqualTo(1);
+    assertThat(beans).hasSize(8);
+    assertThat(beans).containsOnly("bean1");
+    assertThat(entry.bean()).isSameAs(beans.get(0));
+  }
+
+  @Test
+  void onceProvider_when_providerThrows_expect_retry() {
+    AtomicInteger calls = new AtomicInteger();
+    DContextEntryBean entry = DContextEntryBean.provider(false, () -> {
+      if (calls.incrementAndGet() == 1) {
+        throw new IllegalStateException("first");
+      }
+      return "bean";
+    }, null, BeanEntry.NORMAL, null);
+
+    assertThrows(IllegalStateException.class, entry::bean);
+    assertThat(entry.bean()).isEqualTo("bean");
+    assertThat(entry.bean()).isEqualTo("bean");
+    assertThat(calls.get()).isEqualTo(2);
+  }
+}
@@ -177,6 +177,38 @@ class DContextEntryTest {
     assertEquals(entry.get(null, AvajeModule.class), "N1");
   }
 
+  @Test
+  void frozen_expect_sameMatches() {
+
+    DContextEntry entry = new DContextEntry();
+    entry.add(DContextEntryBean.of("N1", null, BeanEntry.NORMAL, AvajeModule.class));
+    entry.add(DContextEntryBean.of("N2", "same", BeanEntry.NORMAL, null));
+    entry.add(DContextEntryBean.of("N3", "same", BeanEntry.NORMAL, OtherModule.class));
+    entry.freeze(OtherModule.class);
+
+    for (int i = 0; i < 2; i++) {
+      assertEquals(entry.get(null, OtherModule.class), "N1");
+      assertEquals(entry.get("same", OtherModule.class), "N3");
+      assertEquals(entry.get("same", null), "N2");
+      assertNull(entry.get("notThere", OtherModule.class));
+      assertEquals(entry.get("!notThere", OtherModule.class), "N1");
+      assertEquals(entry.get("!same", OtherModule.class), "N3");
+      assertEquals(entry.provider("same", OtherModule.class).get(), "N3");
+    }
+  }
+
+  @Test
+  void frozen_when_twoPrimary_expect_throwEachTime() {
+
+    DContextEntry entry = new DContextEntry();
+    entry.add(DContextEntryBean.of("P", null, BeanEntry.PRIMARY, null));
+    entry.add(DContextEntryBean.of("S", null, BeanEntry.PRIMARY, null));
+    entry.freeze(null);
+
+    assertThrows(IllegalStateException.class, () -> entry.get(null, null));
+    assertThrows(IllegalStateException.class, () -> entry.get(null, null));
+  }
+
   class OtherModule implements AvajeModule {
     @Override
     public Class<?>[] classes() {
@@ -0,0 +1,92 @@
+package io.avaje.inject.spi;
+
+import io.avaje.inject.BeanScope;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TrainingRunTest {
+
+  static final List<String> calls = new ArrayList<>();
+
+  @Test
+  void warmup_staticDefaultMethod() throws Exception {
+    calls.clear();
+    try (BeanScope scope = BeanScope.builder().build()) {
+      TrainingRun.warmup(scope, StaticWarmup.class.getName());
+    }
+    assertThat(calls).containsExactly("static run");
+  }
+
+  @Test
+  void warmup_instanceMethodWithScope() throws Exception {
+    calls.clear();
+    try (BeanScope scope = BeanScope.builder().build()) {
+      TrainingRun.warmup(scope, InstanceWarmup.class.getName() + "#warm");
+      assertThat(calls).containsExactly("warm " + (scope != null));
+    }
+  }
+
+  @Test
+  void warmup_beanInScope_expect_invokedOnBean() throws Exception {
+    calls.clear();
+    InstanceWarmup bean = new InstanceWarmup("bean");
+    try (BeanScope scope = BeanScope.builder().bean(InstanceWarmup.class, bean).build()) {
+      TrainingRun.warmup(scope, InstanceWarmup.class.getName() + "#name");
+    }
+    assertThat(calls).containsExactly("name bean");
+  }
+
+  @Test
+  void warmup_failure_expect_cause() {
+    try (BeanScope scope = BeanScope.builder().build()) {
+      assertThatThrownBy(() -> TrainingRun.warmup(scope, StaticWarmup.class.getName() + "#fail"))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("fail");
+    }
+  }
+
+  @Test
+  void warmup_missingMethod() {
+    try (BeanScope scope = BeanScope.builder().build()) {
+      assertThatThrownBy(() -> TrainingRun.warmup(scope, StaticWarmup.class.getName() + "#missing"))
+        .isInstanceOf(NoSuchMethodException.class);
+    }
+  }
+
+  static class StaticWarmup {
+
+    static void run() {
+      calls.add("static run");
+    }
+
+    static void fail() {
+      throw new IllegalStateException("fail");
+    }
+  }
+
+  static class InstanceWarmup {
+
+    private final String name;
+
+    InstanceWarmup() {
+      this("new");
+    }
+
+    InstanceWarmup(String name) {
+      this.name = name;
+    }
+
+    void warm(BeanScope scope) {
+      calls.add("warm " + (scope != null));
+    }
+
+    void name() {
+      calls.add("name " + name);
+    }
+  }
+}